@@ -0,0 +1,78 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.FleeManApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Startup and master data shared by the Spring benchmarks. The application runs on the
+// h2 profile the tests use (src/test/resources/application-h2.properties); master rows
+// go in with plain JDBC and fixed ids, so benchmarks can refer to them by number.
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    // Extra args are command-line properties, so they win over the profile
+    static ConfigurableApplicationContext start(WebApplicationType type, String... args) {
+        String[] defaults = {
+                // Command-line, so it replaces dev from application.properties
+                "--spring.profiles.active=h2",
+                // The tests count statements; here it would only add overhead
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                // returnCar queues invoice mail; there is no SMTP server here
+                "--fleet.invoice-mail.poll-ms=86400000",
+                "--logging.level.root=WARN"
+        };
+        return new SpringApplicationBuilder(FleeManApplication.class)
+                .web(type)
+                .run(Stream.concat(Stream.of(defaults), Stream.of(args)).toArray(String[]::new));
+    }
+
+    // State s, City c in state c % states + 1, Hub h ("Plot h") in city h % cities + 1
+    static void locations(JdbcTemplate jdbc, int states, int cities, int hubs) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int s = 1; s <= states; s++) {
+            rows.add(new Object[] { s, "State " + s });
+        }
+        jdbc.batchUpdate("INSERT INTO state_master (state_id, state_name) VALUES (?, ?)", rows);
+
+        rows.clear();
+        for (int c = 1; c <= cities; c++) {
+            rows.add(new Object[] { c, "City " + c, c % states + 1 });
+        }
+        jdbc.batchUpdate("INSERT INTO city_master (city_id, city_name, state_id) VALUES (?, ?, ?)", rows);
+
+        rows.clear();
+        for (int h = 1; h <= hubs; h++) {
+            int city = h % cities + 1;
+            rows.add(new Object[] { h, "Hub " + h, "Plot " + h, city, city % states + 1 });
+        }
+        jdbc.batchUpdate("INSERT INTO hub_master (hub_id, hub_name, hub_address_and_details, city_id, state_id) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    // Type t, rates rising with t
+    static void carTypes(JdbcTemplate jdbc, int types) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int t = 1; t <= types; t++) {
+            rows.add(new Object[] { t, "Type " + t, 1000.0 + t * 500, 6000.0 + t * 3000, 20000.0 + t * 10000 });
+        }
+        jdbc.batchUpdate("INSERT INTO car_type_master (cartype_id, cartype_name, daily_rate, weekly_rate, monthly_rate) "
+                + "VALUES (?, ?, ?, ?, ?)", rows);
+    }
+
+    // First c / Last c, customer<c>@example.com
+    static void customers(JdbcTemplate jdbc, int customers) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int c = 1; c <= customers; c++) {
+            rows.add(new Object[] { c, "First" + c, "Last" + c, "customer" + c + "@example.com" });
+        }
+        jdbc.batchUpdate("INSERT INTO customer_master (cust_id, first_name, last_name, email) VALUES (?, ?, ?, ?)", rows);
+    }
+}
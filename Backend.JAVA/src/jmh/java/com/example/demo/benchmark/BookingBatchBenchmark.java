@@ -0,0 +1,122 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Service.BookingService;
+import com.example.demo.dto.BatchBookingResult;
+import com.example.demo.dto.BookingRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Bookings per second for 100 car type bookings with two add-ons each, created one
+// createBooking call at a time and as one createBookings batch. Rows added during an
+// iteration are deleted after it.
+//
+// mvn -Pjmh verify -DskipTests -Djmh.include=BookingBatch
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBatchBenchmark {
+
+    private static final int BATCH = 100;
+    private static final int HUBS = 20;
+    private static final int CAR_TYPES = 5;
+    private static final int CUSTOMERS = 100;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private JdbcTemplate jdbc;
+    private List<BookingRequest> requests;
+    private long lastSeededBooking;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start(WebApplicationType.NONE);
+        bookingService = context.getBean(BookingService.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        seed();
+
+        Random random = new Random(7);
+        requests = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            BookingRequest request = new BookingRequest();
+            int hub = random.nextInt(HUBS) + 1;
+            request.setCustomerId(random.nextInt(CUSTOMERS) + 1);
+            request.setCarTypeId((long) (random.nextInt(CAR_TYPES) + 1));
+            request.setPickupHubId(hub);
+            request.setReturnHubId(hub);
+            request.setStartDate(LocalDate.now().plusDays(1 + random.nextInt(30)));
+            request.setEndDate(request.getStartDate().plusDays(1 + random.nextInt(7)));
+            request.setAddOnIds(List.of(1, 2));
+            request.setEmail("customer" + request.getCustomerId() + "@example.com");
+            requests.add(request);
+        }
+        lastSeededBooking = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void removeBookings() {
+        jdbc.update("DELETE FROM booking_detail_table WHERE booking_id > ?", lastSeededBooking);
+        jdbc.update("DELETE FROM booking_header_table WHERE booking_id > ?", lastSeededBooking);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int oneByOne() {
+        int booked = 0;
+        for (BookingRequest request : requests) {
+            if (bookingService.createBooking(request).getBookingId() != null) {
+                booked++;
+            }
+        }
+        return booked;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int batch() {
+        int booked = 0;
+        for (BatchBookingResult result : bookingService.createBookings(requests)) {
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("Item " + result.getIndex() + ": " + result.getError());
+            }
+            booked++;
+        }
+        return booked;
+    }
+
+    private void seed() {
+        BenchmarkData.locations(jdbc, 1, 1, HUBS);
+        BenchmarkData.carTypes(jdbc, CAR_TYPES);
+        BenchmarkData.customers(jdbc, CUSTOMERS);
+        jdbc.update("INSERT INTO add_on_master (add_on_id, add_on_name, add_on_daily_rate) VALUES (1, 'GPS', 200), "
+                + "(2, 'Child seat', 150)");
+
+        // Enough cars per hub and type that no batch runs out
+        List<Object[]> rows = new ArrayList<>();
+        int car = 1;
+        for (int h = 1; h <= HUBS; h++) {
+            for (int t = 1; t <= CAR_TYPES; t++) {
+                for (int n = 0; n < 10; n++, car++) {
+                    rows.add(new Object[] { car, "Car " + car, "MH12-" + car, t, h });
+                }
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO car_master (car_id, car_name, number_plate, cartype_id, hub_id, is_available, "
+                + "mileage, version) VALUES (?, ?, ?, ?, ?, 'Y', 0, 0)", rows);
+    }
+}
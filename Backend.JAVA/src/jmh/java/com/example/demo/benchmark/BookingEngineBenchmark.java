@@ -0,0 +1,276 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Repository.CarRepository;
+import com.example.demo.Service.BookingService;
+import com.example.demo.dto.BookingPage;
+import com.example.demo.dto.BookingRequest;
+import com.example.demo.dto.BookingResponse;
+import com.example.demo.dto.HandoverRequest;
+import com.example.demo.dto.ReturnRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The booking engine against in-memory H2 in MySQL mode, seeded with 1k/100k/1M
+// bookings (70% completed, 10% cancelled, 15% confirmed, 5% active) and a fleet
+// and customer base scaled with them.
+//
+// Write paths get a fresh booking (and car) per invocation from JDBC fixtures that
+// are removed again afterwards, so the table stays at the seeded size. They take
+// milliseconds, so per-invocation setup does not skew the timing.
+//
+// One scale: mvn -Pjmh verify -DskipTests -Djmh.include=BookingEngine -Djmh.args="-p bookings=100000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BookingEngineBenchmark {
+
+    private static final int STATES = 10;
+    private static final int CITIES = 100;
+    private static final int HUBS = 200;
+    private static final int CAR_TYPES = 5;
+    private static final int ADD_ONS = 5;
+    private static final int SEED_BATCH = 10_000;
+
+    private static final String INSERT_BOOKING = "INSERT INTO booking_header_table (booking_date, confirmation_number, "
+            + "booking_status, cust_id, start_date, end_date, pickup_location_id, return_hub_id, cartype_id, car_id, "
+            + "first_name, last_name, email_id, daily_rate, book_car) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Param({ "1000", "100000", "1000000" })
+    private int bookings;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private CarRepository carRepository;
+    private JdbcTemplate jdbc;
+    private int cars;
+    private int customers;
+    private int fixtures;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start(WebApplicationType.NONE);
+        bookingService = context.getBean(BookingService.class);
+        carRepository = context.getBean(CarRepository.class);
+        jdbc = context.getBean(JdbcTemplate.class);
+        cars = Math.max(200, bookings / 20);
+        customers = Math.max(100, bookings / 10);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingResponse> getAllBookings() {
+        return bookingService.getAllBookings();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public BookingPage firstPage() {
+        return bookingService.getBookingsPage(null, 100);
+    }
+
+    @Benchmark
+    public Object findAvailableCars() {
+        LocalDate start = LocalDate.now().plusDays(10);
+        return carRepository.findAvailableCars(7, start, start.plusDays(3), 2L);
+    }
+
+    @Benchmark
+    public BookingResponse createBooking(CreateFixture fixture) {
+        BookingResponse response = bookingService.createBooking(fixture.request);
+        fixture.created = response.getBookingId();
+        return response;
+    }
+
+    @Benchmark
+    public BookingResponse processHandover(HandoverFixture fixture) {
+        return bookingService.processHandover(fixture.request);
+    }
+
+    @Benchmark
+    public BookingResponse returnCar(ReturnFixture fixture) {
+        return bookingService.returnCar(fixture.request);
+    }
+
+    @State(Scope.Thread)
+    public static class CreateFixture {
+        BookingRequest request;
+        Long created;
+
+        @Setup(Level.Invocation)
+        public void setUp(BookingEngineBenchmark bench) {
+            int n = ++bench.fixtures;
+            request = new BookingRequest();
+            request.setCustomerId(n % bench.customers + 1);
+            request.setCarTypeId((long) (n % CAR_TYPES + 1));
+            request.setPickupHubId(n % HUBS + 1);
+            request.setReturnHubId((n + 1) % HUBS + 1);
+            request.setStartDate(LocalDate.now().plusDays(5));
+            request.setEndDate(LocalDate.now().plusDays(8));
+            request.setAddOnIds(List.of(n % ADD_ONS + 1));
+            request.setEmail("bench" + n + "@example.com");
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown(BookingEngineBenchmark bench) {
+            if (created != null) {
+                bench.deleteBooking(created);
+                created = null;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class HandoverFixture {
+        HandoverRequest request;
+
+        @Setup(Level.Invocation)
+        public void setUp(BookingEngineBenchmark bench) {
+            int n = ++bench.fixtures;
+            int car = n % bench.cars + 1;
+            bench.setAvailable(car, "Y");
+            request = new HandoverRequest();
+            request.setBookingId(bench.insertBooking(n, "CONFIRMED", null));
+            request.setCarId(car);
+            request.setFuelStatus("FULL");
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown(BookingEngineBenchmark bench) {
+            bench.deleteBooking(request.getBookingId());
+            bench.setAvailable(request.getCarId(), "Y");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ReturnFixture {
+        ReturnRequest request;
+        int car;
+
+        @Setup(Level.Invocation)
+        public void setUp(BookingEngineBenchmark bench) {
+            int n = ++bench.fixtures;
+            car = n % bench.cars + 1;
+            bench.setAvailable(car, "N");
+            long bookingId = bench.insertBooking(n, "ACTIVE", car);
+            bench.jdbc.update("INSERT INTO invoice_header_table (booking_id, cust_id, car_id, handover_date, "
+                    + "rental_amt, total_addon_amt, total_amt) VALUES (?, ?, ?, ?, 0, 0, 0)",
+                    bookingId, n % bench.customers + 1, car, Date.valueOf(LocalDate.now().minusDays(3)));
+            request = new ReturnRequest();
+            request.setBookingId(bookingId);
+            request.setFuelStatus("FULL");
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown(BookingEngineBenchmark bench) {
+            bench.jdbc.update("DELETE FROM invoice_email_outbox WHERE booking_id = ?", request.getBookingId());
+            bench.deleteBooking(request.getBookingId());
+            bench.setAvailable(car, "Y");
+        }
+    }
+
+    private void setAvailable(int car, String available) {
+        jdbc.update("UPDATE car_master SET is_available = ? WHERE car_id = ?", available, car);
+    }
+
+    private long insertBooking(int n, String status, Integer car) {
+        LocalDate start = LocalDate.now().minusDays(3);
+        KeyHolder key = new GeneratedKeyHolder();
+        jdbc.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_BOOKING, Statement.RETURN_GENERATED_KEYS);
+            Object[] row = bookingRow(n, "BOK-F" + n, status, start, car);
+            for (int i = 0; i < row.length; i++) {
+                ps.setObject(i + 1, row[i]);
+            }
+            return ps;
+        }, key);
+        return key.getKey().longValue();
+    }
+
+    private void deleteBooking(long bookingId) {
+        jdbc.update("DELETE FROM invoice_header_table WHERE booking_id = ?", bookingId);
+        jdbc.update("DELETE FROM booking_detail_table WHERE booking_id = ?", bookingId);
+        jdbc.update("DELETE FROM booking_header_table WHERE booking_id = ?", bookingId);
+    }
+
+    private Object[] bookingRow(int n, String confirmation, String status, LocalDate start, Integer car) {
+        int customer = n % customers + 1;
+        return new Object[] { Date.valueOf(start.minusDays(7)), confirmation, status, customer, Date.valueOf(start),
+                Date.valueOf(start.plusDays(3)), n % HUBS + 1, (n + 1) % HUBS + 1, n % CAR_TYPES + 1, car,
+                "First" + customer, "Last" + customer, "customer" + customer + "@example.com", 1500.0 + n % CAR_TYPES * 500,
+                car != null ? "Car " + car : "Type " + (n % CAR_TYPES + 1) };
+    }
+
+    private void seed() {
+        BenchmarkData.locations(jdbc, STATES, CITIES, HUBS);
+        BenchmarkData.carTypes(jdbc, CAR_TYPES);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int a = 1; a <= ADD_ONS; a++) {
+            rows.add(new Object[] { a, "Add-on " + a, 100.0 * a });
+        }
+        jdbc.batchUpdate("INSERT INTO add_on_master (add_on_id, add_on_name, add_on_daily_rate) VALUES (?, ?, ?)", rows);
+
+        rows.clear();
+        for (int c = 1; c <= cars; c++) {
+            rows.add(new Object[] { c, "Car " + c, "MH12-" + c, c % CAR_TYPES + 1, c % HUBS + 1, "Y" });
+        }
+        batch("INSERT INTO car_master (car_id, car_name, number_plate, cartype_id, hub_id, is_available, mileage, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 0, 0)", rows);
+
+        rows.clear();
+        for (int c = 1; c <= customers; c++) {
+            rows.add(new Object[] { c, "First" + c, "Last" + c, "customer" + c + "@example.com", "City " + c % CITIES,
+                    "Street " + c });
+        }
+        batch("INSERT INTO customer_master (cust_id, first_name, last_name, email, city, address_line1) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+        rows.clear();
+        List<Object[]> details = new ArrayList<>();
+        LocalDate first = LocalDate.now().minusYears(2);
+        for (int b = 1; b <= bookings; b++) {
+            int bucket = b % 20;
+            String status = bucket < 14 ? "COMPLETED" : bucket < 16 ? "CANCELLED" : bucket < 19 ? "CONFIRMED" : "ACTIVE";
+            LocalDate start = status.equals("CONFIRMED") || status.equals("ACTIVE")
+                    ? LocalDate.now().plusDays(b % 60 - 5)
+                    : first.plusDays(b % 700);
+            Integer car = status.equals("CONFIRMED") ? null : b % cars + 1;
+            rows.add(bookingRow(b, "BOK-" + b, status, start, car));
+            if (b % 3 == 0) {
+                details.add(new Object[] { b, b % ADD_ONS + 1, 100.0 * (b % ADD_ONS + 1) });
+            }
+            if (rows.size() == SEED_BATCH) {
+                batch(INSERT_BOOKING, rows);
+                rows.clear();
+            }
+        }
+        batch(INSERT_BOOKING, rows);
+        batch("INSERT INTO booking_detail_table (booking_id, addon_id, addon_rate) VALUES (?, ?, ?)", details);
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += SEED_BATCH) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(from + SEED_BATCH, rows.size())));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Entity.CarTypeMaster;
+import com.example.demo.Entity.HubMaster;
+import com.example.demo.Repository.CarTypeMasterRepository;
+import com.example.demo.Repository.HubRepository;
+import com.example.demo.Service.ExcelUploadService;
+import com.example.demo.dto.CarImportReport;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Wall time of one fleet import into in-memory H2; with -prof gc,
+// gc.alloc.rate.norm is the allocation for the whole file.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class CarImportBenchmark {
+
+    @Param({ "10000", "100000" })
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private ExcelUploadService importer;
+    private JdbcTemplate jdbcTemplate;
+    private Path xlsx;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkData.start(WebApplicationType.NONE);
+        importer = context.getBean(ExcelUploadService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        CarTypeMaster carType = new CarTypeMaster();
+        carType.setCarTypeName("Sedan");
+        carType.setDailyRate(1800);
+        long typeId = context.getBean(CarTypeMasterRepository.class).save(carType).getCarTypeId();
+
+        HubMaster hub = new HubMaster();
+        hub.setHubName("Pune Central");
+        int hubId = context.getBean(HubRepository.class).save(hub).getHubId();
+
+        xlsx = Files.createTempFile("car-import-bench-", ".xlsx");
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100); OutputStream out = Files.newOutputStream(xlsx)) {
+            Sheet sheet = workbook.createSheet("Cars");
+            Row header = sheet.createRow(0);
+            String[] columns = { "Name", "Number Plate", "Car Type Id", "Hub Id", "Mileage", "Status" };
+            for (int i = 0; i < columns.length; i++) {
+                header.createCell(i).setCellValue(columns[i]);
+            }
+            for (int r = 1; r <= rows; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("Car " + r);
+                row.createCell(1).setCellValue("MH12-" + r);
+                row.createCell(2).setCellValue(typeId);
+                row.createCell(3).setCellValue(hubId);
+                row.createCell(4).setCellValue(12000 + r % 5000);
+                row.createCell(5).setCellValue("Good");
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearCars() {
+        jdbcTemplate.update("DELETE FROM car_master");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        Files.deleteIfExists(xlsx);
+    }
+
+    @Benchmark
+    public CarImportReport importFleet() {
+        CarImportReport report = importer.importCars(xlsx);
+        if (report.getImported() != rows) {
+            throw new IllegalStateException("imported " + report.getImported() + " of " + rows);
+        }
+        return report;
+    }
+}
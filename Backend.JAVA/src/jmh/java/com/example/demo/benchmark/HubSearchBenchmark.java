@@ -0,0 +1,96 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Repository.HubRepository;
+import com.example.demo.Repository.projection.HubInfoProjection;
+import com.example.demo.Service.HubSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Location typeahead at 10k hubs: the LEFT JOIN / LIKE '%q%' query (on in-memory
+// H2, so without the network round trip MySQL adds) vs HubSearchIndex.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HubSearchBenchmark {
+
+    private static final int HUBS = 10_000;
+    private static final int CITIES = 1_000;
+    private static final int STATES = 36;
+    private static final int AIRPORTS = 400;
+
+    // airport code, city prefix, substring of hub names
+    @Param({ "pnq", "pun", "ark" })
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private HubRepository hubRepository;
+    private HubSearchIndex hubSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start(WebApplicationType.NONE);
+        hubRepository = context.getBean(HubRepository.class);
+        hubSearchIndex = context.getBean(HubSearchIndex.class);
+        seed(context.getBean(JdbcTemplate.class));
+        hubSearchIndex.search(query, 50); // build outside the measurement
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<HubInfoProjection> sqlLike() {
+        return hubRepository.searchHubs(query);
+    }
+
+    @Benchmark
+    public List<HubInfoProjection> index() {
+        return hubSearchIndex.search(query, 50);
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        String[] regions = { "Maharashtra", "Karnataka", "Gujarat", "Rajasthan", "Kerala", "Punjab" };
+        List<Object[]> states = new ArrayList<>();
+        for (int s = 1; s <= STATES; s++) {
+            states.add(new Object[] { s, regions[s % regions.length] + " " + s });
+        }
+        jdbc.batchUpdate("INSERT INTO state_master (state_id, state_name) VALUES (?, ?)", states);
+
+        String[] names = { "Pune", "Mumbai", "Nagpur", "Nashik", "Bengaluru", "Mysuru", "Surat", "Jaipur" };
+        List<Object[]> cities = new ArrayList<>();
+        for (int c = 1; c <= CITIES; c++) {
+            cities.add(new Object[] { c, names[c % names.length] + " " + c, c % STATES + 1 });
+        }
+        jdbc.batchUpdate("INSERT INTO city_master (city_id, city_name, state_id) VALUES (?, ?, ?)", cities);
+
+        String[] kinds = { "Central", "Airport", "Railway Station", "Market Yard", "Tech Park", "Highway" };
+        List<Object[]> hubs = new ArrayList<>();
+        for (int h = 1; h <= HUBS; h++) {
+            int city = h % CITIES + 1;
+            hubs.add(new Object[] { h, names[city % names.length] + " " + kinds[h % kinds.length] + " " + h,
+                    "Plot " + h, city, city % STATES + 1 });
+        }
+        jdbc.batchUpdate("INSERT INTO hub_master (hub_id, hub_name, hub_address_and_details, city_id, state_id) "
+                + "VALUES (?, ?, ?, ?, ?)", hubs);
+
+        List<Object[]> airports = new ArrayList<>();
+        for (int a = 1; a <= AIRPORTS; a++) {
+            int hub = a * (HUBS / AIRPORTS);
+            String code = a == 1 ? "PNQ" : "" + (char) ('A' + a % 26) + (char) ('A' + a / 26 % 26) + (char) ('A' + a % 7);
+            airports.add(new Object[] { a, "Airport " + a, code, hub % CITIES + 1, hub });
+        }
+        jdbc.batchUpdate("INSERT INTO airport_master (airport_id, airport_name, airport_code, city_id, hub_id) "
+                + "VALUES (?, ?, ?, ?, ?)", airports);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Entity.AddOnMaster;
+import com.example.demo.Entity.BookingDetailTable;
+import com.example.demo.Entity.BookingHeaderTable;
+import com.example.demo.Entity.CarTypeMaster;
+import com.example.demo.Entity.HubMaster;
+import com.example.demo.Service.InvoicePdfRenderer;
+import com.example.demo.Service.LegacyInvoiceRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// PDFs/sec for the legacy renderer vs InvoicePdfRenderer; run with -prof gc
+// (the profile's default) to read allocation per invoice from gc.alloc.rate.norm.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvoiceRenderBenchmark {
+
+    private final LegacyInvoiceRenderer legacy = new LegacyInvoiceRenderer();
+    private final InvoicePdfRenderer template = new InvoicePdfRenderer();
+
+    private BookingHeaderTable booking;
+    private List<BookingDetailTable> details;
+
+    @Setup
+    public void setUp() {
+        CarTypeMaster carType = new CarTypeMaster();
+        carType.setCarTypeName("SUV");
+        carType.setDailyRate(2500);
+
+        HubMaster hub = new HubMaster();
+        hub.setHubName("Pune Central");
+        hub.setHubAddressAndDetails("Shivajinagar, Pune 411005");
+
+        booking = new BookingHeaderTable();
+        booking.setBookingId(4242L);
+        booking.setBookcar("Creta");
+        booking.setCarType(carType);
+        booking.setPickupHub(hub);
+        booking.setStartDate(LocalDate.of(2026, 3, 1));
+        booking.setEndDate(LocalDate.of(2026, 3, 5));
+        booking.setReturnTime(LocalDateTime.of(2026, 3, 5, 18, 30));
+        booking.setDailyRate(2500.0);
+
+        details = new ArrayList<>();
+        for (String name : new String[] { "GPS", "Child Seat" }) {
+            AddOnMaster addOn = new AddOnMaster();
+            addOn.setAddOnName(name);
+            BookingDetailTable detail = new BookingDetailTable();
+            detail.setAddon(addOn);
+            detail.setAddonRate(200);
+            details.add(detail);
+        }
+    }
+
+    @Benchmark
+    public byte[] legacyRenderer() {
+        return legacy.render(booking, details);
+    }
+
+    @Benchmark
+    public byte[] templateRenderer() {
+        return template.render(booking, details);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Service.LocaleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of GET /api/v1/locales/{lang}: the old path (clear the
+// ResourceBundle cache, reload, rebuild the nested map, serialize) vs the
+// precompiled bundle bytes.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocaleBenchmark {
+
+    @Param({ "en", "mr" })
+    private String lang;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private LocaleService localeService;
+
+    @Setup
+    public void setUp() {
+        localeService = new LocaleService();
+        localeService.reload();
+    }
+
+    @Benchmark
+    public byte[] legacy() throws Exception {
+        return objectMapper.writeValueAsBytes(legacyTranslations(lang));
+    }
+
+    @Benchmark
+    public byte[] precompiled() {
+        return localeService.getBundle(lang).getJson();
+    }
+
+    // LocaleService.getTranslations before precompilation
+    private static Map<String, Object> legacyTranslations(String lang) {
+        ResourceBundle.clearCache();
+        Locale locale = new Locale(lang);
+        ResourceBundle bundle;
+        try {
+            bundle = ResourceBundle.getBundle("messages", locale);
+        } catch (MissingResourceException e) {
+            bundle = ResourceBundle.getBundle("messages", Locale.ENGLISH);
+        }
+        Map<String, Object> translations = new HashMap<>();
+        Enumeration<String> keys = bundle.getKeys();
+        while (keys.hasMoreElements()) {
+            String key = keys.nextElement();
+            buildNestedMap(translations, key, bundle.getString(key));
+        }
+        return translations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void buildNestedMap(Map<String, Object> map, String key, String value) {
+        String[] parts = key.split("\\.");
+        Map<String, Object> current = map;
+        for (int i = 0; i < parts.length - 1; i++) {
+            Object obj = current.computeIfAbsent(parts[i], k -> new HashMap<String, Object>());
+            if (obj instanceof Map) {
+                current = (Map<String, Object>) obj;
+            }
+        }
+        current.put(parts[parts.length - 1], value);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Repository.CarRepository;
+import com.example.demo.Service.CarAvailabilityIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Availability search in CarAvailabilityIndex for a 1-7 day window in the next 90
+// days, over 20 hubs of 100 cars with 100k bookings (two years back, one ahead).
+// horizonDays=0 is the interval walk alone, 400 answers from the day bitmaps.
+// The month benchmarks count next month's free cars per day for one hub and type:
+// once through the index, and as the calendar UI used to, one SQL search per day.
+//
+// mvn -Pjmh verify -DskipTests -Djmh.include=Occupancy
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class OccupancyBenchmark {
+
+    private static final int HUBS = 20;
+    private static final int CARS_PER_HUB = 100;
+    private static final int BOOKINGS = 100_000;
+
+    @Param({ "0", "400" })
+    private int horizonDays;
+
+    private ConfigurableApplicationContext context;
+    private CarAvailabilityIndex index;
+    private CarRepository carRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start(WebApplicationType.NONE,
+                "--fleet.occupancy.horizon-days=" + horizonDays);
+        seed(context.getBean(JdbcTemplate.class));
+        index = context.getBean(CarAvailabilityIndex.class);
+        index.rebuild();
+        carRepository = context.getBean(CarRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Integer> findAvailableCarIds() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate start = LocalDate.now().plusDays(random.nextInt(90));
+        return index.findAvailableCarIds(random.nextInt(HUBS) + 1, start, start.plusDays(random.nextInt(7)),
+                random.nextBoolean() ? null : 1L + random.nextInt(2));
+    }
+
+    @Benchmark
+    public int[] monthFromIndex() {
+        YearMonth month = YearMonth.now().plusMonths(1);
+        return index.countFreeCarsByDay(ThreadLocalRandom.current().nextInt(HUBS) + 1, 2L, month.atDay(1),
+                month.lengthOfMonth());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] monthFromSql() {
+        YearMonth month = YearMonth.now().plusMonths(1);
+        int hub = ThreadLocalRandom.current().nextInt(HUBS) + 1;
+        int[] free = new int[month.lengthOfMonth()];
+        for (int d = 0; d < free.length; d++) {
+            LocalDate day = month.atDay(d + 1);
+            free[d] = carRepository.findAvailableCars(hub, day, day, 2L).size();
+        }
+        return free;
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        BenchmarkData.locations(jdbc, 1, 1, HUBS);
+        BenchmarkData.carTypes(jdbc, 2);
+        BenchmarkData.customers(jdbc, 1);
+
+        List<Object[]> rows = new ArrayList<>();
+        int cars = HUBS * CARS_PER_HUB;
+        for (int c = 1; c <= cars; c++) {
+            rows.add(new Object[] { c, "Car " + c, "MH12-" + c, c % 2 + 1, (c - 1) / CARS_PER_HUB + 1 });
+        }
+        jdbc.batchUpdate("INSERT INTO car_master (car_id, car_name, number_plate, cartype_id, hub_id, is_available, "
+                + "mileage, version) VALUES (?, ?, ?, ?, ?, 'Y', 0, 0)", rows);
+
+        // Back to back per car, so each car carries its full share of history
+        rows.clear();
+        LocalDate first = LocalDate.now().minusDays(730);
+        int perCar = BOOKINGS / cars;
+        for (int c = 1; c <= cars; c++) {
+            LocalDate start = first.plusDays(c % 7);
+            for (int b = 0; b < perCar; b++) {
+                LocalDate end = start.plusDays(1 + (b + c) % 5);
+                rows.add(new Object[] { "BOK-OB" + c + "-" + b, start.isBefore(LocalDate.now()) ? "COMPLETED" : "CONFIRMED",
+                        Date.valueOf(start), Date.valueOf(end), (c - 1) / CARS_PER_HUB + 1, (c - 1) / CARS_PER_HUB + 1,
+                        c % 2 + 1, c });
+                start = end.plusDays(1 + (b * 7 + c) % 30);
+            }
+            if (rows.size() >= 10_000) {
+                insertBookings(jdbc, rows);
+                rows.clear();
+            }
+        }
+        insertBookings(jdbc, rows);
+    }
+
+    private static void insertBookings(JdbcTemplate jdbc, List<Object[]> rows) {
+        jdbc.batchUpdate("INSERT INTO booking_header_table (confirmation_number, booking_status, cust_id, start_date, "
+                + "end_date, pickup_location_id, return_hub_id, cartype_id, car_id) VALUES (?, ?, 1, ?, ?, ?, ?, ?, ?)",
+                rows);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.Service.LocaleService;
+import com.example.demo.config.ServiceTimingInterceptor;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-call cost of ServiceTimingInterceptor on a trivial service method: the bare
+// call, a CGLIB proxy with no advice, the interceptor, and the same timer behind an
+// @Around aspect (what the old LoggingAspect would have cost before its logging).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceTimingBenchmark {
+
+    private LocaleService direct;
+    private LocaleService proxyOnly;
+    private LocaleService interceptor;
+    private LocaleService aspect;
+
+    @Setup
+    public void setUp() {
+        direct = new LocaleService();
+        direct.reload();
+
+        ProxyFactory plain = new ProxyFactory(direct);
+        plain.setProxyTargetClass(true);
+        proxyOnly = (LocaleService) plain.getProxy();
+
+        ProxyFactory timed = new ProxyFactory(direct);
+        timed.setProxyTargetClass(true);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        timed.addAdvisor(new ServiceTimingInterceptor(() -> registry));
+        interceptor = (LocaleService) timed.getProxy();
+
+        AspectJProxyFactory aspected = new AspectJProxyFactory(direct);
+        aspected.setProxyTargetClass(true);
+        aspected.addAspect(new TimingAspect(Timer.builder(ServiceTimingInterceptor.METRIC)
+                .publishPercentileHistogram()
+                .register(new SimpleMeterRegistry())));
+        aspect = aspected.getProxy();
+    }
+
+    @Benchmark
+    public LocaleService.Bundle direct() {
+        return direct.getBundle("en");
+    }
+
+    @Benchmark
+    public LocaleService.Bundle proxyOnly() {
+        return proxyOnly.getBundle("en");
+    }
+
+    @Benchmark
+    public LocaleService.Bundle interceptor() {
+        return interceptor.getBundle("en");
+    }
+
+    @Benchmark
+    public LocaleService.Bundle aspect() {
+        return aspect.getBundle("en");
+    }
+
+    @Aspect
+    public static class TimingAspect {
+        private final Timer timer;
+
+        TimingAspect(Timer timer) {
+            this.timer = timer;
+        }
+
+        @Around("execution(public * com.example.demo.Service..*(..))")
+        public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+            long started = System.nanoTime();
+            try {
+                return joinPoint.proceed();
+            } finally {
+                timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.demo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// 1,000 clients at once against Tomcat on platform threads (200 by default) and on
+// virtual threads with the JDBC permit semaphore. Half the requests list a hub's
+// bookings (JDBC), half search locations (in memory), so the virtual thread run shows
+// whether the in-memory half still gets through while the JDBC half queues for
+// connections. Scores are requests per second.
+//
+// mvn -Pjmh verify -DskipTests -Djmh.include=VirtualThread
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class VirtualThreadBenchmark {
+
+    private static final int CLIENTS = 1000;
+    private static final int HUBS = 20;
+    private static final int BOOKINGS = 4000;
+    private static final String[] QUERIES = { "pu", "mum", "hub 1", "city", "ben", "hub 7" };
+
+    @Param({ "false", "true" })
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientThreads;
+    private HttpClient http;
+    private String baseUrl;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkData.start(WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--fleet.timing.enabled=false");
+        seed(context.getBean(JdbcTemplate.class));
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        clientThreads = Executors.newVirtualThreadPerTaskExecutor();
+        http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientThreads)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, String> user = Map.of("username", "bench", "email", "bench@example.com", "password", "bench-pass");
+        post("/register", mapper.writeValueAsString(user));
+        token = mapper.readTree(post("/login", mapper.writeValueAsString(user))).get("token").asText();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientThreads.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public int burst() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            String path = i % 2 == 0
+                    ? "/booking/hub/" + (i / 2 % HUBS + 1)
+                    : "/api/v1/locations/search?query=" + QUERIES[i / 2 % QUERIES.length].replace(" ", "%20");
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            responses.add(http.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            int status = response.join().statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("HTTP " + status);
+            }
+            ok++;
+        }
+        return ok;
+    }
+
+    private String post(String path, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static void seed(JdbcTemplate jdbc) {
+        BenchmarkData.locations(jdbc, 2, 3, HUBS);
+        BenchmarkData.carTypes(jdbc, 2);
+        BenchmarkData.customers(jdbc, 100);
+
+        List<Object[]> rows = new ArrayList<>();
+        LocalDate first = LocalDate.now().minusDays(200);
+        for (int b = 1; b <= BOOKINGS; b++) {
+            LocalDate start = first.plusDays(b % 200);
+            int customer = b % 100 + 1;
+            rows.add(new Object[] { Date.valueOf(start.minusDays(7)), "BOK-" + b, "COMPLETED", customer, Date.valueOf(start),
+                    Date.valueOf(start.plusDays(3)), b % HUBS + 1, b % HUBS + 1, b % 2 + 1, "First" + customer,
+                    "Last" + customer, "customer" + customer + "@example.com", 1500.0, "Type " + (b % 2 + 1) });
+        }
+        jdbc.batchUpdate("INSERT INTO booking_header_table (booking_date, confirmation_number, booking_status, "
+                + "cust_id, start_date, end_date, pickup_location_id, return_hub_id, cartype_id, first_name, last_name, "
+                + "email_id, daily_rate, book_car) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.demo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency (microseconds, up to one minute) and failures for one endpoint. The
+// recorder is drained once per reporting interval; intervals after the warmup
+// are also added to the run total.
+class EndpointStats {
+
+    private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    final String name;
+    private final Recorder recorder = new Recorder(MAX_MICROS, 3);
+    private final Histogram total = new Histogram(MAX_MICROS, 3);
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private volatile boolean measuring;
+    private Histogram interval;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void recordSuccess(long nanos) {
+        record(nanos);
+    }
+
+    // reason is the HTTP status, or the exception class when there was no response
+    void recordError(long nanos, String reason) {
+        record(nanos);
+        if (measuring) {
+            errors.computeIfAbsent(reason, k -> new LongAdder()).increment();
+        }
+    }
+
+    private void record(long nanos) {
+        recorder.recordValue(Math.min(MAX_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos))));
+    }
+
+    void startMeasuring() {
+        measuring = true;
+    }
+
+    // Called from the reporter thread only
+    synchronized Histogram nextInterval(boolean keep) {
+        interval = recorder.getIntervalHistogram(interval);
+        if (keep) {
+            total.add(interval);
+        }
+        interval.setTag(name);
+        return interval;
+    }
+
+    synchronized Histogram total() {
+        return total;
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    Map<String, Long> errors() {
+        Map<String, Long> result = new TreeMap<>();
+        errors.forEach((reason, count) -> result.put(reason, count.sum()));
+        return result;
+    }
+}
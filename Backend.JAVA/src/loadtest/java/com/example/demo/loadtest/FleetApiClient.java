@@ -0,0 +1,114 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+// The REST calls a rental day is made of. Every call is timed from the caller's
+// intended start, so with a target rate the queueing delay of a slow server is
+// counted instead of hidden (coordinated omission).
+class FleetApiClient {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    FleetApiClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    JsonNode get(EndpointStats stats, long intendedStart, String token, String path, Map<String, ?> query) {
+        StringBuilder uri = new StringBuilder(path);
+        char separator = '?';
+        for (Map.Entry<String, ?> param : query.entrySet()) {
+            uri.append(separator).append(param.getKey()).append('=')
+                    .append(URLEncoder.encode(String.valueOf(param.getValue()), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return send(stats, intendedStart, request(token, uri.toString()).GET());
+    }
+
+    JsonNode post(EndpointStats stats, long intendedStart, String token, String path, Object body) {
+        byte[] json;
+        try {
+            json = MAPPER.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize request for " + path, e);
+        }
+        return send(stats, intendedStart, request(token, path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json)));
+    }
+
+    // Setup calls are not part of the measured mix
+    JsonNode post(String token, String path, Object body) {
+        return post(null, System.nanoTime(), token, path, body);
+    }
+
+    JsonNode get(String token, String path) {
+        return get(null, System.nanoTime(), token, path, Map.of());
+    }
+
+    private HttpRequest.Builder request(String token, String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // Returns the parsed body (NullNode when empty), or null when the call failed
+    private JsonNode send(EndpointStats stats, long intendedStart, HttpRequest.Builder request) {
+        HttpResponse<byte[]> response;
+        try {
+            response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            if (stats != null) {
+                stats.recordError(System.nanoTime() - intendedStart, e.getClass().getSimpleName());
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        long nanos = System.nanoTime() - intendedStart;
+        if (response.statusCode() >= 400) {
+            if (stats != null) {
+                stats.recordError(nanos, String.valueOf(response.statusCode()));
+            }
+            return null;
+        }
+        try {
+            JsonNode body = response.body().length == 0
+                    ? MAPPER.nullNode()
+                    : MAPPER.readTree(response.body());
+            if (stats != null) {
+                stats.recordSuccess(nanos);
+            }
+            return body;
+        } catch (IOException e) {
+            if (stats != null) {
+                stats.recordError(nanos, "invalid-json");
+            }
+            return null;
+        }
+    }
+}
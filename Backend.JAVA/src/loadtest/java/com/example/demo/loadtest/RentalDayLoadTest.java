@@ -0,0 +1,432 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Plays a rental day against a running instance: customers log in, search locations,
+// look up available cars and book, and the counter hands cars over and takes them back.
+// Each virtual user signs up first (register, customer profile, login) and then picks
+// actions by weight until the run ends.
+//
+// Needs hubs, car types and cars in the target database; bookings, users and customers
+// are created as it goes. With --rate the users follow a fixed schedule and latency is
+// measured from the scheduled start, otherwise they run closed-loop with --think-ms
+// between actions.
+//
+//   mvn -Ploadtest verify -DskipTests -Dloadtest.args="--base-url=http://localhost:5087 --users=50 --duration=300"
+//
+// Options (defaults): --base-url (http://localhost:5087) --users (20) --duration (60s)
+// --warmup (10s) --rate (0 = closed loop, actions/s over all users) --think-ms (0)
+// --mix (login:5,search:20,availability:35,create:20,handover:10,return:10) --seed (42)
+// --interval (1s) --timeout (30s) --out (target/loadtest)
+//
+// Writes <out>/<timestamp>/summary.json and rental-day.hlog, one interval histogram per
+// endpoint tag, in microseconds. Compare runs with HdrHistogram's HistogramLogProcessor
+// (-i rental-day.hlog -tag create) or any hlog viewer.
+public class RentalDayLoadTest {
+
+    enum Action { LOGIN, SEARCH, AVAILABILITY, CREATE, HANDOVER, RETURN }
+
+    private static final String PASSWORD = "LoadTest#2024";
+
+    private final Map<String, String> options;
+    private final FleetApiClient client;
+    private final Map<Action, EndpointStats> stats = new EnumMap<>(Action.class);
+    private final Action[] mix;
+    private final int users;
+    private final long seed;
+    private final double rate;
+    private final long thinkMs;
+
+    private final List<Integer> hubIds = new ArrayList<>();
+    private final List<Long> carTypeIds = new ArrayList<>();
+    private final List<String> searchTerms = new ArrayList<>();
+
+    private volatile long stopAt = Long.MAX_VALUE;
+
+    RentalDayLoadTest(Map<String, String> options) {
+        this.options = options;
+        this.users = Integer.parseInt(option("users", "20"));
+        this.seed = Long.parseLong(option("seed", "42"));
+        this.rate = Double.parseDouble(option("rate", "0"));
+        this.thinkMs = Long.parseLong(option("think-ms", "0"));
+        this.mix = parseMix(option("mix", "login:5,search:20,availability:35,create:20,handover:10,return:10"));
+        this.client = new FleetApiClient(option("base-url", "http://localhost:5087"),
+                Duration.ofSeconds(Long.parseLong(option("timeout", "30"))));
+        for (Action action : Action.values()) {
+            stats.put(action, new EndpointStats(action.name().toLowerCase()));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        new RentalDayLoadTest(options).run();
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    // "login:5,search:20" -> 25 slots, so picking a random slot follows the weights
+    private static Action[] parseMix(String mix) {
+        List<Action> slots = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            Action action = Action.valueOf(parts[0].trim().toUpperCase());
+            for (int i = Integer.parseInt(parts[1].trim()); i > 0; i--) {
+                slots.add(action);
+            }
+        }
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("Empty mix: " + mix);
+        }
+        return slots.toArray(new Action[0]);
+    }
+
+    void run() throws Exception {
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("warmup", "10")));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("duration", "60")));
+        long intervalNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(option("interval", "1")));
+        File outDir = new File(option("out", "target/loadtest"),
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        if (!outDir.mkdirs()) {
+            throw new IOException("Cannot create " + outDir);
+        }
+
+        List<VirtualUser> virtualUsers = signUp();
+        loadReferenceData(virtualUsers.get(0).token);
+        System.out.printf("%d users signed up; %d hubs, %d car types. Warming up for %ds%n",
+                users, hubIds.size(), carTypeIds.size(), TimeUnit.NANOSECONDS.toSeconds(warmupNanos));
+
+        List<Thread> threads = new ArrayList<>();
+        for (VirtualUser user : virtualUsers) {
+            threads.add(Thread.ofPlatform().name("load-" + user.index).start(user::play));
+        }
+
+        long start = System.nanoTime();
+        stopAt = start + warmupNanos + durationNanos;
+        LockSupport.parkNanos(warmupNanos);
+        for (EndpointStats endpoint : stats.values()) {
+            endpoint.nextInterval(false);
+            endpoint.startMeasuring();
+        }
+        long measureStart = System.nanoTime();
+
+        try (PrintStream hlog = new PrintStream(new File(outDir, "rental-day.hlog"))) {
+            HistogramLogWriter writer = new HistogramLogWriter(hlog);
+            long startMillis = System.currentTimeMillis();
+            writer.outputComment("Rental day load test " + options);
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startMillis);
+            writer.setBaseTime(startMillis);
+            writer.outputLegend();
+
+            long previous = measureStart;
+            while (previous < stopAt) {
+                long next = Math.min(previous + intervalNanos, stopAt);
+                LockSupport.parkNanos(next - System.nanoTime());
+                writeInterval(writer, startMillis, previous - measureStart, next - measureStart);
+                previous = next;
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            // Requests still in flight when the clock ran out
+            writeInterval(writer, startMillis, previous - measureStart, System.nanoTime() - measureStart);
+        }
+
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+        Map<String, Object> summary = summarize(seconds);
+        print(summary, seconds);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(new File(outDir, "summary.json"), summary);
+        System.out.println("Results in " + outDir.getAbsolutePath());
+    }
+
+    private void writeInterval(HistogramLogWriter writer, long startMillis, long fromNanos, long toNanos) {
+        for (EndpointStats endpoint : stats.values()) {
+            Histogram interval = endpoint.nextInterval(true);
+            if (interval.getTotalCount() > 0) {
+                interval.setStartTimeStamp(startMillis + TimeUnit.NANOSECONDS.toMillis(fromNanos));
+                interval.setEndTimeStamp(startMillis + TimeUnit.NANOSECONDS.toMillis(toNanos));
+                writer.outputIntervalHistogram(interval);
+            }
+        }
+    }
+
+    // BCrypt makes sign-up slow, so run it a few users at a time
+    private List<VirtualUser> signUp() throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(users, 8));
+        try {
+            List<Callable<VirtualUser>> tasks = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                int index = i;
+                tasks.add(() -> new VirtualUser(index, runId).signUp());
+            }
+            List<VirtualUser> result = new ArrayList<>();
+            for (Future<VirtualUser> future : pool.invokeAll(tasks)) {
+                result.add(future.get());
+            }
+            return result;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void loadReferenceData(String token) {
+        JsonNode hubs = client.get(token, "/api/v1/hubs");
+        JsonNode carTypes = client.get(token, "/api/v1/car-types");
+        if (hubs == null || carTypes == null || hubs.isEmpty() || carTypes.isEmpty()) {
+            throw new IllegalStateException("The target has no hubs or car types; seed reference data first");
+        }
+        for (JsonNode hub : hubs) {
+            hubIds.add(hub.path("hubId").asInt());
+            String city = hub.path("cityName").asText(hub.path("hubName").asText());
+            if (city.length() >= 3 && !searchTerms.contains(city.substring(0, 3).toLowerCase())) {
+                searchTerms.add(city.substring(0, 3).toLowerCase());
+            }
+        }
+        for (JsonNode carType : carTypes) {
+            carTypeIds.add(carType.path("carTypeId").asLong());
+        }
+        if (searchTerms.isEmpty()) {
+            searchTerms.add("a");
+        }
+    }
+
+    private Map<String, Object> summarize(double seconds) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        Histogram all = new Histogram(3);
+        long allErrors = 0;
+        for (EndpointStats endpoint : stats.values()) {
+            Histogram total = endpoint.total();
+            all.add(total);
+            allErrors += endpoint.errorCount();
+            Map<String, Object> entry = histogramSummary(total, endpoint.errorCount(), seconds);
+            entry.put("errorsByReason", endpoint.errors());
+            endpoints.put(endpoint.name, entry);
+        }
+        endpoints.put("all", histogramSummary(all, allErrors, seconds));
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("options", options);
+        summary.put("users", users);
+        summary.put("measuredSeconds", round(seconds));
+        summary.put("endpoints", endpoints);
+        return summary;
+    }
+
+    private static Map<String, Object> histogramSummary(Histogram histogram, long errors, double seconds) {
+        long count = histogram.getTotalCount();
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("requests", count);
+        entry.put("throughputPerSec", round(count / seconds));
+        entry.put("errors", errors);
+        entry.put("errorRate", count == 0 ? 0.0 : round((double) errors / count));
+        entry.put("meanMs", round(histogram.getMean() / 1000));
+        for (double percentile : new double[] { 50, 90, 99, 99.9 }) {
+            String label = percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+            entry.put("p" + label + "Ms", round(histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        entry.put("maxMs", round(histogram.getMaxValue() / 1000.0));
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> summary, double seconds) {
+        System.out.printf("%nMeasured %.1fs%n", seconds);
+        System.out.printf("%-13s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        ((Map<String, Map<String, Object>>) summary.get("endpoints")).forEach((name, entry) ->
+                System.out.printf("%-13s %9d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                        entry.get("requests"), entry.get("throughputPerSec"),
+                        (double) entry.get("errorRate") * 100,
+                        entry.get("p50Ms"), entry.get("p90Ms"), entry.get("p99Ms"), entry.get("p99.9Ms"),
+                        entry.get("maxMs")));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private record Booking(long bookingId, int hubId, long carTypeId, LocalDate start, LocalDate end) {
+    }
+
+    private final class VirtualUser {
+
+        private final int index;
+        private final Random random;
+        private final String username;
+        private final String email;
+        private final Deque<Booking> confirmed = new ArrayDeque<>();
+        private final Deque<Long> active = new ArrayDeque<>();
+        private String token;
+        private int customerId;
+
+        VirtualUser(int index, String runId) {
+            this.index = index;
+            this.random = new Random(seed + index);
+            this.username = "loadtest-" + runId + "-" + index;
+            this.email = username + "@loadtest.example.com";
+        }
+
+        VirtualUser signUp() {
+            Map<String, Object> user = Map.of("username", username, "email", email, "password", PASSWORD);
+            Map<String, Object> customer = Map.of("firstName", "Load", "lastName", "User " + index, "email", email);
+            if (client.post(null, "/register", user) == null
+                    || client.post(null, "/api/v1/customers", customer) == null
+                    || !login(null, System.nanoTime())) {
+                throw new IllegalStateException("Sign-up failed for " + username);
+            }
+            return this;
+        }
+
+        void play() {
+            long interval = rate > 0 ? (long) (users * 1e9 / rate) : 0;
+            // Spread the first scheduled actions over one interval
+            long next = System.nanoTime() + (interval > 0 ? (long) (random.nextDouble() * interval) : 0);
+            while (true) {
+                long intendedStart;
+                if (interval > 0) {
+                    intendedStart = next;
+                    next += interval;
+                    if (intendedStart >= stopAt) {
+                        return;
+                    }
+                    LockSupport.parkNanos(intendedStart - System.nanoTime());
+                } else {
+                    intendedStart = System.nanoTime();
+                    if (intendedStart >= stopAt) {
+                        return;
+                    }
+                }
+                perform(mix[random.nextInt(mix.length)], intendedStart);
+                if (interval == 0 && thinkMs > 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(thinkMs));
+                }
+            }
+        }
+
+        // Handovers need a confirmed booking and returns an active one; without one
+        // the user books (or picks up) first, so the mix stays close to the weights
+        private void perform(Action action, long intendedStart) {
+            switch (action) {
+                case LOGIN -> login(stats.get(Action.LOGIN), intendedStart);
+                case SEARCH -> client.get(stats.get(Action.SEARCH), intendedStart, token, "/api/v1/locations/search",
+                        Map.of("query", pick(searchTerms)));
+                case AVAILABILITY -> {
+                    LocalDate start = LocalDate.now().plusDays(random.nextInt(14));
+                    availableCar(intendedStart, pick(hubIds), pick(carTypeIds), start, start.plusDays(1 + random.nextInt(5)));
+                }
+                case CREATE -> create(intendedStart);
+                case HANDOVER -> {
+                    if (confirmed.isEmpty()) {
+                        create(intendedStart);
+                    } else {
+                        handover(intendedStart, confirmed.poll());
+                    }
+                }
+                case RETURN -> {
+                    if (!active.isEmpty()) {
+                        client.post(stats.get(Action.RETURN), intendedStart, token, "/booking/return",
+                                Map.of("bookingId", active.poll(), "fuelStatus", "Full"));
+                    } else if (!confirmed.isEmpty()) {
+                        handover(intendedStart, confirmed.poll());
+                    } else {
+                        create(intendedStart);
+                    }
+                }
+            }
+        }
+
+        private boolean login(EndpointStats endpoint, long intendedStart) {
+            JsonNode response = client.post(endpoint, intendedStart, null, "/login",
+                    Map.of("username", username, "password", PASSWORD));
+            if (response == null || !response.hasNonNull("token")) {
+                return false;
+            }
+            token = response.get("token").asText();
+            customerId = response.path("customerId").asInt();
+            return true;
+        }
+
+        // Bookings start today, so the counter can hand them over straight away
+        private void create(long intendedStart) {
+            int hubId = pick(hubIds);
+            long carTypeId = pick(carTypeIds);
+            LocalDate start = LocalDate.now();
+            LocalDate end = start.plusDays(1 + random.nextInt(5));
+            Map<String, Object> request = new HashMap<>();
+            request.put("customerId", customerId);
+            request.put("carTypeId", carTypeId);
+            request.put("pickupHubId", hubId);
+            request.put("returnHubId", hubId);
+            request.put("startDate", start.toString());
+            request.put("endDate", end.toString());
+            request.put("email", email);
+            JsonNode response = client.post(stats.get(Action.CREATE), intendedStart, token, "/booking/create", request);
+            if (response != null && response.hasNonNull("bookingId")) {
+                confirmed.add(new Booking(response.get("bookingId").asLong(), hubId, carTypeId, start, end));
+            }
+        }
+
+        // The counter looks up a free car of the booked type first; that lookup counts as availability
+        private void handover(long intendedStart, Booking booking) {
+            Integer carId = availableCar(intendedStart, booking.hubId(), booking.carTypeId(), booking.start(), booking.end());
+            if (carId == null) {
+                return;
+            }
+            JsonNode response = client.post(stats.get(Action.HANDOVER), System.nanoTime(), token, "/booking/process-handover",
+                    Map.of("bookingId", booking.bookingId(), "carId", carId, "fuelStatus", "Full"));
+            if (response != null) {
+                active.add(booking.bookingId());
+            }
+        }
+
+        private Integer availableCar(long intendedStart, int hubId, long carTypeId, LocalDate start, LocalDate end) {
+            JsonNode cars = client.get(stats.get(Action.AVAILABILITY), intendedStart, token, "/api/v1/cars/available",
+                    Map.of("hubId", hubId, "startDate", start, "endDate", end, "carTypeId", carTypeId));
+            if (cars == null || cars.isEmpty()) {
+                return null;
+            }
+            return cars.get(random.nextInt(cars.size())).path("carId").asInt();
+        }
+
+        private <T> T pick(List<T> values) {
+            return values.get(random.nextInt(values.size()));
+        }
+    }
+}
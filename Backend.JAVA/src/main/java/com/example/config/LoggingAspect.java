@@ -1,37 +0,0 @@
-package com.example.config;
-
-import org.aspectj.lang.ProceedingJoinPoint;
-import org.aspectj.lang.annotation.Around;
-import org.aspectj.lang.annotation.Aspect;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
-
-@Aspect
-@Component
-public class LoggingAspect {
-
-    private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
-
-    @Around("execution(* com.example.demo.Service..*(..))")
-    public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-
-        logger.info("AOP: Starting execution of {}.{}", className, methodName);
-
-        try {
-            Object result = joinPoint.proceed();
-            long endTime = System.currentTimeMillis();
-            long duration = endTime - startTime;
-
-            logger.info("AOP: Finished execution of {}.{} in {}ms", className, methodName, duration);
-            return result;
-        } catch (Throwable throwable) {
-            logger.error("AOP: Exception in {}.{}: {}", className, methodName, throwable.getMessage());
-            throw throwable;
-        }
-    }
-}
-
@@ -12,6 +12,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 @Entity
@@ -54,6 +55,10 @@ public class CarMaster {
 	@Column(name = "image_path")
 	private String imagePath;
 
+	@Version
+	@Column(name = "version", nullable = false)
+	private long version;
+
 	public int getCarId() {
 		return carId;
 	}
@@ -134,6 +139,14 @@ public class CarMaster {
 		this.imagePath = imagePath;
 	}
 
+	public long getVersion() {
+		return version;
+	}
+
+	public void setVersion(long version) {
+		this.version = version;
+	}
+
 	public boolean isActuallyAvailable() {
 		return isAvailable == AvailabilityStatus.Y || isAvailable == AvailabilityStatus.YES;
 	}
@@ -3,6 +3,7 @@ package com.example.demo.Entity;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -12,7 +13,10 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.Data;
 
+import com.example.demo.Service.HubSearchIndexListener;
+
 @Entity
+@EntityListeners(HubSearchIndexListener.class)
 @Table(name = "city_master")
 @Data
 public class CityMaster {
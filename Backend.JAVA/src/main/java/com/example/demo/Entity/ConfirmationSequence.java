@@ -0,0 +1,17 @@
+package com.example.demo.Entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Next unleased value of a named id sequence; ConfirmationNumberService takes blocks from it
+@Entity
+@Table(name = "confirmation_sequence")
+@Data
+public class ConfirmationSequence {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    private long nextValue;
+}
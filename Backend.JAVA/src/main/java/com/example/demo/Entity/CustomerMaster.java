@@ -1,12 +1,17 @@
 package com.example.demo.Entity;
 
 import java.time.LocalDate;
+import java.util.Locale;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.Data;
 
@@ -34,6 +39,11 @@ public class CustomerMaster {
 	@Column(unique = true)
 	private String email;
 
+	// Lookup key for email: trimmed and lower case, kept in step on every save
+	@JsonIgnore
+	@Column(name = "email_normalized", unique = true)
+	private String emailNormalized;
+
 	private String city;
 
 	private String pincode;
@@ -116,6 +126,24 @@ public class CustomerMaster {
 		this.email = email;
 	}
 
+	public String getEmailNormalized() {
+		return emailNormalized;
+	}
+
+	public void setEmailNormalized(String emailNormalized) {
+		this.emailNormalized = emailNormalized;
+	}
+
+	public static String normalizeEmail(String email) {
+		return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+	}
+
+	@PrePersist
+	@PreUpdate
+	void normalize() {
+		emailNormalized = normalizeEmail(email);
+	}
+
 	public String getCity() {
 		return city;
 	}
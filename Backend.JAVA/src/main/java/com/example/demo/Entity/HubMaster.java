@@ -2,6 +2,7 @@ package com.example.demo.Entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -10,7 +11,10 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.Data;
 
+import com.example.demo.Service.HubSearchIndexListener;
+
 @Entity
+@EntityListeners(HubSearchIndexListener.class)
 @Table(name = "hub_master")
 @Data
 public class HubMaster {
@@ -0,0 +1,42 @@
+package com.example.demo.Entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+// Pending invoice emails, written in the same transaction as the car return
+@Entity
+@Table(name = "invoice_email_outbox", indexes = @Index(name = "idx_outbox_status_next", columnList = "status, nextAttemptAt"))
+@Data
+public class InvoiceEmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long bookingId;
+    private String toEmail;
+
+    private String status; // PENDING, SENDING, SENT, DEAD
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime claimedAt;
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.createdAt;
+        }
+        if (this.status == null) {
+            this.status = "PENDING";
+        }
+    }
+}
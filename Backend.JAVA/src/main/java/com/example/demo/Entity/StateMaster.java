@@ -2,13 +2,17 @@ package com.example.demo.Entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Data;
 
+import com.example.demo.Service.HubSearchIndexListener;
+
 @Entity
+@EntityListeners(HubSearchIndexListener.class)
 @Table(name = "state_master")
 @Data
 public class StateMaster {
@@ -6,12 +6,14 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "com.example.demo")
 @EntityScan(basePackages = "com.example.demo")
 @EnableJpaRepositories(basePackages = "com.example.demo")
+@EnableScheduling
 public class FleeManApplication {
 
 	public static void main(String[] args) {
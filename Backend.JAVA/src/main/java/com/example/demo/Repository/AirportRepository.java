@@ -42,4 +42,8 @@ public interface AirportRepository extends JpaRepository<AirportMaster, Integer>
 			"JOIN state_master s ON h.state_id = s.state_id " +
 			"JOIN airport_master a ON a.hub_id = h.hub_id", nativeQuery = true)
 	List<HubInfoProjection> getAllAirports();
+
+	// hubId, airportCode pairs for the hub search index
+	@Query("SELECT a.hub.hubId, a.airportCode FROM AirportMaster a WHERE a.hub IS NOT NULL AND a.airportCode IS NOT NULL")
+	List<Object[]> findHubAirportCodes();
 }
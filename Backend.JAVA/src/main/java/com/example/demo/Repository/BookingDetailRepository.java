@@ -2,11 +2,19 @@ package com.example.demo.Repository;
 
 import com.example.demo.Entity.BookingDetailTable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookingDetailRepository extends JpaRepository<BookingDetailTable, Long> {
     List<BookingDetailTable> findByBooking_BookingId(Long bookingId);
+
+    // bookingId, addonRate, addOnName for a page of bookings, without hydrating the entities
+    @Query("SELECT d.booking.bookingId, d.addonRate, a.addOnName FROM BookingDetailTable d " +
+            "LEFT JOIN d.addon a WHERE d.booking.bookingId IN :bookingIds")
+    List<Object[]> findAddOnLinesByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
 }
@@ -14,6 +14,29 @@ public interface BookingRepository extends JpaRepository<BookingHeaderTable, Lon
 
     List<BookingHeaderTable> findByPickupHub_HubId(Integer hubId);
 
+    // Listing variants: fetch the booking's own associations in the same statement so that
+    // BookingService can assemble responses without per-row lookups
+    String LISTING_FETCH = "SELECT b FROM BookingHeaderTable b " +
+            "LEFT JOIN FETCH b.customer LEFT JOIN FETCH b.car LEFT JOIN FETCH b.carType " +
+            "LEFT JOIN FETCH b.pickupHub LEFT JOIN FETCH b.returnHub ";
+
+    @org.springframework.data.jpa.repository.Query(LISTING_FETCH)
+    List<BookingHeaderTable> findAllForListing();
+
+    @org.springframework.data.jpa.repository.Query(LISTING_FETCH + "WHERE b.emailId = :emailId")
+    List<BookingHeaderTable> findByEmailIdForListing(
+            @org.springframework.data.repository.query.Param("emailId") String emailId);
+
+    @org.springframework.data.jpa.repository.Query(LISTING_FETCH + "WHERE b.pickupHub.hubId = :hubId")
+    List<BookingHeaderTable> findByPickupHubIdForListing(
+            @org.springframework.data.repository.query.Param("hubId") Integer hubId);
+
+    // Keyset page: bookings after the given id in id order; size comes from the Pageable
+    @org.springframework.data.jpa.repository.Query(LISTING_FETCH + "WHERE b.bookingId > :afterId ORDER BY b.bookingId")
+    List<BookingHeaderTable> findPageForListing(
+            @org.springframework.data.repository.query.Param("afterId") long afterId,
+            org.springframework.data.domain.Pageable pageable);
+
     @org.springframework.data.jpa.repository.Query("SELECT b FROM BookingHeaderTable b WHERE " +
             "(b.bookingStatus = 'ACTIVE' OR b.bookingStatus = 'CONFIRMED') AND " +
             "b.startDate <= :endDate AND b.endDate >= :startDate")
@@ -22,4 +45,26 @@ public interface BookingRepository extends JpaRepository<BookingHeaderTable, Lon
             @org.springframework.data.repository.query.Param("endDate") java.time.LocalDate endDate);
 
     List<BookingHeaderTable> findByBookingStatus(String bookingStatus);
+
+    long countByBookingStatus(String bookingStatus);
+
+    // Batch availability check: carId, startDate, endDate of bookings holding these cars in the window
+    @org.springframework.data.jpa.repository.Query("SELECT c.carId, b.startDate, b.endDate FROM BookingHeaderTable b " +
+            "JOIN b.car c WHERE c.carId IN :carIds AND b.bookingStatus <> 'CANCELLED' " +
+            "AND b.startDate <= :endDate AND b.endDate >= :startDate")
+    List<Object[]> findCarIntervals(
+            @org.springframework.data.repository.query.Param("carIds") java.util.Collection<Integer> carIds,
+            @org.springframework.data.repository.query.Param("startDate") java.time.LocalDate startDate,
+            @org.springframework.data.repository.query.Param("endDate") java.time.LocalDate endDate);
+
+    // Ids of rows inserted by JDBC batch: confirmationNumber, bookingId
+    @org.springframework.data.jpa.repository.Query("SELECT b.confirmationNumber, b.bookingId FROM BookingHeaderTable b " +
+            "WHERE b.confirmationNumber IN :numbers")
+    List<Object[]> findIdsByConfirmationNumbers(
+            @org.springframework.data.repository.query.Param("numbers") java.util.Collection<String> numbers);
+
+    // Lightweight rows for CarAvailabilityIndex: bookingId, carId, status, startDate, endDate
+    @org.springframework.data.jpa.repository.Query("SELECT b.bookingId, c.carId, b.bookingStatus, b.startDate, b.endDate " +
+            "FROM BookingHeaderTable b JOIN b.car c WHERE b.bookingStatus <> 'CANCELLED'")
+    List<Object[]> findCarBookingIntervals();
 }
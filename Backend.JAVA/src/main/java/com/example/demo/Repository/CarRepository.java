@@ -37,4 +37,12 @@ public interface CarRepository extends JpaRepository<CarMaster, Integer> {
                         @Param("endDate") java.time.LocalDate endDate,
                         @Param("carTypeId") Long carTypeId);
 
+        // Lightweight rows for CarAvailabilityIndex: carId, hubId, carTypeId, isAvailable
+        @Query("SELECT c.carId, h.hubId, t.carTypeId, c.isAvailable FROM CarMaster c " +
+                        "LEFT JOIN c.hub h LEFT JOIN c.carType t")
+        List<Object[]> findAvailabilitySnapshot();
+
+        @Query("SELECT c.numberPlate FROM CarMaster c WHERE c.numberPlate IN :plates")
+        List<String> findNumberPlatesIn(@Param("plates") java.util.Collection<String> plates);
+
 }
@@ -5,5 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.Optional;
 
 public interface CheckCustomerExistsRepository extends JpaRepository<CustomerMaster, Integer> {
-    Optional<CustomerMaster> findByEmailIgnoreCase(String email);
+    Optional<CustomerMaster> findByEmailNormalized(String emailNormalized);
+
+    boolean existsByEmailNormalized(String emailNormalized);
 }
@@ -0,0 +1,14 @@
+package com.example.demo.Repository;
+
+import com.example.demo.Entity.ConfirmationSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ConfirmationSequenceRepository extends JpaRepository<ConfirmationSequence, String> {
+
+    @Query("SELECT s.nextValue FROM ConfirmationSequence s WHERE s.name = :name")
+    Long findNextValue(@Param("name") String name);
+}
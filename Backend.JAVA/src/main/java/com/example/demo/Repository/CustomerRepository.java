@@ -1,14 +1,36 @@
 package com.example.demo.Repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.Entity.CustomerMaster;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CustomerRepository extends JpaRepository<CustomerMaster, Integer> {
 
-    CustomerMaster findByEmailIgnoreCase(String email);
+    // Takes a CustomerMaster.normalizeEmail value, so the unique index on email_normalized is used
+    CustomerMaster findByEmailNormalized(String emailNormalized);
+
+    @Query("SELECT c.custId FROM CustomerMaster c WHERE c.emailNormalized = :emailNormalized")
+    Integer findCustIdByEmailNormalized(@Param("emailNormalized") String emailNormalized);
+
+    // Rows written before email_normalized existed, or inserted outside JPA, as [cust_id, email]
+    @Query(value = "SELECT cust_id, email FROM customer_master "
+            + "WHERE email_normalized IS NULL AND email IS NOT NULL AND cust_id > :afterId "
+            + "ORDER BY cust_id LIMIT :limit", nativeQuery = true)
+    List<Object[]> findWithoutEmailNormalized(@Param("afterId") int afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE customer_master SET email_normalized = :emailNormalized "
+            + "WHERE cust_id = :custId AND email_normalized IS NULL", nativeQuery = true)
+    int setEmailNormalized(@Param("custId") int custId, @Param("emailNormalized") String emailNormalized);
 
     CustomerMaster findByMembershipId(String membershipId);
 
@@ -47,4 +47,16 @@ public interface HubRepository extends JpaRepository<HubMaster, Integer> {
                         "JOIN city_master c ON h.city_id = c.city_id " +
                         "JOIN state_master s ON h.state_id = s.state_id", nativeQuery = true)
         List<HubInfoProjection> findAllHubs();
+
+        // Every hub, including ones without a city or state, for the hub search index
+        @Query(value = "SELECT h.hub_id as hubId, h.hub_name as hubName, h.hub_address_and_details as hubAddress, " +
+                        "h.city_id as cityId, h.state_id as stateId, " +
+                        "c.city_name as cityName, s.state_name as stateName " +
+                        "FROM hub_master h " +
+                        "LEFT JOIN city_master c ON h.city_id = c.city_id " +
+                        "LEFT JOIN state_master s ON h.state_id = s.state_id", nativeQuery = true)
+        List<HubInfoProjection> findAllForSearch();
+
+        @Query("SELECT h.hubId FROM HubMaster h")
+        List<Integer> findAllIds();
 }
@@ -0,0 +1,37 @@
+package com.example.demo.Repository;
+
+import com.example.demo.Entity.InvoiceEmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InvoiceEmailOutboxRepository extends JpaRepository<InvoiceEmailOutbox, Long> {
+
+    @Query("SELECT o.id FROM InvoiceEmailOutbox o WHERE o.status = 'PENDING' AND o.nextAttemptAt <= :now ORDER BY o.nextAttemptAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Conditional update so only one worker (or instance) wins each row
+    @Modifying
+    @Transactional
+    @Query("UPDATE InvoiceEmailOutbox o SET o.status = 'SENDING', o.claimedAt = :now WHERE o.id = :id AND o.status = 'PENDING'")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Rows left in SENDING by a crashed worker go back to the queue
+    @Modifying
+    @Transactional
+    @Query("UPDATE InvoiceEmailOutbox o SET o.status = 'PENDING' WHERE o.status = 'SENDING' AND o.claimedAt < :before")
+    int releaseStale(@Param("before") LocalDateTime before);
+
+    long countByStatus(String status);
+
+    @Query("SELECT MIN(o.createdAt) FROM InvoiceEmailOutbox o WHERE o.status = 'PENDING' OR o.status = 'SENDING'")
+    LocalDateTime findOldestUnsentCreatedAt();
+}
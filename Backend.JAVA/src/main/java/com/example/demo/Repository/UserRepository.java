@@ -1,14 +1,24 @@
 package com.example.demo.Repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.demo.Entity.User;
+import com.example.demo.dto.LoginAccount;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
 	User findByUsername(String username);
 
+	// User, hub and matching customer for /login in one statement
+	@Query("SELECT new com.example.demo.dto.LoginAccount(u.Id, u.username, u.password, u.email, u.role, h.hubId, c.custId) "
+			+ "FROM User u LEFT JOIN u.hub h "
+			+ "LEFT JOIN CustomerMaster c ON c.emailNormalized = LOWER(TRIM(u.email)) "
+			+ "WHERE u.username = :username")
+	LoginAccount findLoginAccount(@Param("username") String username);
+
 	java.util.Optional<User> findByEmail(String email);
 
 	java.util.Optional<User> findByResetToken(String resetToken);
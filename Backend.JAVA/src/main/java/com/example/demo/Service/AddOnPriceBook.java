@@ -0,0 +1,114 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.AddOnMaster;
+import com.example.demo.Repository.AddOnRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Add-on names and daily rates held in memory for booking creation, so pricing an
+ * add-on is a map lookup instead of a query per id.
+ *
+ * The book is an immutable map swapped in whole. {@link AddOnServiceImpl} calls
+ * {@link #invalidate()} after adding or deleting an add-on and the next lookup
+ * rebuilds it with one query.
+ *
+ * A rate with {@code rateValidUntil} in the past is expired. With
+ * {@code fleet.addons.expired-rate=reject} (the default) booking it fails; with
+ * {@code current} the stored rate is charged as it is.
+ */
+@Component
+public class AddOnPriceBook {
+
+    private static final Logger logger = LoggerFactory.getLogger(AddOnPriceBook.class);
+
+    @Autowired
+    private AddOnRepository addOnRepository;
+
+    @Value("${fleet.addons.expired-rate:reject}")
+    private String expiredRate;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Book book;
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    /**
+     * The add-on with its rate as of now, or null for an unknown id. Throws
+     * IllegalArgumentException when the rate has expired and expired rates are rejected.
+     */
+    public AddOnMaster price(Integer addOnId) {
+        AddOnMaster addOn = current().addOns.get(addOnId);
+        if (addOn == null) {
+            return null;
+        }
+        LocalDateTime validUntil = addOn.getRateValidUntil();
+        if (validUntil != null && validUntil.isBefore(LocalDateTime.now()) && !"current".equalsIgnoreCase(expiredRate)) {
+            throw new IllegalArgumentException("Rate for add-on " + addOn.getAddOnName() + " expired on " + validUntil);
+        }
+        return addOn;
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    // Picks up edits made outside the application
+    @Scheduled(initialDelayString = "${fleet.addons.refresh-ms:600000}", fixedDelayString = "${fleet.addons.refresh-ms:600000}")
+    public void refresh() {
+        invalidate();
+    }
+
+    private Book current() {
+        Book b = book;
+        if (b != null && b.version == version.get()) {
+            return b;
+        }
+        buildLock.lock();
+        try {
+            long v = version.get();
+            b = book;
+            if (b == null || b.version != v) {
+                Map<Integer, AddOnMaster> addOns = new HashMap<>();
+                for (AddOnMaster addOn : addOnRepository.findAll()) {
+                    addOns.put(addOn.getAddOnId(), copy(addOn));
+                }
+                b = new Book(v, Map.copyOf(addOns));
+                book = b;
+                logger.debug("Add-on price book built: {} add-ons", addOns.size());
+            }
+            return b;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    // Detached copies: the book outlives the persistence context it was loaded in
+    private static AddOnMaster copy(AddOnMaster addOn) {
+        AddOnMaster copy = new AddOnMaster();
+        copy.setAddOnId(addOn.getAddOnId());
+        copy.setAddOnName(addOn.getAddOnName());
+        copy.setAddonDailyRate(addOn.getAddonDailyRate());
+        copy.setRateValidUntil(addOn.getRateValidUntil());
+        return copy;
+    }
+
+    private static final class Book {
+        private final long version;
+        private final Map<Integer, AddOnMaster> addOns;
+
+        Book(long version, Map<Integer, AddOnMaster> addOns) {
+            this.version = version;
+            this.addOns = addOns;
+        }
+    }
+}
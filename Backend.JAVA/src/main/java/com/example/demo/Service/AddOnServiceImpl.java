@@ -15,6 +15,12 @@ public class AddOnServiceImpl implements AddOnService {
     @Autowired
     private AddOnRepository addOnRepository;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private AddOnPriceBook addOnPriceBook;
+
     @Override
     public List<AddOnDTO> getAllAddOns() {
         return addOnRepository.findAll().stream()
@@ -50,11 +56,15 @@ public class AddOnServiceImpl implements AddOnService {
     public AddOnDTO addAddOn(AddOnDTO addOnDTO) {
         AddOnMaster addOn = convertToEntity(addOnDTO);
         AddOnMaster savedAddOn = addOnRepository.save(addOn);
+        referenceDataCache.bump(ReferenceDataCache.ADD_ONS);
+        addOnPriceBook.invalidate();
         return convertToDTO(savedAddOn);
     }
 
     @Override
     public void deleteAddOn(int id) {
         addOnRepository.deleteById(id);
+        referenceDataCache.bump(ReferenceDataCache.ADD_ONS);
+        addOnPriceBook.invalidate();
     }
 }
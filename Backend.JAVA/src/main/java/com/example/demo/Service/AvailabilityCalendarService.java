@@ -0,0 +1,63 @@
+package com.example.demo.Service;
+
+import com.example.demo.dto.AvailabilityCalendar;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Month views of availability for the booking calendar. A month is counted in one
+ * pass over the hub's cars in {@link CarAvailabilityIndex} (day bitmaps inside the
+ * horizon, interval scans outside it) and cached per hub, car type and month until
+ * a car or booking at the hub changes.
+ */
+@Service
+public class AvailabilityCalendarService {
+
+    @Autowired
+    private CarAvailabilityIndex availabilityIndex;
+
+    // Keyed by client input, so keep the map bounded
+    @Value("${fleet.availability.calendar-cache-size:2000}")
+    private int maxEntries;
+
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    public AvailabilityCalendar getCalendar(int hubId, YearMonth month, Long carTypeId) {
+        String key = hubId + "|" + carTypeId + "|" + month;
+        // Version read before counting: a change during the count leaves this entry stale
+        long version = availabilityIndex.hubVersion(hubId);
+        Entry entry = cache.get(key);
+        if (entry == null || entry.version != version) {
+            int[] free = availabilityIndex.countFreeCarsByDay(hubId, carTypeId, month.atDay(1), month.lengthOfMonth());
+            entry = new Entry(version, free);
+            if (cache.size() >= maxEntries) {
+                cache.clear();
+            }
+            cache.put(key, entry);
+        }
+
+        List<AvailabilityCalendar.Day> days = new ArrayList<>(entry.free.length);
+        for (int d = 0; d < entry.free.length; d++) {
+            days.add(new AvailabilityCalendar.Day(month.atDay(d + 1), entry.free[d]));
+        }
+        return new AvailabilityCalendar(hubId, carTypeId, month.toString(), days);
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final int[] free;
+
+        Entry(long version, int[] free) {
+            this.version = version;
+            this.free = free;
+        }
+    }
+}
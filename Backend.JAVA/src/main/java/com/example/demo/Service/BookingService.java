@@ -2,21 +2,62 @@ package com.example.demo.Service;
 
 import com.example.demo.Entity.*;
 import com.example.demo.Repository.*;
+import com.example.demo.dto.BatchBookingResult;
+import com.example.demo.dto.BookingPage;
 import com.example.demo.dto.BookingRequest;
 import com.example.demo.dto.BookingResponse;
 import com.example.demo.dto.ReturnRequest;
 import com.example.demo.dto.HandoverRequest;
+import com.example.demo.exception.CarAssignmentConflictException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BookingService {
 
+        // Keeps IN lists well below driver/packet limits for large listings
+        private static final int IN_CLAUSE_CHUNK = 1000;
+
+        private static final AddOnLines NO_ADD_ONS = new AddOnLines();
+
+        private static final int DEFAULT_PAGE_SIZE = 100;
+        private static final int MAX_PAGE_SIZE = 500;
+        private static final int STREAM_CHUNK = 500;
+
+        private static final String INSERT_BOOKING = "INSERT INTO booking_header_table (booking_date, "
+                        + "confirmation_number, booking_status, cust_id, start_date, end_date, pickup_location_id, "
+                        + "return_hub_id, cartype_id, car_id, first_name, last_name, address, state, pin, email_id, "
+                        + "book_car, daily_rate, weekly_rate, monthly_rate) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        private static final String INSERT_BOOKING_DETAIL = "INSERT INTO booking_detail_table (booking_id, addon_id, "
+                        + "addon_rate) VALUES (?, ?, ?)";
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
         @Autowired
         private BookingRepository bookingRepository;
 
@@ -33,10 +74,7 @@ public class BookingService {
         private InvoiceRepository invoiceRepository;
 
         @Autowired
-        private InvoiceService invoiceService;
-
-        @Autowired
-        private AddOnRepository addOnRepository;
+        private AddOnPriceBook addOnPriceBook;
 
         @Autowired
         private BookingDetailRepository bookingDetailRepository;
@@ -44,6 +82,30 @@ public class BookingService {
         @Autowired
         private CarTypeMasterRepository carTypeMasterRepository;
 
+        @Autowired
+        private CarService carService;
+
+        @Autowired
+        private FleetSnapshotService fleetSnapshotService;
+
+        @Autowired
+        private CarAssignmentLocks carAssignmentLocks;
+
+        @Autowired
+        private InvoiceEmailOutboxService invoiceEmailOutboxService;
+
+        @Autowired
+        private InvoicePdfCache invoicePdfCache;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private ConfirmationNumberService confirmationNumberService;
+
+        @Value("${fleet.booking-batch.max-size:500}")
+        private int maxBatchSize;
+
         public BookingResponse createBooking(BookingRequest request) {
                 BookingHeaderTable booking = new BookingHeaderTable();
 
@@ -68,6 +130,28 @@ public class BookingService {
                 HubMaster returnHub = hubRepository.findById(request.getReturnHubId())
                                 .orElseThrow(() -> new IllegalArgumentException("Invalid Return Hub ID"));
 
+                populateBooking(booking, customer, car, carType, pickupHub, returnHub, request);
+                // Priced before the header is saved, so an expired rate fails the whole booking
+                List<AddOnMaster> addOns = priceAddOns(request);
+
+                BookingHeaderTable savedBooking = bookingRepository.save(booking);
+                afterBookingSaved(savedBooking);
+
+                // Process Add-ons
+                for (AddOnMaster addon : addOns) {
+                        BookingDetailTable detail = new BookingDetailTable();
+                        detail.setBooking(savedBooking);
+                        detail.setAddon(addon);
+                        detail.setAddonRate(addon.getAddonDailyRate());
+                        bookingDetailRepository.save(detail);
+                }
+
+                return buildResponse(savedBooking, customer, addOnLines(addOns));
+        }
+
+        // Header fields of a new CONFIRMED booking; shared by createBooking and createBookings
+        private void populateBooking(BookingHeaderTable booking, CustomerMaster customer, CarMaster car,
+                        CarTypeMaster carType, HubMaster pickupHub, HubMaster returnHub, BookingRequest request) {
                 // Set Fields
                 booking.setCustomer(customer);
                 booking.setCar(car);
@@ -79,7 +163,7 @@ public class BookingService {
                 booking.setBookingDate(LocalDate.now());
 
                 // Generate Confirmation Number
-                booking.setConfirmationNumber("BOK-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+                booking.setConfirmationNumber(confirmationNumberService.next());
                 booking.setBookingStatus("CONFIRMED");
 
                 // Copy redundant fields (for invoice/history)
@@ -106,25 +190,228 @@ public class BookingService {
                         booking.setWeeklyRate(carType.getWeeklyRate());
                         booking.setMonthlyRate(carType.getMonthlyRate());
                 }
+        }
 
-                BookingHeaderTable savedBooking = bookingRepository.save(booking);
+        /**
+         * Creates many bookings in one transaction. Cars, car types, customers and hubs
+         * are loaded with one IN query per kind and add-ons priced from the price book,
+         * availability is checked for the whole set (against existing bookings and the
+         * batch's own earlier items), and headers and add-on lines are inserted as JDBC
+         * batches. An invalid item fails
+         * on its own with its error in the result; the rest are still booked.
+         */
+        @Transactional
+        public List<BatchBookingResult> createBookings(List<BookingRequest> requests) {
+                if (requests == null || requests.isEmpty()) {
+                        throw new IllegalArgumentException("No bookings in batch");
+                }
+                if (requests.size() > maxBatchSize) {
+                        throw new IllegalArgumentException("At most " + maxBatchSize + " bookings per batch");
+                }
 
-                // Process Add-ons
-                if (request.getAddOnIds() != null && !request.getAddOnIds().isEmpty()) {
+                Map<Integer, CarMaster> cars = carRepository.findAllById(distinct(requests, r -> r.getCarId() > 0 ? r.getCarId() : null))
+                                .stream().collect(Collectors.toMap(CarMaster::getCarId, c -> c));
+                Map<Long, CarTypeMaster> carTypes = carTypeMasterRepository.findAllById(distinct(requests, BookingRequest::getCarTypeId))
+                                .stream().collect(Collectors.toMap(CarTypeMaster::getCarTypeId, t -> t));
+                Map<Integer, CustomerMaster> customers = customerRepository.findAllById(distinct(requests, BookingRequest::getCustomerId))
+                                .stream().collect(Collectors.toMap(CustomerMaster::getCustId, c -> c));
+                Map<Integer, HubMaster> hubs = hubRepository.findAllById(distinctAll(requests,
+                                r -> Stream.of(r.getPickupHubId(), r.getReturnHubId())))
+                                .stream().collect(Collectors.toMap(HubMaster::getHubId, h -> h));
+
+                BatchBookingResult[] results = new BatchBookingResult[requests.size()];
+                List<BatchItem> items = new ArrayList<>();
+                for (int i = 0; i < requests.size(); i++) {
+                        try {
+                                items.add(resolveBatchItem(i, requests.get(i), cars, carTypes, customers, hubs));
+                        } catch (IllegalArgumentException e) {
+                                results[i] = new BatchBookingResult(i, e.getMessage());
+                        }
+                }
+                items = checkBatchAvailability(items, results);
+
+                if (!items.isEmpty()) {
+                        insertBatch(items);
+                }
+                for (BatchItem item : items) {
+                        afterBookingSaved(item.booking);
+                        results[item.index] = new BatchBookingResult(item.index,
+                                        buildResponse(item.booking, item.booking.getCustomer(), addOnLines(item.addOns)));
+                }
+                return List.of(results);
+        }
+
+        private BatchItem resolveBatchItem(int index, BookingRequest request, Map<Integer, CarMaster> cars,
+                        Map<Long, CarTypeMaster> carTypes, Map<Integer, CustomerMaster> customers,
+                        Map<Integer, HubMaster> hubs) {
+                CarMaster car = null;
+                CarTypeMaster carType;
+                if (request.getCarId() > 0) {
+                        car = require(cars.get(request.getCarId()), "Invalid Car ID");
+                        carType = car.getCarType();
+                } else if (request.getCarTypeId() != null && request.getCarTypeId() > 0) {
+                        carType = require(carTypes.get(request.getCarTypeId()), "Invalid Car Type ID");
+                } else {
+                        throw new IllegalArgumentException("Invalid Car Selection");
+                }
+                CustomerMaster customer = require(customers.get(request.getCustomerId()), "Invalid Customer ID");
+                HubMaster pickupHub = require(hubs.get(request.getPickupHubId()), "Invalid Pickup Hub ID");
+                HubMaster returnHub = require(hubs.get(request.getReturnHubId()), "Invalid Return Hub ID");
+                if (request.getStartDate() == null || request.getEndDate() == null
+                                || request.getEndDate().isBefore(request.getStartDate())) {
+                        throw new IllegalArgumentException("Invalid booking dates");
+                }
+
+                BookingHeaderTable booking = new BookingHeaderTable();
+                populateBooking(booking, customer, car, carType, pickupHub, returnHub, request);
+                return new BatchItem(index, booking, priceAddOns(request));
+        }
+
+        // Requested add-ons at their current rates; unknown ids are skipped
+        private List<AddOnMaster> priceAddOns(BookingRequest request) {
+                List<AddOnMaster> addOns = new ArrayList<>();
+                if (request.getAddOnIds() != null) {
                         for (Integer addOnId : request.getAddOnIds()) {
-                                addOnRepository.findById(addOnId).ifPresent(addon -> {
-                                        BookingDetailTable detail = new BookingDetailTable();
-                                        detail.setBooking(savedBooking);
-                                        detail.setAddon(addon);
-                                        detail.setAddonRate(addon.getAddonDailyRate());
-                                        bookingDetailRepository.save(detail);
-                                });
+                                AddOnMaster addOn = addOnPriceBook.price(addOnId);
+                                if (addOn != null) {
+                                        addOns.add(addOn);
+                                }
+                        }
+                }
+                return addOns;
+        }
+
+        /**
+         * Drops (and fails) items whose car is out of service or already booked for an
+         * overlapping period, or whose pickup hub has no car of the type left. Earlier
+         * items of the batch take precedence over later ones.
+         */
+        private List<BatchItem> checkBatchAvailability(List<BatchItem> items, BatchBookingResult[] results) {
+                if (items.isEmpty()) {
+                        return items;
+                }
+                LocalDate from = items.stream().map(i -> i.booking.getStartDate()).min(LocalDate::compareTo).get();
+                LocalDate to = items.stream().map(i -> i.booking.getEndDate()).max(LocalDate::compareTo).get();
+
+                // One query for every car named in the batch
+                Map<Integer, List<LocalDate[]>> carIntervals = new HashMap<>();
+                List<Integer> carIds = items.stream().filter(i -> i.booking.getCar() != null)
+                                .map(i -> i.booking.getCar().getCarId()).distinct().collect(Collectors.toList());
+                for (int start = 0; start < carIds.size(); start += IN_CLAUSE_CHUNK) {
+                        for (Object[] row : bookingRepository.findCarIntervals(
+                                        carIds.subList(start, Math.min(start + IN_CLAUSE_CHUNK, carIds.size())), from, to)) {
+                                carIntervals.computeIfAbsent((Integer) row[0], k -> new ArrayList<>())
+                                                .add(new LocalDate[] { (LocalDate) row[1], (LocalDate) row[2] });
                         }
                 }
 
-                return mapToResponse(savedBooking);
+                // Car type bookings: free cars per hub, type and period, less what the batch already took
+                Map<String, Integer> freeCars = new HashMap<>();
+                Map<String, List<LocalDate[]>> claimed = new HashMap<>();
+
+                List<BatchItem> accepted = new ArrayList<>(items.size());
+                for (BatchItem item : items) {
+                        BookingHeaderTable b = item.booking;
+                        LocalDate[] period = { b.getStartDate(), b.getEndDate() };
+                        String error = null;
+                        if (b.getCar() != null) {
+                                CarMaster car = b.getCar();
+                                List<LocalDate[]> taken = carIntervals.computeIfAbsent(car.getCarId(), k -> new ArrayList<>());
+                                if (car.getIsAvailable() != CarMaster.AvailabilityStatus.Y
+                                                && car.getIsAvailable() != CarMaster.AvailabilityStatus.YES) {
+                                        error = "Car is not available";
+                                } else if (overlaps(taken, period) > 0) {
+                                        error = "Car is already booked for these dates";
+                                } else {
+                                        taken.add(period);
+                                }
+                        } else {
+                                int hubId = b.getPickupHub().getHubId();
+                                long carTypeId = b.getCarType().getCarTypeId();
+                                int free = freeCars.computeIfAbsent(hubId + "|" + carTypeId + "|" + period[0] + "|" + period[1],
+                                                k -> carService.countAvailableCars(hubId, period[0], period[1], carTypeId));
+                                List<LocalDate[]> taken = claimed.computeIfAbsent(hubId + "|" + carTypeId, k -> new ArrayList<>());
+                                if (overlaps(taken, period) >= free) {
+                                        error = "No car of this type available at the pickup hub for these dates";
+                                } else {
+                                        taken.add(period);
+                                }
+                        }
+                        if (error != null) {
+                                results[item.index] = new BatchBookingResult(item.index, error);
+                        } else {
+                                accepted.add(item);
+                        }
+                }
+                return accepted;
+        }
+
+        private void insertBatch(List<BatchItem> items) {
+                List<Object[]> headers = new ArrayList<>(items.size());
+                for (BatchItem item : items) {
+                        BookingHeaderTable b = item.booking;
+                        headers.add(new Object[] { b.getBookingDate(), b.getConfirmationNumber(), b.getBookingStatus(),
+                                        b.getCustomer().getCustId(), b.getStartDate(), b.getEndDate(),
+                                        b.getPickupHub().getHubId(), b.getReturnHub().getHubId(),
+                                        b.getCarType() != null ? b.getCarType().getCarTypeId() : null,
+                                        b.getCar() != null ? b.getCar().getCarId() : null, b.getFirstName(),
+                                        b.getLastName(), b.getAddress(), b.getState(), b.getPin(), b.getEmailId(),
+                                        b.getBookcar(), b.getDailyRate(), b.getWeeklyRate(), b.getMonthlyRate() });
+                }
+                jdbcTemplate.batchUpdate(INSERT_BOOKING, headers);
+
+                // Identity keys from a batch are driver-specific; the confirmation number is unique
+                Map<String, BatchItem> byNumber = items.stream()
+                                .collect(Collectors.toMap(i -> i.booking.getConfirmationNumber(), i -> i));
+                List<String> numbers = new ArrayList<>(byNumber.keySet());
+                for (int start = 0; start < numbers.size(); start += IN_CLAUSE_CHUNK) {
+                        for (Object[] row : bookingRepository.findIdsByConfirmationNumbers(
+                                        numbers.subList(start, Math.min(start + IN_CLAUSE_CHUNK, numbers.size())))) {
+                                byNumber.get((String) row[0]).booking.setBookingId((Long) row[1]);
+                        }
+                }
+
+                List<Object[]> details = new ArrayList<>();
+                for (BatchItem item : items) {
+                        for (AddOnMaster addOn : item.addOns) {
+                                details.add(new Object[] { item.booking.getBookingId(), addOn.getAddOnId(),
+                                                addOn.getAddonDailyRate() });
+                        }
+                }
+                if (!details.isEmpty()) {
+                        jdbcTemplate.batchUpdate(INSERT_BOOKING_DETAIL, details);
+                }
         }
 
+        private static int overlaps(List<LocalDate[]> periods, LocalDate[] period) {
+                int count = 0;
+                for (LocalDate[] p : periods) {
+                        if (!p[1].isBefore(period[0]) && !p[0].isAfter(period[1])) {
+                                count++;
+                        }
+                }
+                return count;
+        }
+
+        private static <T> T require(T value, String error) {
+                if (value == null) {
+                        throw new IllegalArgumentException(error);
+                }
+                return value;
+        }
+
+        // Distinct non-null ids over all requests, for one IN query per kind
+        private static <K> List<K> distinct(List<BookingRequest> requests, java.util.function.Function<BookingRequest, K> id) {
+                return requests.stream().map(id).filter(java.util.Objects::nonNull).distinct().collect(Collectors.toList());
+        }
+
+        private static <K> List<K> distinctAll(List<BookingRequest> requests,
+                        java.util.function.Function<BookingRequest, Stream<K>> ids) {
+                return requests.stream().flatMap(ids).filter(java.util.Objects::nonNull).distinct().collect(Collectors.toList());
+        }
+
+        // A self-call skips the proxy, so processHandover's transaction is declared here too
+        @Transactional
         public BookingResponse handoverCar(Long bookingId) {
                 // Deprecated: delegated to new method with nulls
                 HandoverRequest req = new HandoverRequest();
@@ -132,6 +419,8 @@ public class BookingService {
                 return processHandover(req);
         }
 
+        // One transaction, so a failed handover never leaves the new car taken
+        @Transactional
         public BookingResponse processHandover(HandoverRequest request) {
                 BookingHeaderTable booking = bookingRepository.findById(request.getBookingId())
                                 .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -145,32 +434,23 @@ public class BookingService {
                         CarMaster currentCar = booking.getCar();
                         // If switching car
                         if (currentCar == null || currentCar.getCarId() != request.getCarId()) {
-                                CarMaster newCar = carRepository.findById(request.getCarId())
-                                                .orElseThrow(() -> new IllegalArgumentException("Invalid Car ID"));
-
-                                if (!newCar.isActuallyAvailable()) {
-                                        throw new RuntimeException("Selected car is not available");
-                                }
+                                // Take the new car first so a lost race leaves the old one assigned
+                                CarMaster newCar = reserveCar(request.getCarId());
 
                                 // Release old car if exists
                                 if (currentCar != null) {
-                                        currentCar.setIsAvailable(CarMaster.AvailabilityStatus.Y);
-                                        carRepository.save(currentCar);
+                                        setCarAvailability(currentCar, CarMaster.AvailabilityStatus.Y);
                                 }
 
                                 // Assign new car
                                 booking.setCar(newCar);
                                 booking.setBookcar(newCar.getCarName());
-                                // Update availability immediately to prevent race conditions (simple approach)
-                                newCar.setIsAvailable(CarMaster.AvailabilityStatus.N);
-                                carRepository.save(newCar);
                         }
                 } else {
                         // Mark existing car as unavailable if not already
                         CarMaster car = booking.getCar();
                         if (car != null) {
-                                car.setIsAvailable(CarMaster.AvailabilityStatus.N);
-                                carRepository.save(car);
+                                booking.setCar(setCarAvailability(car, CarMaster.AvailabilityStatus.N));
                         }
                 }
 
@@ -189,6 +469,7 @@ public class BookingService {
                 // Update Booking Status
                 booking.setBookingStatus("ACTIVE");
                 bookingRepository.save(booking);
+                afterBookingSaved(booking);
 
                 // Create Invoice Record
                 InvoiceHeaderTable invoice = new InvoiceHeaderTable();
@@ -201,6 +482,7 @@ public class BookingService {
                 return mapToResponse(booking);
         }
 
+        @Transactional
         public BookingResponse returnCar(ReturnRequest request) {
                 BookingHeaderTable booking = bookingRepository.findById(request.getBookingId())
                                 .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -223,11 +505,10 @@ public class BookingService {
                 booking.setEndDate(LocalDate.now());
 
                 bookingRepository.save(booking);
+                afterBookingSaved(booking);
 
                 // Update Car Availability
-                CarMaster car = booking.getCar();
-                car.setIsAvailable(CarMaster.AvailabilityStatus.Y);
-                carRepository.save(car);
+                setCarAvailability(booking.getCar(), CarMaster.AvailabilityStatus.Y);
 
                 // Update Invoice Record
                 InvoiceHeaderTable invoice = invoiceRepository.findByBooking_BookingId(booking.getBookingId());
@@ -262,24 +543,136 @@ public class BookingService {
                         invoiceRepository.save(invoice);
                 }
 
-                // Send Invoice Email automatically
-                try {
-                        invoiceService.sendInvoiceEmail(booking.getBookingId(), booking.getEmailId());
-                } catch (Exception e) {
-                        System.err.println("Failed to send invoice email: " + e.getMessage());
-                        // Do not fail the return transaction if email fails
-                }
+                // Invoice email goes out from the outbox once this transaction commits
+                invoiceEmailOutboxService.enqueue(booking.getBookingId(), booking.getEmailId());
 
                 return mapToResponse(booking);
         }
 
+        // Unique index lookup; a malformed code is rejected without a query
+        public BookingResponse getBookingByConfirmation(String confirmationNumber) {
+                BookingHeaderTable booking = bookingRepository
+                                .findByConfirmationNumber(ConfirmationNumberService.normalize(confirmationNumber))
+                                .orElseThrow(() -> new RuntimeException("Booking not found"));
+                return mapToResponse(booking);
+        }
+
         public BookingResponse getBooking(Long bookingId) {
                 BookingHeaderTable booking = bookingRepository.findById(bookingId)
                                 .orElseThrow(() -> new RuntimeException("Booking not found"));
                 return mapToResponse(booking);
         }
 
+        // Takes the car under its stripe lock, held until this transaction ends, so two
+        // desks cannot both see it available
+        private CarMaster reserveCar(int carId) {
+                carAssignmentLocks.lockUntilCompletion(carId);
+                CarMaster car = lockCar(carId);
+                if (!car.isActuallyAvailable()) {
+                        throw new CarAssignmentConflictException("Selected car is not available");
+                }
+                car.setIsAvailable(CarMaster.AvailabilityStatus.N);
+                CarMaster saved = carRepository.saveAndFlush(car);
+                afterCarSaved(saved);
+                return saved;
+        }
+
+        // The booking's car may be a copy from before another desk's change; saving
+        // that would fail the @Version check, so the car is re-read under the lock
+        private CarMaster setCarAvailability(CarMaster bookedCar, CarMaster.AvailabilityStatus status) {
+                carAssignmentLocks.lockUntilCompletion(bookedCar.getCarId());
+                CarMaster car = lockCar(bookedCar.getCarId());
+                car.setIsAvailable(status);
+                CarMaster saved = carRepository.saveAndFlush(car);
+                afterCarSaved(saved);
+                return saved;
+        }
+
+        // SELECT ... FOR UPDATE, also over a copy loaded earlier in this transaction. The
+        // row stays locked until commit, and a locking read returns the latest committed
+        // row where a plain one may come from the transaction's snapshot.
+        private CarMaster lockCar(int carId) {
+                CarMaster car = entityManager.find(CarMaster.class, carId);
+                if (car == null) {
+                        throw new IllegalArgumentException("Invalid Car ID");
+                }
+                entityManager.refresh(car, LockModeType.PESSIMISTIC_WRITE);
+                return car;
+        }
+
+        // Keeps the in-memory availability index and fleet snapshot in step with saves,
+        // once the surrounding transaction (if any) has committed
+        private void afterBookingSaved(BookingHeaderTable booking) {
+                afterCommit(() -> {
+                        carService.onBookingSaved(booking);
+                        fleetSnapshotService.onBookingSaved(booking);
+                });
+        }
+
+        private void afterCarSaved(CarMaster car) {
+                afterCommit(() -> {
+                        carService.onCarSaved(car);
+                        fleetSnapshotService.onCarSaved(car);
+                });
+        }
+
+        private static void afterCommit(Runnable update) {
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                                @Override
+                                public void afterCommit() {
+                                        update.run();
+                                }
+                        });
+                } else {
+                        update.run();
+                }
+        }
+
         private BookingResponse mapToResponse(BookingHeaderTable booking) {
+                CustomerMaster customer = null;
+                if (booking.getCustomer() != null) {
+                        // Force fresh fetch to ensure all fields are loaded
+                        customer = customerRepository.findById(booking.getCustomer().getCustId())
+                                        .orElse(booking.getCustomer());
+                }
+
+                AddOnLines addOns = new AddOnLines();
+                for (BookingDetailTable detail : bookingDetailRepository
+                                .findByBooking_BookingId(booking.getBookingId())) {
+                        addOns.add(detail.getAddonRate(), detail.getAddon().getAddOnName());
+                }
+                return buildResponse(booking, customer, addOns);
+        }
+
+        /**
+         * Bulk variant of {@link #mapToResponse(BookingHeaderTable)} for listings. The
+         * bookings must come from a *ForListing repository query (customer, car, car
+         * type and hubs already fetched); add-on lines are loaded with one IN query per
+         * chunk, so the cost no longer grows with the number of bookings.
+         */
+        private List<BookingResponse> mapToResponses(List<BookingHeaderTable> bookings) {
+                Map<Long, AddOnLines> addOnsByBooking = new HashMap<>();
+                for (int from = 0; from < bookings.size(); from += IN_CLAUSE_CHUNK) {
+                        List<Long> ids = bookings.subList(from, Math.min(from + IN_CLAUSE_CHUNK, bookings.size()))
+                                        .stream()
+                                        .map(BookingHeaderTable::getBookingId)
+                                        .collect(Collectors.toList());
+                        for (Object[] row : bookingDetailRepository.findAddOnLinesByBookingIds(ids)) {
+                                addOnsByBooking.computeIfAbsent((Long) row[0], k -> new AddOnLines())
+                                                .add((Double) row[1], (String) row[2]);
+                        }
+                }
+
+                List<BookingResponse> responses = new ArrayList<>(bookings.size());
+                for (BookingHeaderTable booking : bookings) {
+                        AddOnLines addOns = addOnsByBooking.getOrDefault(booking.getBookingId(), NO_ADD_ONS);
+                        responses.add(buildResponse(booking, booking.getCustomer(), addOns));
+                }
+                return responses;
+        }
+
+        private BookingResponse buildResponse(BookingHeaderTable booking, CustomerMaster c, AddOnLines addOns) {
                 BookingResponse response = new BookingResponse();
                 response.setBookingId(booking.getBookingId());
                 response.setConfirmationNumber(booking.getConfirmationNumber());
@@ -288,11 +681,7 @@ public class BookingService {
                 response.setEmail(booking.getEmailId());
 
                 // Map additional customer details for Handover
-                if (booking.getCustomer() != null) {
-                        // Force fresh fetch to ensure all fields are loaded
-                        CustomerMaster c = customerRepository.findById(booking.getCustomer().getCustId())
-                                        .orElse(booking.getCustomer());
-
+                if (c != null) {
                         response.setAddress(c.getAddressLine1()
                                         + (c.getAddressLine2() != null ? ", " + c.getAddressLine2() : ""));
                         response.setCity(c.getCity());
@@ -341,21 +730,15 @@ public class BookingService {
                                 days = 1;
                 }
 
-                List<BookingDetailTable> details = bookingDetailRepository
-                                .findByBooking_BookingId(booking.getBookingId());
-                double totalAddonDailyRate = details.stream().mapToDouble(BookingDetailTable::getAddonRate).sum();
-                double totalAddonAmt = totalAddonDailyRate * days;
+                double totalAddonAmt = addOns.totalDailyRate * days;
                 double dailyRate = booking.getDailyRate() != null ? booking.getDailyRate() : 0.0;
                 double totalAmt = (days * dailyRate) + totalAddonAmt;
 
                 response.setTotalAddonAmount(totalAddonAmt);
                 response.setTotalAmount(totalAmt);
 
-                // Fetch and set selected add-ons
-                List<String> addOnNames = details.stream()
-                                .map(detail -> detail.getAddon().getAddOnName())
-                                .collect(Collectors.toList());
-                response.setSelectedAddOns(addOnNames);
+                // Selected add-ons
+                response.setSelectedAddOns(new ArrayList<>(addOns.names));
 
                 return response;
         }
@@ -365,6 +748,7 @@ public class BookingService {
         // ID.
         // We will focus on getBooking(Long) which already exists.
 
+        @Transactional
         public BookingResponse cancelBooking(Long bookingId) {
                 BookingHeaderTable booking = bookingRepository.findById(bookingId)
                                 .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -381,15 +765,15 @@ public class BookingService {
 
                 // Release car if assigned
                 if (booking.getCar() != null) {
-                        CarMaster car = booking.getCar();
-                        car.setIsAvailable(CarMaster.AvailabilityStatus.Y);
-                        carRepository.save(car);
+                        setCarAvailability(booking.getCar(), CarMaster.AvailabilityStatus.Y);
                 }
 
                 BookingHeaderTable savedBooking = bookingRepository.save(booking);
+                afterBookingSaved(savedBooking);
                 return mapToResponse(savedBooking);
         }
 
+        @Transactional
         public BookingResponse modifyBooking(Long bookingId, BookingRequest request) {
                 BookingHeaderTable booking = bookingRepository.findById(bookingId)
                                 .orElseThrow(() -> new RuntimeException("Booking not found"));
@@ -407,24 +791,16 @@ public class BookingService {
                 // Handle Car Change logic if needed
                 if (request.getCarId() > 0
                                 && (booking.getCar() == null || booking.getCar().getCarId() != request.getCarId())) {
-                        CarMaster newCar = carRepository.findById(request.getCarId())
-                                        .orElseThrow(() -> new IllegalArgumentException("Invalid Car ID"));
-                        if (!newCar.isActuallyAvailable()) {
-                                throw new RuntimeException("Selected car is not available");
-                        }
+                        CarMaster newCar = reserveCar(request.getCarId());
 
                         // Release old car if exists
                         if (booking.getCar() != null) {
-                                CarMaster oldCar = booking.getCar();
-                                oldCar.setIsAvailable(CarMaster.AvailabilityStatus.Y);
-                                carRepository.save(oldCar);
+                                setCarAvailability(booking.getCar(), CarMaster.AvailabilityStatus.Y);
                         }
 
                         // Assign new car
                         booking.setCar(newCar);
                         booking.setBookcar(newCar.getCarName());
-                        newCar.setIsAvailable(CarMaster.AvailabilityStatus.N);
-                        carRepository.save(newCar);
 
                         // Update rates
                         if (booking.getCarType() != null) {
@@ -433,25 +809,97 @@ public class BookingService {
                 }
 
                 BookingHeaderTable savedBooking = bookingRepository.save(booking);
+                afterBookingSaved(savedBooking);
+                invoicePdfCache.invalidate(savedBooking.getBookingId());
                 return mapToResponse(savedBooking);
         }
 
         public List<BookingResponse> getAllBookings() {
-                return bookingRepository.findAll().stream()
-                                .map(this::mapToResponse)
-                                .collect(Collectors.toList());
+                return mapToResponses(bookingRepository.findAllForListing());
+        }
+
+        /**
+         * One keyset page of bookings ordered by id. Pass the last booking id of the
+         * previous page as {@code afterId} (null for the first page).
+         */
+        public BookingPage getBookingsPage(Long afterId, Integer limit) {
+                int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+                // Read one extra row to know whether another page exists
+                List<BookingHeaderTable> rows = bookingRepository.findPageForListing(
+                                afterId == null ? 0L : afterId, PageRequest.of(0, size + 1));
+                boolean hasMore = rows.size() > size;
+                if (hasMore) {
+                        rows = rows.subList(0, size);
+                }
+                List<BookingResponse> items = mapToResponses(rows);
+                Long nextCursor = hasMore ? rows.get(rows.size() - 1).getBookingId() : null;
+                return new BookingPage(items, nextCursor);
+        }
+
+        /**
+         * Writes every booking as newline-delimited JSON. Rows are read in keyset pages
+         * of STREAM_CHUNK, with the persistence context cleared after each page, so
+         * memory use does not depend on the size of the table and the connection needs
+         * no server-side cursor. The read-only transaction keeps the pages on one
+         * snapshot.
+         */
+        @Transactional(readOnly = true)
+        public void streamAllBookings(OutputStream out) throws IOException {
+                long afterId = 0;
+                List<BookingHeaderTable> chunk;
+                do {
+                        chunk = bookingRepository.findPageForListing(afterId, PageRequest.of(0, STREAM_CHUNK));
+                        for (BookingResponse response : mapToResponses(chunk)) {
+                                out.write(objectMapper.writeValueAsBytes(response));
+                                out.write('\n');
+                        }
+                        out.flush();
+                        if (!chunk.isEmpty()) {
+                                afterId = chunk.get(chunk.size() - 1).getBookingId();
+                        }
+                        entityManager.clear();
+                } while (chunk.size() == STREAM_CHUNK);
         }
 
         public List<BookingResponse> getBookingsByEmail(String email) {
-                return bookingRepository.findByEmailId(email).stream()
-                                .map(this::mapToResponse)
-                                .collect(Collectors.toList());
+                return mapToResponses(bookingRepository.findByEmailIdForListing(email));
         }
 
         public List<BookingResponse> getBookingsByHubId(Integer hubId) {
-                return bookingRepository.findByPickupHub_HubId(hubId).stream()
-                                .map(this::mapToResponse)
-                                .collect(Collectors.toList());
+                return mapToResponses(bookingRepository.findByPickupHubIdForListing(hubId));
+        }
+
+        // A batch item that passed validation: its unsaved header and resolved add-ons
+        private static final class BatchItem {
+                private final int index;
+                private final BookingHeaderTable booking;
+                private final List<AddOnMaster> addOns;
+
+                BatchItem(int index, BookingHeaderTable booking, List<AddOnMaster> addOns) {
+                        this.index = index;
+                        this.booking = booking;
+                        this.addOns = addOns;
+                }
+
+        }
+
+        private static AddOnLines addOnLines(List<AddOnMaster> addOns) {
+                AddOnLines lines = new AddOnLines();
+                for (AddOnMaster addOn : addOns) {
+                        lines.add(addOn.getAddonDailyRate(), addOn.getAddOnName());
+                }
+                return lines;
+        }
+
+        // Add-on rates and names of one booking, as needed by the response
+        private static final class AddOnLines {
+                private double totalDailyRate;
+                private final List<String> names = new ArrayList<>();
+
+                void add(double dailyRate, String name) {
+                        totalDailyRate += dailyRate;
+                        names.add(name);
+                }
         }
 
 }
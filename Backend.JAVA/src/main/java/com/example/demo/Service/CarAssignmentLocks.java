@@ -0,0 +1,77 @@
+package com.example.demo.Service;
+
+import com.example.demo.exception.CarAssignmentConflictException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped per-car locks for assigning and releasing cars.
+ *
+ * Desk agents racing for the same car queue on the car's stripe inside this JVM,
+ * so the availability check and the update happen as one step. The stripe is held
+ * until the surrounding transaction completes, so the next desk reads the car only
+ * after the change is committed or rolled back. Writers in other instances are kept
+ * out by the row lock the assignment reads with, and by the {@code @Version} column
+ * on {@link com.example.demo.Entity.CarMaster}.
+ */
+@Component
+public class CarAssignmentLocks {
+
+    @Value("${fleet.car-locks.stripes:256}")
+    private int stripeCount;
+
+    @Value("${fleet.car-locks.wait-ms:5000}")
+    private long waitMs;
+
+    private ReentrantLock[] stripes;
+
+    @PostConstruct
+    void init() {
+        stripes = new ReentrantLock[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Acquires the stripe for the car, giving up after the configured wait so a
+     * stuck request cannot hold up the desk indefinitely.
+     */
+    public ReentrantLock lock(int carId) {
+        ReentrantLock lock = stripes[Math.floorMod(carId, stripes.length)];
+        try {
+            if (!lock.tryLock(waitMs, TimeUnit.MILLISECONDS)) {
+                throw new CarAssignmentConflictException("Car " + carId + " is being updated by another request, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CarAssignmentConflictException("Interrupted while waiting for car " + carId, e);
+        }
+        return lock;
+    }
+
+    /**
+     * Acquires the stripe like {@link #lock(int)} and releases it when the current
+     * transaction commits or rolls back. A transaction that needs two stripes waits
+     * for the second one at most the configured time, so two desks swapping cars in
+     * opposite directions get a conflict rather than a deadlock.
+     */
+    public void lockUntilCompletion(int carId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Car " + carId + " can only be assigned inside a transaction");
+        }
+        ReentrantLock lock = lock(carId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+}
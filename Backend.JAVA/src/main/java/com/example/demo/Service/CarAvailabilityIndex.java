@@ -0,0 +1,432 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.BookingHeaderTable;
+import com.example.demo.Entity.CarMaster;
+import com.example.demo.Repository.BookingRepository;
+import com.example.demo.Repository.CarRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory view of car availability per hub.
+ *
+ * Every car keeps its non-cancelled bookings as intervals sorted by start date,
+ * so an availability search is a walk over the hub's cars with a bounded range
+ * scan per car instead of a NOT IN subquery over booking_header_table.
+ * The index is loaded lazily on the first search and kept current by
+ * {@link BookingService} through {@link #onBookingSaved(BookingHeaderTable)}
+ * and {@link #onCarSaved(CarMaster)}.
+ *
+ * For the next {@code fleet.occupancy.horizon-days} from the day it was loaded,
+ * each car also has a day bitmap, so a search inside that horizon tests a few
+ * words per car instead of walking intervals. The bitmaps live only in memory: a
+ * nightly rebuild reloads everything from booking_header_table, which moves the
+ * horizon forward.
+ */
+@Component
+public class CarAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarAvailabilityIndex.class);
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Value("${fleet.occupancy.horizon-days:400}")
+    private int horizonDays;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // hubId -> carId -> slot
+    private final Map<Integer, Map<Integer, CarSlot>> hubs = new HashMap<>();
+    private final Map<Integer, CarSlot> cars = new HashMap<>();
+    // bookingId -> interval currently indexed for it
+    private final Map<Long, Interval> bookings = new HashMap<>();
+
+    // Bitmap day 0 (epoch day), and the horizon in 64-day words, rounded up
+    private long horizonStart;
+    private int horizonWords;
+
+    // Change counter for caches of per-hub results: the last change per hub, and a
+    // floor raised on every load that applies to all hubs
+    private final AtomicLong changes = new AtomicLong();
+    private final Map<Integer, Long> hubChanges = new ConcurrentHashMap<>();
+    private volatile long changeFloor = 0;
+
+    private volatile boolean loaded = false;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Changes whenever a car or booking at the hub changes, or the index reloads.
+     */
+    public long hubVersion(int hubId) {
+        return Math.max(changeFloor, hubChanges.getOrDefault(hubId, 0L));
+    }
+
+    /**
+     * Returns the ids of cars at the hub that are flagged available, match the
+     * optional car type and have no indexed booking overlapping [start, end].
+     */
+    public List<Integer> findAvailableCarIds(int hubId, LocalDate startDate, LocalDate endDate, Long carTypeId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Map<Integer, CarSlot> hubCars = hubs.get(hubId);
+            List<Integer> result = new ArrayList<>();
+            if (hubCars == null) {
+                return result;
+            }
+            for (CarSlot slot : hubCars.values()) {
+                if (!slot.available) {
+                    continue;
+                }
+                if (carTypeId != null && (slot.carTypeId == null || !slot.carTypeId.equals(carTypeId))) {
+                    continue;
+                }
+                if (!slot.overlaps(startDate, endDate, horizonStart, horizonWords)) {
+                    result.add(slot.carId);
+                }
+            }
+            result.sort(Comparator.naturalOrder());
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * For each day of [first, first + days), the number of cars at the hub that are
+     * flagged available, match the optional car type and have no booking that day:
+     * what {@link #findAvailableCarIds} would count for a one-day search. At most 64 days.
+     */
+    public int[] countFreeCarsByDay(int hubId, Long carTypeId, LocalDate first, int days) {
+        if (days < 1 || days > 64) {
+            throw new IllegalArgumentException("Between 1 and 64 days");
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            int[] free = new int[days];
+            Map<Integer, CarSlot> hubCars = hubs.get(hubId);
+            if (hubCars == null) {
+                return free;
+            }
+            long all = days == 64 ? -1L : (1L << days) - 1;
+            for (CarSlot slot : hubCars.values()) {
+                if (!slot.available) {
+                    continue;
+                }
+                if (carTypeId != null && (slot.carTypeId == null || !slot.carTypeId.equals(carTypeId))) {
+                    continue;
+                }
+                long freeDays = ~slot.busyDays(first, days, horizonStart, horizonWords) & all;
+                while (freeDays != 0) {
+                    free[Long.numberOfTrailingZeros(freeDays)]++;
+                    freeDays &= freeDays - 1;
+                }
+            }
+            return free;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void onBookingSaved(BookingHeaderTable booking) {
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeBooking(booking.getBookingId());
+            if (booking.getCar() != null) {
+                addBooking(booking.getBookingId(), booking.getCar().getCarId(), booking.getBookingStatus(),
+                        booking.getStartDate(), booking.getEndDate());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void onCarSaved(CarMaster car) {
+        if (!loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer hubId = car.getHub() != null ? car.getHub().getHubId() : null;
+            Long carTypeId = car.getCarType() != null ? car.getCarType().getCarTypeId() : null;
+            putCar(car.getCarId(), hubId, carTypeId, car.getIsAvailable());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the in-memory state; the next search reloads it from the database.
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            hubs.clear();
+            cars.clear();
+            bookings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Regenerates the bitmaps from booking_header_table with today as day 0
+    @Scheduled(cron = "${fleet.occupancy.rebuild-cron:0 15 3 * * *}")
+    public void rebuild() {
+        invalidate();
+        ensureLoaded();
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            long start = System.nanoTime();
+            hubs.clear();
+            cars.clear();
+            bookings.clear();
+            changeFloor = changes.incrementAndGet();
+            horizonStart = LocalDate.now().toEpochDay();
+            horizonWords = (horizonDays + 63) / 64;
+
+            for (Object[] row : carRepository.findAvailabilitySnapshot()) {
+                putCar((Integer) row[0], (Integer) row[1], (Long) row[2], (CarMaster.AvailabilityStatus) row[3]);
+            }
+            for (Object[] row : bookingRepository.findCarBookingIntervals()) {
+                addBooking((Long) row[0], (Integer) row[1], (String) row[2], (LocalDate) row[3],
+                        (LocalDate) row[4]);
+            }
+            loaded = true;
+            logger.info("Car availability index loaded: {} cars, {} bookings in {} ms", cars.size(),
+                    bookings.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putCar(int carId, Integer hubId, Long carTypeId, CarMaster.AvailabilityStatus status) {
+        CarSlot slot = cars.get(carId);
+        if (slot == null) {
+            slot = new CarSlot(carId);
+            cars.put(carId, slot);
+        } else if (slot.hubId != null && !slot.hubId.equals(hubId)) {
+            Map<Integer, CarSlot> previous = hubs.get(slot.hubId);
+            if (previous != null) {
+                previous.remove(carId);
+            }
+        }
+        changed(slot.hubId);
+        changed(hubId);
+        slot.hubId = hubId;
+        slot.carTypeId = carTypeId;
+        slot.available = status == CarMaster.AvailabilityStatus.Y || status == CarMaster.AvailabilityStatus.YES;
+        if (hubId != null) {
+            hubs.computeIfAbsent(hubId, k -> new HashMap<>()).put(carId, slot);
+        }
+    }
+
+    private void addBooking(long bookingId, int carId, String status, LocalDate startDate, LocalDate endDate) {
+        // Mirrors the SQL predicate: NULL status or dates never match the booking subquery
+        if (status == null || "CANCELLED".equals(status) || startDate == null || endDate == null) {
+            return;
+        }
+        CarSlot slot = cars.computeIfAbsent(carId, CarSlot::new);
+        Interval interval = new Interval(bookingId, carId, startDate, endDate);
+        slot.add(interval);
+        changed(slot.hubId);
+        slot.mark(interval, horizonStart, horizonWords);
+        bookings.put(bookingId, interval);
+    }
+
+    private void removeBooking(long bookingId) {
+        Interval interval = bookings.remove(bookingId);
+        if (interval != null) {
+            CarSlot slot = cars.get(interval.carId);
+            if (slot != null) {
+                slot.intervals.remove(interval);
+                changed(slot.hubId);
+                // Other bookings may share the freed days, so redraw the car's bitmap
+                if (slot.days != null) {
+                    Arrays.fill(slot.days, 0);
+                    for (Interval i : slot.intervals) {
+                        slot.mark(i, horizonStart, horizonWords);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Interval {
+        final long bookingId;
+        final int carId;
+        final LocalDate start;
+        final LocalDate end;
+
+        Interval(long bookingId, int carId, LocalDate start, LocalDate end) {
+            this.bookingId = bookingId;
+            this.carId = carId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private void changed(Integer hubId) {
+        if (loaded && hubId != null) {
+            hubChanges.put(hubId, changes.incrementAndGet());
+        }
+    }
+
+    // Bits of word w that fall within days [from, to]
+    private static long mask(int w, long from, long to) {
+        long mask = -1L;
+        if (w == (int) (from >>> 6)) {
+            mask &= -1L << (from & 63);
+        }
+        if (w == (int) (to >>> 6)) {
+            mask &= -1L >>> (63 - (to & 63));
+        }
+        return mask;
+    }
+
+    private static final Comparator<Interval> BY_START = Comparator
+            .comparing((Interval i) -> i.start)
+            .thenComparingLong(i -> i.bookingId);
+
+    private static final class CarSlot {
+        final int carId;
+        Integer hubId;
+        Long carTypeId;
+        boolean available;
+        final NavigableSet<Interval> intervals = new TreeSet<>(BY_START);
+        // Longest indexed booking; bounds how far back an overlapping interval can start
+        long maxSpanDays = 0;
+        // Bit n: booked on horizon day n; null until a booking falls inside the horizon
+        long[] days;
+
+        CarSlot(int carId) {
+            this.carId = carId;
+        }
+
+        void add(Interval interval) {
+            intervals.add(interval);
+            long span = ChronoUnit.DAYS.between(interval.start, interval.end);
+            if (span > maxSpanDays) {
+                maxSpanDays = span;
+            }
+        }
+
+        // Sets the bits of the interval's days inside the horizon
+        void mark(Interval interval, long horizonStart, int words) {
+            long from = Math.max(interval.start.toEpochDay() - horizonStart, 0);
+            long to = Math.min(interval.end.toEpochDay() - horizonStart, (long) words * 64 - 1);
+            if (from > to) {
+                return;
+            }
+            if (days == null) {
+                days = new long[words];
+            }
+            for (int w = (int) (from >>> 6); w <= (int) (to >>> 6); w++) {
+                days[w] |= mask(w, from, to);
+            }
+        }
+
+        // Bit n set: booked on first + n, for n < count (at most 64)
+        long busyDays(LocalDate first, int count, long horizonStart, int words) {
+            long from = first.toEpochDay() - horizonStart;
+            long to = from + count - 1;
+            if (from >= 0 && to < (long) words * 64) {
+                if (days == null) {
+                    return 0;
+                }
+                int w = (int) (from >>> 6);
+                int shift = (int) (from & 63);
+                long bits = days[w] >>> shift;
+                if (shift != 0 && w + 1 < days.length) {
+                    bits |= days[w + 1] << (64 - shift);
+                }
+                return count == 64 ? bits : bits & ((1L << count) - 1);
+            }
+            long busy = 0;
+            LocalDate last = first.plusDays(count - 1);
+            LocalDate earliestStart = first.minusDays(maxSpanDays);
+            Interval upper = new Interval(Long.MAX_VALUE, carId, last, last);
+            for (Interval i : intervals.headSet(upper, true).descendingSet()) {
+                if (i.start.isBefore(earliestStart)) {
+                    break;
+                }
+                if (i.end.isBefore(first)) {
+                    continue;
+                }
+                long a = Math.max(i.start.toEpochDay(), first.toEpochDay()) - first.toEpochDay();
+                long b = Math.min(i.end.toEpochDay(), last.toEpochDay()) - first.toEpochDay();
+                busy |= mask(0, a, b);
+            }
+            return busy;
+        }
+
+        boolean overlaps(LocalDate startDate, LocalDate endDate, long horizonStart, int words) {
+            if (intervals.isEmpty()) {
+                return false;
+            }
+            long from = startDate.toEpochDay() - horizonStart;
+            long to = endDate.toEpochDay() - horizonStart;
+            if (from >= 0 && from <= to && to < (long) words * 64) {
+                if (days == null) {
+                    return false;
+                }
+                for (int w = (int) (from >>> 6); w <= (int) (to >>> 6); w++) {
+                    if ((days[w] & mask(w, from, to)) != 0) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            // Outside the horizon: walk the intervals
+            LocalDate earliestStart = startDate.minusDays(maxSpanDays);
+            Interval upper = new Interval(Long.MAX_VALUE, carId, endDate, endDate);
+            for (Interval i : intervals.headSet(upper, true).descendingSet()) {
+                if (i.start.isBefore(earliestStart)) {
+                    break;
+                }
+                if (!i.end.isBefore(startDate)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -3,11 +3,15 @@ package com.example.demo.Service;
 import com.example.demo.Repository.CarRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -19,6 +23,18 @@ public class CarService {
     @Autowired
     private CarRepository carRepository;
 
+    @Autowired
+    private CarAvailabilityIndex availabilityIndex;
+
+    @Value("${fleet.availability.index-enabled:true}")
+    private boolean indexEnabled;
+
+    // Every Nth indexed search is cross-checked against the SQL path (0 disables)
+    @Value("${fleet.availability.verify-every:200}")
+    private long verifyEvery;
+
+    private final AtomicLong searchCount = new AtomicLong();
+
     public List<Object[]> getCarsByHubAddress(String hub_address_and_details) {
         List<Object[]> carList = null;
         try {
@@ -45,6 +61,65 @@ public class CarService {
 
     public List<com.example.demo.Entity.CarMaster> getAvailableCars(int hubId, java.time.LocalDate startDate,
             java.time.LocalDate endDate, Long carTypeId) {
-        return carRepository.findAvailableCars(hubId, startDate, endDate, carTypeId);
+        if (!indexEnabled) {
+            return carRepository.findAvailableCars(hubId, startDate, endDate, carTypeId);
+        }
+
+        List<Integer> carIds;
+        try {
+            carIds = availabilityIndex.findAvailableCarIds(hubId, startDate, endDate, carTypeId);
+        } catch (Exception e) {
+            logger.error("Availability index lookup failed, falling back to SQL: {}", e.getMessage());
+            availabilityIndex.invalidate();
+            return carRepository.findAvailableCars(hubId, startDate, endDate, carTypeId);
+        }
+
+        if (verifyEvery > 0 && searchCount.incrementAndGet() % verifyEvery == 0) {
+            List<com.example.demo.Entity.CarMaster> fromSql = carRepository.findAvailableCars(hubId, startDate,
+                    endDate, carTypeId);
+            List<Integer> sqlIds = fromSql.stream()
+                    .map(com.example.demo.Entity.CarMaster::getCarId)
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (!sqlIds.equals(carIds)) {
+                logger.warn("Availability index drift for hub {} [{} - {}]: index={} sql={}; rebuilding", hubId,
+                        startDate, endDate, carIds, sqlIds);
+                availabilityIndex.invalidate();
+                return fromSql;
+            }
+        }
+
+        if (carIds.isEmpty()) {
+            return new java.util.ArrayList<>();
+        }
+        List<com.example.demo.Entity.CarMaster> cars = carRepository.findAllById(carIds);
+        cars.sort(Comparator.comparingInt(com.example.demo.Entity.CarMaster::getCarId));
+        return cars;
+    }
+
+    // Capacity checks only need the count, so the cars themselves are not loaded
+    public int countAvailableCars(int hubId, java.time.LocalDate startDate, java.time.LocalDate endDate,
+            Long carTypeId) {
+        if (indexEnabled) {
+            try {
+                return availabilityIndex.findAvailableCarIds(hubId, startDate, endDate, carTypeId).size();
+            } catch (Exception e) {
+                logger.error("Availability index lookup failed, falling back to SQL: {}", e.getMessage());
+                availabilityIndex.invalidate();
+            }
+        }
+        return carRepository.findAvailableCars(hubId, startDate, endDate, carTypeId).size();
+    }
+
+    public void onBookingSaved(com.example.demo.Entity.BookingHeaderTable booking) {
+        availabilityIndex.onBookingSaved(booking);
+    }
+
+    public void onCarSaved(com.example.demo.Entity.CarMaster car) {
+        availabilityIndex.onCarSaved(car);
+    }
+
+    public void invalidateAvailability() {
+        availabilityIndex.invalidate();
     }
 }
@@ -16,7 +16,7 @@ public class CheckCustomerExistsService {
     public String createBooking(BookingDTO bookingDTO) {
 
         Optional<CustomerMaster> checkCustomerExistsService = checkCustomerExists
-                .findByEmailIgnoreCase(bookingDTO.getEmail().trim());
+                .findByEmailNormalized(CustomerMaster.normalizeEmail(bookingDTO.getEmail()));
 
         if (checkCustomerExistsService.isPresent()) {
             CustomerMaster customerMaster = checkCustomerExistsService.get();
@@ -28,7 +28,6 @@ public class CheckCustomerExistsService {
     }
 
     public boolean CustomerExistsAsync(String email) {
-        Optional<CustomerMaster> check = checkCustomerExists.findByEmailIgnoreCase(email.trim());
-        return check.isPresent();
+        return checkCustomerExists.existsByEmailNormalized(CustomerMaster.normalizeEmail(email));
     }
 }
@@ -0,0 +1,191 @@
+package com.example.demo.Service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Booking confirmation numbers that cannot collide.
+ *
+ * Ids come from the {@code confirmation_sequence} row in blocks of
+ * {@code fleet.confirmation.block-size}: one UPDATE per block, and then handed
+ * out from memory with an atomic increment. Ids left in a block at shutdown are
+ * skipped, never reused. The UPDATE runs on a connection of its own, opened
+ * outside the pool: the caller is usually inside a booking transaction that
+ * already holds a pooled connection, and waiting for a second one could exhaust
+ * the pool (or the fleet.jdbc.permits).
+ *
+ * An id is shuffled within 30 bits (a bijection, so still unique) so consecutive
+ * bookings don't get consecutive codes, written as six Crockford base32
+ * characters and followed by a Luhn mod 32 check character, so a code is BOK-
+ * and seven characters and typos are caught before any lookup. Old random codes
+ * are eight hex characters;
+ * ids past 2^30 are written with at least eight characters plus the check, so
+ * the lengths of the three forms never meet.
+ */
+@Service
+public class ConfirmationNumberService {
+
+    public static final String PREFIX = "BOK-";
+
+    private static final String SEQUENCE = "booking";
+    private static final String ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+    private static final int BASE = 32;
+    private static final long SHUFFLED_IDS = 1L << 30;
+    // Odd, so multiplying modulo 2^30 is a bijection
+    private static final long SHUFFLE = 387_420_489L;
+    private static final int SHORT_LENGTH = 6;
+    private static final int LONG_LENGTH = 8;
+    private static final int LEGACY_LENGTH = 8;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Value("${fleet.confirmation.block-size:100}")
+    private int blockSize;
+
+    private final AtomicReference<Block> block = new AtomicReference<>(new Block(0, 0));
+    private final ReentrantLock leaseLock = new ReentrantLock();
+    private JdbcTemplate leaseJdbc;
+    private TransactionTemplate leaseTx;
+
+    @PostConstruct
+    void init() {
+        // Unpooled: each lease connects and disconnects, one at a time under leaseLock
+        DataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build();
+        leaseJdbc = new JdbcTemplate(dataSource);
+        leaseTx = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    public String next() {
+        while (true) {
+            Block b = block.get();
+            long id = b.next.getAndIncrement();
+            if (id < b.end) {
+                return format(id);
+            }
+            leaseLock.lock();
+            try {
+                // Another thread may have leased while this one waited
+                if (block.get() == b) {
+                    block.set(lease());
+                }
+            } finally {
+                leaseLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * The confirmation number as stored: upper case, with the prefix, and with
+     * O, I and L read as 0, 1 and 1. Throws IllegalArgumentException when it is
+     * neither an old random code nor a code whose check character matches.
+     */
+    public static String normalize(String confirmationNumber) {
+        String code = confirmationNumber == null ? "" : confirmationNumber.trim().toUpperCase(Locale.ROOT);
+        if (code.startsWith(PREFIX)) {
+            code = code.substring(PREFIX.length());
+        }
+        if (code.length() == LEGACY_LENGTH && code.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+            return PREFIX + code;
+        }
+        code = code.replace('O', '0').replace('I', '1').replace('L', '1');
+        if ((code.length() != SHORT_LENGTH + 1 && code.length() < LONG_LENGTH + 1) || !checks(code)) {
+            throw new IllegalArgumentException("Invalid confirmation number");
+        }
+        return PREFIX + code;
+    }
+
+    static String format(long id) {
+        String body = id < SHUFFLED_IDS
+                ? encode((id * SHUFFLE) & (SHUFFLED_IDS - 1), SHORT_LENGTH)
+                : encode(id, LONG_LENGTH);
+        return PREFIX + body + ALPHABET.charAt(checkValue(body));
+    }
+
+    private Block lease() {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                long end = leaseTx.execute(status -> {
+                    // Row-locks the sequence until commit, so leases from other instances serialize
+                    if (leaseJdbc.update("UPDATE confirmation_sequence SET next_value = next_value + ? WHERE name = ?",
+                            blockSize, SEQUENCE) > 0) {
+                        return leaseJdbc.queryForObject("SELECT next_value FROM confirmation_sequence WHERE name = ?",
+                                Long.class, SEQUENCE);
+                    }
+                    // First lease ever: ids start at 1
+                    leaseJdbc.update("INSERT INTO confirmation_sequence (name, next_value) VALUES (?, ?)",
+                            SEQUENCE, 1L + blockSize);
+                    return 1L + blockSize;
+                });
+                return new Block(end - blockSize, end);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the row first
+                if (attempt >= 2) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static String encode(long value, int minLength) {
+        StringBuilder out = new StringBuilder();
+        do {
+            out.append(ALPHABET.charAt((int) (value % BASE)));
+            value /= BASE;
+        } while (value > 0);
+        while (out.length() < minLength) {
+            out.append('0');
+        }
+        return out.reverse().toString();
+    }
+
+    // Luhn mod N over the code alphabet
+    private static int checkValue(String body) {
+        return (BASE - luhnSum(body, 2) % BASE) % BASE;
+    }
+
+    private static boolean checks(String code) {
+        for (int i = 0; i < code.length(); i++) {
+            if (ALPHABET.indexOf(code.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return luhnSum(code, 1) % BASE == 0;
+    }
+
+    private static int luhnSum(String code, int factor) {
+        int sum = 0;
+        for (int i = code.length() - 1; i >= 0; i--) {
+            int addend = factor * ALPHABET.indexOf(code.charAt(i));
+            sum += addend / BASE + addend % BASE;
+            factor = factor == 2 ? 1 : 2;
+        }
+        return sum;
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
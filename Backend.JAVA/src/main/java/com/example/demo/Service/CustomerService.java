@@ -11,6 +11,8 @@ public interface CustomerService {
 
     CustomerMaster findByEmail(String email);
 
+    Integer findCustomerIdByEmail(String email);
+
     CustomerMaster findByMembershipId(String membershipId);
 
     CustomerMaster findById(Integer id);
@@ -1,17 +1,86 @@
 package com.example.demo.Service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.demo.Entity.CustomerMaster;
 import com.example.demo.Repository.CustomerRepository;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Service
 public class CustomerServiceIml implements CustomerService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CustomerServiceIml.class);
+
+    private static final int BACKFILL_BATCH = 500;
+
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Near-cache of normalized email -> custId. Saves through this service keep it
+    // current; the TTL covers rows changed anywhere else.
+    @Value("${fleet.customer.email-cache.ttl-ms:300000}")
+    private long emailCacheTtlMs;
+
+    @Value("${fleet.customer.email-cache.max-entries:10000}")
+    private int emailCacheMaxEntries;
+
+    private final Map<String, CachedId> custIdByEmail = new ConcurrentHashMap<>();
+
+    // Fills email_normalized for rows that lack it, a batch per transaction. A batch
+    // that hits the unique index is redone row by row, so only the rows whose email
+    // matches another customer's but for case or spaces are skipped (and logged); they
+    // stay unreachable by email until merged.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillNormalizedEmails() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        int updated = 0;
+        int skipped = 0;
+        int afterId = 0;
+        while (true) {
+            List<Object[]> rows = customerRepository.findWithoutEmailNormalized(afterId, BACKFILL_BATCH);
+            if (rows.isEmpty()) {
+                break;
+            }
+            try {
+                updated += tx.execute(status -> rows.stream().mapToInt(this::normalizeEmail).sum());
+            } catch (DataIntegrityViolationException e) {
+                for (Object[] row : rows) {
+                    try {
+                        updated += normalizeEmail(row);
+                    } catch (DataIntegrityViolationException conflict) {
+                        skipped++;
+                        logger.warn("Customer {} has the email of another customer but for case or spaces; "
+                                + "left without a normalized email", row[0]);
+                    }
+                }
+            }
+            afterId = ((Number) rows.get(rows.size() - 1)[0]).intValue();
+        }
+        if (updated > 0 || skipped > 0) {
+            logger.info("Normalized email for {} customers, skipped {}", updated, skipped);
+        }
+    }
+
+    private int normalizeEmail(Object[] row) {
+        return customerRepository.setEmailNormalized(((Number) row[0]).intValue(),
+                CustomerMaster.normalizeEmail((String) row[1]));
+    }
+
     @Override
     public java.util.List<CustomerMaster> getAllCustomers() {
         return customerRepository.findAll();
@@ -20,6 +89,7 @@ public class CustomerServiceIml implements CustomerService {
     @Override
     public CustomerMaster AddCustomer(CustomerMaster customer) {
         CustomerMaster customerMaster = customerRepository.save(customer);
+        remember(customerMaster);
         return customerMaster;
     }
 
@@ -27,7 +97,33 @@ public class CustomerServiceIml implements CustomerService {
     public CustomerMaster findByEmail(String email) {
         if (email == null)
             return null;
-        return customerRepository.findByEmailIgnoreCase(email.trim());
+        String key = CustomerMaster.normalizeEmail(email);
+        Integer custId = cachedCustId(key);
+        if (custId != null) {
+            CustomerMaster customer = customerRepository.findById(custId).orElse(null);
+            if (customer != null && key.equals(customer.getEmailNormalized())) {
+                return customer;
+            }
+            custIdByEmail.remove(key);
+        }
+        CustomerMaster customer = customerRepository.findByEmailNormalized(key);
+        remember(customer);
+        return customer;
+    }
+
+    @Override
+    public Integer findCustomerIdByEmail(String email) {
+        if (email == null)
+            return null;
+        String key = CustomerMaster.normalizeEmail(email);
+        Integer custId = cachedCustId(key);
+        if (custId == null) {
+            custId = customerRepository.findCustIdByEmailNormalized(key);
+            if (custId != null) {
+                cache(key, custId);
+            }
+        }
+        return custId;
     }
 
     @Override
@@ -42,15 +138,57 @@ public class CustomerServiceIml implements CustomerService {
 
     @Override
     public CustomerMaster saveOrUpdateCustomer(CustomerMaster customer) {
-        CustomerMaster existing = customerRepository.findByEmailIgnoreCase(customer.getEmail().trim());
+        CustomerMaster existing = customer.getEmail() == null ? null
+                : customerRepository.findByEmailNormalized(CustomerMaster.normalizeEmail(customer.getEmail()));
+        CustomerMaster saved;
         if (existing != null) {
             // Update existing customer details
             customer.setCustId(existing.getCustId()); // Preserve ID
             // Allow fields to be updated
-            return customerRepository.save(customer);
+            saved = customerRepository.save(customer);
         } else {
             // Create new
-            return customerRepository.save(customer);
+            saved = customerRepository.save(customer);
+        }
+        // The email may have changed, so drop whatever pointed at this customer
+        int custId = saved.getCustId();
+        custIdByEmail.values().removeIf(c -> c.custId == custId);
+        remember(saved);
+        return saved;
+    }
+
+    private Integer cachedCustId(String key) {
+        CachedId cached = custIdByEmail.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAt <= System.currentTimeMillis()) {
+            custIdByEmail.remove(key, cached);
+            return null;
+        }
+        return cached.custId;
+    }
+
+    private void remember(CustomerMaster customer) {
+        if (customer != null && customer.getEmail() != null) {
+            cache(CustomerMaster.normalizeEmail(customer.getEmail()), customer.getCustId());
+        }
+    }
+
+    private void cache(String key, int custId) {
+        if (custIdByEmail.size() >= emailCacheMaxEntries) {
+            custIdByEmail.clear();
+        }
+        custIdByEmail.put(key, new CachedId(custId, System.currentTimeMillis() + emailCacheTtlMs));
+    }
+
+    private static final class CachedId {
+        private final int custId;
+        private final long expiresAt;
+
+        CachedId(int custId, long expiresAt) {
+            this.custId = custId;
+            this.expiresAt = expiresAt;
         }
     }
 
@@ -1,24 +1,50 @@
 package com.example.demo.Service;
 
-import com.example.demo.Entity.CarMaster;
 import com.example.demo.Entity.CarMaster.AvailabilityStatus;
 import com.example.demo.Entity.CarTypeMaster;
-import com.example.demo.Entity.HubMaster;
 import com.example.demo.Repository.CarRepository;
 import com.example.demo.Repository.CarTypeMasterRepository;
 import com.example.demo.Repository.HubRepository;
+import com.example.demo.dto.CarImportReport;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ExcelUploadService {
@@ -32,86 +58,265 @@ public class ExcelUploadService {
     @Autowired
     private HubRepository hubRepository;
 
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private FleetSnapshotService fleetSnapshotService;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${fleet.import.batch-size:1000}")
+    private int batchSize;
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_CAR = "INSERT INTO car_master "
+            + "(car_name, number_plate, cartype_id, hub_id, mileage, status, is_available, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
     // --- CAR INVENTORY UPLOAD ---
-    public void save(MultipartFile file) {
+    public CarImportReport save(MultipartFile file) {
+        Path tmp = null;
         try {
-            List<CarMaster> cars = parseExcelFile(file.getInputStream());
-            carRepository.saveAll(cars);
+            // OPCPackage reads a file lazily but buffers a whole stream, so spool to disk first
+            tmp = Files.createTempFile("car-import-", ".xlsx");
+            try (InputStream is = file.getInputStream()) {
+                Files.copy(is, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            CarImportReport report = importCars(tmp);
+            report.setMessage("Imported " + report.getImported() + " cars from " + file.getOriginalFilename()
+                    + (report.getFailed() > 0 ? ", " + report.getFailed() + " rows rejected" : ""));
+            return report;
         } catch (IOException e) {
             throw new RuntimeException("fail to store excel data: " + e.getMessage());
+        } finally {
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException ignored) {
+                    // temp dir cleanup will get it
+                }
+            }
         }
     }
 
-    public List<CarMaster> parseExcelFile(InputStream is) {
-        try {
-            Workbook workbook = new XSSFWorkbook(is);
-            Sheet sheet = workbook.getSheet("Cars");
-            if (sheet == null)
-                sheet = workbook.getSheetAt(0);
-
-            Iterator<Row> rows = sheet.iterator();
-            List<CarMaster> cars = new ArrayList<>();
-            int rowNumber = 0;
+    /**
+     * Streams the "Cars" sheet (or the first sheet) row by row and inserts valid rows
+     * in JDBC batches. Car type and hub ids are checked against sets loaded once per
+     * upload, number plates against car_master one batch at a time; rejected rows are
+     * listed in the report, in sheet order, instead of failing the upload.
+     *
+     * Memory grows with the file, not with car_master: rows are streamed, but POI
+     * keeps the workbook's whole shared strings table in memory, and the plates seen
+     * so far are kept to catch duplicates within the file.
+     */
+    public CarImportReport importCars(Path xlsx) {
+        CarRowHandler handler = new CarRowHandler(
+                new HashSet<>(carTypeRepository.findAllIds()),
+                new HashSet<>(hubRepository.findAllIds()),
+                new TransactionTemplate(transactionManager));
+
+        try (OPCPackage pkg = OPCPackage.open(xlsx.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            try (InputStream sheet = openSheet(reader, "Cars")) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(reader.getStylesTable(), null, strings, handler,
+                        new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+            handler.flush();
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new RuntimeException("fail to parse Excel file: " + e.getMessage());
+        } finally {
+            if (handler.report.getImported() > 0) {
+                carService.invalidateAvailability();
+                fleetSnapshotService.invalidate();
+            }
+        }
+        // Plates taken in car_master are only found when their batch is flushed
+        handler.report.getErrors().sort(Comparator.comparingInt(CarImportReport.RowError::getRow));
+        return handler.report;
+    }
 
-            while (rows.hasNext()) {
-                Row currentRow = rows.next();
-                if (rowNumber == 0) {
-                    rowNumber++;
-                    continue;
-                } // Skip header
+    private InputStream openSheet(XSSFReader reader, String preferredName) throws IOException, InvalidFormatException {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        InputStream first = null;
+        while (sheets.hasNext()) {
+            InputStream sheet = sheets.next();
+            if (preferredName.equals(sheets.getSheetName())) {
+                if (first != null) {
+                    first.close();
+                }
+                return sheet;
+            }
+            if (first == null) {
+                first = sheet;
+            } else {
+                sheet.close();
+            }
+        }
+        if (first == null) {
+            throw new IOException("workbook has no sheets");
+        }
+        return first;
+    }
 
-                try {
-                    CarMaster car = new CarMaster();
-                    // Cell 0: Car Name
-                    Cell nameCell = currentRow.getCell(0);
-                    if (nameCell != null)
-                        car.setCarName(getCellValueAsString(nameCell));
-
-                    // Cell 1: Number Plate
-                    Cell plateCell = currentRow.getCell(1);
-                    if (plateCell != null)
-                        car.setNumberPlate(getCellValueAsString(plateCell));
-
-                    // Cell 2: Car Type ID
-                    Cell typeCell = currentRow.getCell(2);
-                    if (typeCell != null) {
-                        long typeId = (long) typeCell.getNumericCellValue();
-                        Optional<CarTypeMaster> typeOpt = carTypeRepository.findById(typeId);
-                        typeOpt.ifPresent(car::setCarType);
-                    }
+    // Columns: 0 name, 1 number plate, 2 car type id, 3 hub id, 4 mileage, 5 status
+    private class CarRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Set<Long> carTypeIds;
+        private final Set<Integer> hubIds;
+        // Plates of this upload so far
+        private final Set<String> plates = new HashSet<>();
+        private final TransactionTemplate tx;
+
+        private final CarImportReport report = new CarImportReport();
+        private final List<Object[]> batch = new ArrayList<>();
+        private final List<Integer> batchRows = new ArrayList<>();
+        private final String[] values = new String[6];
+        private boolean headerSkipped = false;
+        private int nextColumn;
+
+        CarRowHandler(Set<Long> carTypeIds, Set<Integer> hubIds, TransactionTemplate tx) {
+            this.carTypeIds = carTypeIds;
+            this.hubIds = hubIds;
+            this.tx = tx;
+        }
 
-                    // Cell 3: Hub ID
-                    Cell hubCell = currentRow.getCell(3);
-                    if (hubCell != null) {
-                        int hubId = (int) hubCell.getNumericCellValue();
-                        Optional<HubMaster> hubOpt = hubRepository.findById(hubId);
-                        hubOpt.ifPresent(car::setHub);
-                    }
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(values, null);
+            nextColumn = 0;
+        }
 
-                    // Cell 4: Mileage
-                    Cell mileageCell = currentRow.getCell(4);
-                    if (mileageCell != null)
-                        car.setMileage(mileageCell.getNumericCellValue());
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int col = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = col + 1;
+            if (col < values.length) {
+                values[col] = formattedValue != null ? formattedValue.trim() : null;
+            }
+        }
 
-                    // Cell 5: Status
-                    Cell statusCell = currentRow.getCell(5);
-                    if (statusCell != null)
-                        car.setStatus(getCellValueAsString(statusCell));
+        @Override
+        public void endRow(int rowNum) {
+            if (!headerSkipped) {
+                headerSkipped = true; // Skip header
+                return;
+            }
+            int excelRow = rowNum + 1;
+            if (Arrays.stream(values).allMatch(v -> v == null || v.isEmpty())) {
+                return;
+            }
+            try {
+                String name = values[0];
+                String plate = values[1];
+                if (name == null || name.isEmpty() || plate == null || plate.isEmpty()) {
+                    throw new IllegalArgumentException("Car name and number plate are required");
+                }
+                Long typeId = parseId(values[2], "car type id");
+                if (typeId != null && !carTypeIds.contains(typeId)) {
+                    throw new IllegalArgumentException("Unknown car type id " + typeId);
+                }
+                Long hubId = parseId(values[3], "hub id");
+                if (hubId != null && (hubId != hubId.intValue() || !hubIds.contains(hubId.intValue()))) {
+                    throw new IllegalArgumentException("Unknown hub id " + hubId);
+                }
+                double mileage = values[4] == null || values[4].isEmpty() ? 0 : parseNumber(values[4], "mileage");
+                if (!plates.add(plate)) {
+                    throw new IllegalArgumentException("Number plate " + plate + " already exists");
+                }
 
-                    car.setIsAvailable(AvailabilityStatus.Y);
+                batch.add(new Object[] { name, plate, typeId, hubId == null ? null : hubId.intValue(), mileage,
+                        values[5], AvailabilityStatus.Y.name() });
+                batchRows.add(excelRow);
+                if (batch.size() >= batchSize) {
+                    flush();
+                }
+            } catch (IllegalArgumentException e) {
+                reject(excelRow, e.getMessage());
+            }
+        }
 
-                    if (car.getCarName() != null && car.getNumberPlate() != null) {
-                        cars.add(car);
+        void flush() {
+            rejectTakenPlates();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                tx.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_CAR, batch));
+                report.setImported(report.getImported() + batch.size());
+            } catch (DataAccessException e) {
+                // Find the offending rows by inserting this batch one at a time
+                for (int i = 0; i < batch.size(); i++) {
+                    try {
+                        jdbcTemplate.update(INSERT_CAR, batch.get(i));
+                        report.setImported(report.getImported() + 1);
+                    } catch (DataAccessException rowError) {
+                        reject(batchRows.get(i), rowError.getMostSpecificCause().getMessage());
                     }
-                } catch (Exception e) {
-                    System.err.println("Error parsing car row " + rowNumber + ": " + e.getMessage());
                 }
-                rowNumber++;
             }
-            workbook.close();
-            return cars;
-        } catch (IOException e) {
-            throw new RuntimeException("fail to parse Excel file: " + e.getMessage());
+            batch.clear();
+            batchRows.clear();
+        }
+
+        private void rejectTakenPlates() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<String> batchPlates = new ArrayList<>(batch.size());
+            for (Object[] row : batch) {
+                batchPlates.add((String) row[1]);
+            }
+            Set<String> taken = new HashSet<>(carRepository.findNumberPlatesIn(batchPlates));
+            if (taken.isEmpty()) {
+                return;
+            }
+            for (int i = batch.size() - 1; i >= 0; i--) {
+                String plate = (String) batch.get(i)[1];
+                if (taken.contains(plate)) {
+                    reject(batchRows.get(i), "Number plate " + plate + " already exists");
+                    batch.remove(i);
+                    batchRows.remove(i);
+                }
+            }
+        }
+
+        private void reject(int row, String error) {
+            report.setFailed(report.getFailed() + 1);
+            if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+                report.getErrors().add(new CarImportReport.RowError(row, error));
+            }
+        }
+
+        // Whole numbers only: a cast would turn 2.7 into id 2
+        private Long parseId(String value, String column) {
+            if (value == null || value.isEmpty()) {
+                return null;
+            }
+            try {
+                return new BigDecimal(value.replace(",", "")).longValueExact();
+            } catch (NumberFormatException | ArithmeticException e) {
+                throw new IllegalArgumentException("Invalid " + column + " '" + value + "'");
+            }
+        }
+
+        private double parseNumber(String value, String column) {
+            try {
+                return Double.parseDouble(value.replace(",", ""));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + column + " '" + value + "'");
+            }
         }
     }
 
@@ -120,6 +325,7 @@ public class ExcelUploadService {
         try {
             List<CarTypeMaster> types = parseCarTypeExcel(file.getInputStream());
             carTypeRepository.saveAll(types);
+            referenceDataCache.bump(ReferenceDataCache.CAR_TYPES);
         } catch (IOException e) {
             throw new RuntimeException("fail to store rates excel data: " + e.getMessage());
         }
@@ -0,0 +1,470 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.BookingHeaderTable;
+import com.example.demo.Entity.CarMaster;
+import com.example.demo.Entity.HubMaster;
+import com.example.demo.Repository.BookingRepository;
+import com.example.demo.Repository.CarRepository;
+import com.example.demo.dto.FleetOverviewResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Fleet overview for the admin dashboard.
+ *
+ * The current-status view is served from an in-memory snapshot: per-car status
+ * plus per-hub counters, updated by {@link BookingService} on every booking or car
+ * save. A scheduled rebuild reloads the snapshot from the database, replays the
+ * updates that arrived while it was reading, and logs any drift it finds before
+ * replacing the snapshot. The date-range view still reads bookings for the range but
+ * joins them to cars through a map instead of scanning the list per car.
+ */
+@Service
+public class FleetSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FleetSnapshotService.class);
+
+    private static final String AVAILABLE = "Available";
+    private static final String RENTED = "Rented";
+    private static final String MAINTENANCE = "Maintenance";
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Snapshot snapshot;
+
+    // Incremental updates made while a rebuild reads the database, replayed onto its
+    // result; null when no rebuild is running
+    private List<Consumer<Snapshot>> duringRebuild;
+
+    public FleetOverviewResponse getCurrentOverview() {
+        LocalDate today = LocalDate.now();
+        lock.readLock().lock();
+        try {
+            if (snapshot != null && snapshot.asOf.equals(today)) {
+                return snapshot.toResponse();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            // Checked again under the write lock: invalidate() may have dropped it meanwhile
+            if (snapshot == null) {
+                snapshot = load();
+            } else if (!snapshot.asOf.equals(today)) {
+                // Rentals start and end by date, so a new day changes statuses without any event
+                snapshot.recount(today);
+            }
+            return snapshot.toResponse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public FleetOverviewResponse getOverviewForRange(LocalDate start, LocalDate end) {
+        List<CarMaster> cars = carRepository.findAll();
+
+        // Hash join: first booking per car (in query order), then O(1) lookup per car
+        Map<Integer, BookingHeaderTable> bookingByCar = new HashMap<>();
+        for (BookingHeaderTable booking : bookingRepository.findBookingsByDateRange(start, end)) {
+            if (booking.getCar() != null) {
+                bookingByCar.putIfAbsent(booking.getCar().getCarId(), booking);
+            }
+        }
+
+        Snapshot rangeView = new Snapshot(LocalDate.now(), true);
+        for (CarMaster car : cars) {
+            CarEntry entry = CarEntry.of(car);
+            BookingHeaderTable booking = bookingByCar.get(car.getCarId());
+            if (booking != null) {
+                entry.rentals.put(booking.getBookingId(), Rental.of(booking));
+            }
+            rangeView.put(entry);
+        }
+        return rangeView.toResponse();
+    }
+
+    public void onBookingSaved(BookingHeaderTable booking) {
+        apply(s -> {
+            s.removeRental(booking.getBookingId());
+            if (booking.getCar() != null && "ACTIVE".equalsIgnoreCase(booking.getBookingStatus())) {
+                s.addRental(booking.getCar().getCarId(), Rental.of(booking));
+            }
+        });
+    }
+
+    public void onCarSaved(CarMaster car) {
+        apply(s -> {
+            CarEntry previous = s.cars.get(car.getCarId());
+            CarEntry entry = CarEntry.of(car);
+            if (previous != null) {
+                entry.rentals.putAll(previous.rentals);
+            }
+            s.put(entry);
+        });
+    }
+
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            snapshot = null;
+            // A running rebuild may predate whatever made this necessary
+            duringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the snapshot from the database and compares it with the one kept in
+     * memory. Updates that arrive while the database is read are applied to both, so
+     * they are neither lost nor reported as drift. Differences are logged and the
+     * rebuilt snapshot replaces the old one.
+     */
+    @Scheduled(initialDelayString = "${fleet.snapshot.rebuild-ms:300000}", fixedDelayString = "${fleet.snapshot.rebuild-ms:300000}")
+    public void rebuildAndVerify() {
+        List<Consumer<Snapshot>> changes = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            if (snapshot == null) {
+                return;
+            }
+            duringRebuild = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Snapshot rebuilt;
+        try {
+            rebuilt = load();
+        } catch (RuntimeException e) {
+            stopRecording(changes);
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (duringRebuild != changes || snapshot == null) {
+                logger.debug("Fleet snapshot invalidated during rebuild; skipping verification");
+                return;
+            }
+            duringRebuild = null;
+            // Changes are whole-row states, so one the rebuild already read is harmless to repeat
+            for (Consumer<Snapshot> change : changes) {
+                change.accept(rebuilt);
+            }
+            snapshot.recount(rebuilt.asOf);
+            List<String> drift = snapshot.diff(rebuilt);
+            if (!drift.isEmpty()) {
+                logger.warn("Fleet snapshot drifted from database, replacing it: {}", drift);
+            }
+            snapshot = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<Snapshot> change) {
+        lock.writeLock().lock();
+        try {
+            if (snapshot == null) {
+                return;
+            }
+            change.accept(snapshot);
+            if (duringRebuild != null) {
+                duringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void stopRecording(List<Consumer<Snapshot>> changes) {
+        lock.writeLock().lock();
+        try {
+            if (duringRebuild == changes) {
+                duringRebuild = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Snapshot load() {
+        Snapshot fresh = new Snapshot(LocalDate.now(), false);
+        Map<Integer, CarEntry> entries = new HashMap<>();
+        for (CarMaster car : carRepository.findAll()) {
+            entries.put(car.getCarId(), CarEntry.of(car));
+        }
+        for (BookingHeaderTable booking : bookingRepository.findByBookingStatus("ACTIVE")) {
+            if (booking.getCar() != null) {
+                CarEntry entry = entries.get(booking.getCar().getCarId());
+                if (entry != null) {
+                    entry.rentals.put(booking.getBookingId(), Rental.of(booking));
+                }
+            }
+        }
+        for (CarEntry entry : entries.values()) {
+            fresh.put(entry);
+        }
+        return fresh;
+    }
+
+    private static final class Rental {
+        long bookingId;
+        String customerName;
+        LocalDate startDate;
+        LocalDate endDate;
+        LocalDateTime pickupTime;
+
+        static Rental of(BookingHeaderTable booking) {
+            Rental rental = new Rental();
+            rental.bookingId = booking.getBookingId();
+            rental.customerName = booking.getFirstName() + " " + booking.getLastName();
+            rental.startDate = booking.getStartDate();
+            rental.endDate = booking.getEndDate();
+            rental.pickupTime = booking.getPickupTime();
+            return rental;
+        }
+
+        boolean covers(LocalDate day) {
+            return startDate != null && endDate != null && !day.isBefore(startDate) && !day.isAfter(endDate);
+        }
+    }
+
+    private static final class CarEntry {
+        int carId;
+        Integer hubId;
+        String hubName;
+        String cityName;
+        String model;
+        String carType;
+        String registrationNumber;
+        Double dailyRate;
+        String imagePath;
+        boolean flaggedUnavailable;
+        // Rentals by booking id; the lowest id covering the day wins, as the old scan did
+        final TreeMap<Long, Rental> rentals = new TreeMap<>();
+        String status;
+
+        static CarEntry of(CarMaster car) {
+            CarEntry entry = new CarEntry();
+            entry.carId = car.getCarId();
+            HubMaster hub = car.getHub();
+            if (hub != null) {
+                entry.hubId = hub.getHubId();
+                entry.hubName = hub.getHubName();
+                entry.cityName = hub.getCity() != null ? hub.getCity().getCityName() : "Unknown";
+            }
+            entry.model = car.getCarName();
+            entry.carType = car.getCarType() != null ? car.getCarType().getCarTypeName() : "Unknown";
+            entry.registrationNumber = car.getNumberPlate();
+            entry.dailyRate = car.getCarType() != null ? car.getCarType().getDailyRate() : null;
+            entry.imagePath = car.getImagePath();
+            entry.flaggedUnavailable = car.getIsAvailable() == CarMaster.AvailabilityStatus.N
+                    || car.getIsAvailable() == CarMaster.AvailabilityStatus.NO;
+            return entry;
+        }
+
+        Rental currentRental(LocalDate day) {
+            for (Rental rental : rentals.values()) {
+                if (rental.covers(day)) {
+                    return rental;
+                }
+            }
+            return null;
+        }
+
+        String statusOn(LocalDate day, boolean rangeView) {
+            if (rangeView) {
+                return rentals.isEmpty() ? AVAILABLE : RENTED;
+            }
+            if (currentRental(day) != null) {
+                return RENTED;
+            }
+            return flaggedUnavailable ? MAINTENANCE : AVAILABLE;
+        }
+    }
+
+    private static final class HubCounters {
+        String hubName;
+        String cityName;
+        int total;
+        int available;
+        int rented;
+        int maintenance;
+
+        void add(String status, int delta) {
+            total += delta;
+            if (RENTED.equals(status)) {
+                rented += delta;
+            } else if (MAINTENANCE.equals(status)) {
+                maintenance += delta;
+            } else {
+                available += delta;
+            }
+        }
+    }
+
+    private static final class Snapshot {
+        LocalDate asOf;
+        final TreeMap<Integer, CarEntry> cars = new TreeMap<>();
+        final TreeMap<Integer, HubCounters> hubs = new TreeMap<>();
+        final Map<Long, Integer> carByBooking = new HashMap<>();
+        final boolean rangeView;
+
+        Snapshot(LocalDate asOf, boolean rangeView) {
+            this.asOf = asOf;
+            this.rangeView = rangeView;
+        }
+
+        void put(CarEntry entry) {
+            CarEntry previous = cars.get(entry.carId);
+            if (previous != null) {
+                uncount(previous);
+            }
+            cars.put(entry.carId, entry);
+            for (Long bookingId : entry.rentals.keySet()) {
+                carByBooking.put(bookingId, entry.carId);
+            }
+            count(entry);
+        }
+
+        void addRental(int carId, Rental rental) {
+            CarEntry entry = cars.get(carId);
+            if (entry == null) {
+                return;
+            }
+            uncount(entry);
+            entry.rentals.put(rental.bookingId, rental);
+            carByBooking.put(rental.bookingId, carId);
+            count(entry);
+        }
+
+        void removeRental(long bookingId) {
+            Integer carId = carByBooking.remove(bookingId);
+            CarEntry entry = carId != null ? cars.get(carId) : null;
+            if (entry == null) {
+                return;
+            }
+            uncount(entry);
+            entry.rentals.remove(bookingId);
+            count(entry);
+        }
+
+        void recount(LocalDate day) {
+            asOf = day;
+            hubs.clear();
+            for (CarEntry entry : cars.values()) {
+                count(entry);
+            }
+        }
+
+        private void count(CarEntry entry) {
+            entry.status = entry.statusOn(asOf, rangeView);
+            if (entry.hubId == null) {
+                return;
+            }
+            HubCounters counters = hubs.computeIfAbsent(entry.hubId, k -> new HubCounters());
+            counters.hubName = entry.hubName;
+            counters.cityName = entry.cityName;
+            counters.add(entry.status, 1);
+        }
+
+        private void uncount(CarEntry entry) {
+            if (entry.hubId == null) {
+                return;
+            }
+            HubCounters counters = hubs.get(entry.hubId);
+            if (counters != null) {
+                counters.add(entry.status, -1);
+                if (counters.total == 0) {
+                    hubs.remove(entry.hubId);
+                }
+            }
+        }
+
+        List<String> diff(Snapshot other) {
+            List<String> drift = new ArrayList<>();
+            if (cars.size() != other.cars.size()) {
+                drift.add("cars " + cars.size() + " != " + other.cars.size());
+            }
+            for (CarEntry entry : cars.values()) {
+                CarEntry expected = other.cars.get(entry.carId);
+                if (expected == null || !expected.status.equals(entry.status)) {
+                    drift.add("car " + entry.carId + " " + entry.status + " != "
+                            + (expected == null ? "missing" : expected.status));
+                }
+            }
+            for (Map.Entry<Integer, HubCounters> e : other.hubs.entrySet()) {
+                HubCounters mine = hubs.get(e.getKey());
+                HubCounters theirs = e.getValue();
+                if (mine == null || mine.total != theirs.total || mine.available != theirs.available
+                        || mine.rented != theirs.rented || mine.maintenance != theirs.maintenance) {
+                    drift.add("hub " + e.getKey() + " counters");
+                }
+            }
+            return drift;
+        }
+
+        FleetOverviewResponse toResponse() {
+            Map<Integer, List<FleetOverviewResponse.CarStatusData>> carsByHub = new HashMap<>();
+            for (CarEntry entry : cars.values()) {
+                if (entry.hubId == null) {
+                    continue;
+                }
+                Rental rental = rangeView ? (entry.rentals.isEmpty() ? null : entry.rentals.firstEntry().getValue())
+                        : entry.currentRental(asOf);
+                FleetOverviewResponse.RentalInfo rentalInfo = rental == null ? null
+                        : new FleetOverviewResponse.RentalInfo(rental.bookingId, rental.customerName,
+                                rental.startDate, rental.endDate, rental.pickupTime);
+                carsByHub.computeIfAbsent(entry.hubId, k -> new ArrayList<>())
+                        .add(new FleetOverviewResponse.CarStatusData(entry.carId, entry.model, entry.carType,
+                                entry.registrationNumber, entry.status, entry.dailyRate, entry.imagePath,
+                                rentalInfo));
+            }
+
+            List<FleetOverviewResponse.HubFleetData> hubData = new ArrayList<>();
+            int totalAvailable = 0;
+            int totalRented = 0;
+            int totalMaintenance = 0;
+            for (Map.Entry<Integer, HubCounters> e : hubs.entrySet()) {
+                HubCounters c = e.getValue();
+                hubData.add(new FleetOverviewResponse.HubFleetData(e.getKey(), c.hubName, c.cityName,
+                        carsByHub.getOrDefault(e.getKey(), new ArrayList<>()), c.total, c.available, c.rented,
+                        c.maintenance));
+                totalAvailable += c.available;
+                totalRented += c.rented;
+                totalMaintenance += c.maintenance;
+            }
+
+            int totalCars = cars.size();
+            double utilizationRate = totalCars > 0 ? (double) totalRented / totalCars * 100 : 0;
+
+            FleetOverviewResponse response = new FleetOverviewResponse();
+            response.setHubs(hubData);
+            response.setStatistics(new FleetOverviewResponse.FleetStatistics(totalCars, totalAvailable, totalRented,
+                    totalMaintenance, Math.round(utilizationRate * 100.0) / 100.0));
+            return response;
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.example.demo.Service;
+
+import com.example.demo.Repository.AirportRepository;
+import com.example.demo.Repository.HubRepository;
+import com.example.demo.Repository.projection.HubInfoProjection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory typeahead index behind /api/v1/locations/search.
+ *
+ * A query matches hub name, city, state and airport code case-insensitively, like
+ * the old LIKE '%q%' query, and hubs are ranked: exact airport code, then a field
+ * starting with the query, then a word inside a field starting with it, then any
+ * other substring. Prefixes come from one sorted key array and substrings from a
+ * trigram index, so a search never scans every hub for queries of three or more
+ * characters.
+ *
+ * The index is immutable. {@link HubSearchIndexListener} calls {@link #invalidate()}
+ * when master data changes and the next search rebuilds it.
+ */
+@Component
+public class HubSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(HubSearchIndex.class);
+
+    static final int EXACT_CODE = 0;
+    static final int FIELD_PREFIX = 1;
+    static final int WORD_PREFIX = 2;
+    static final int INFIX = 3;
+
+    private static final Pattern WORD_START = Pattern.compile("(?<=[^\\p{L}\\p{N}])[\\p{L}\\p{N}]");
+
+    @Autowired
+    private HubRepository hubRepository;
+
+    @Autowired
+    private AirportRepository airportRepository;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot;
+    // Not synchronized: the build runs queries, and a virtual thread blocking inside a
+    // monitor pins its carrier thread
+    private final ReentrantLock buildLock = new ReentrantLock();
+
+    public List<HubInfoProjection> search(String query, int limit) {
+        Snapshot s = current();
+        String q = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        List<HubInfoProjection> result = new ArrayList<>();
+        if (q.isEmpty()) {
+            for (int i = 0; i < s.hubs.length && result.size() < limit; i++) {
+                result.add(s.hubs[i]);
+            }
+            return result;
+        }
+
+        // Best tier per hub position; 0 = no match, otherwise tier + 1
+        byte[] tiers = new byte[s.hubs.length];
+        int[] matched = new int[16];
+        int matchCount = 0;
+        int[] exact = s.codeHubs.get(q);
+        if (exact != null) {
+            for (int hub : exact) {
+                tiers[hub] = EXACT_CODE + 1;
+                matched = append(matched, matchCount++, hub);
+            }
+        }
+        for (int i = lowerBound(s.keys, q); i < s.keys.length && s.keys[i].startsWith(q); i++) {
+            int hub = s.keyHubs[i];
+            byte tier = (byte) (s.keyTiers[i] + 1);
+            if (tiers[hub] == 0) {
+                tiers[hub] = tier;
+                matched = append(matched, matchCount++, hub);
+            } else if (tier < tiers[hub]) {
+                tiers[hub] = tier;
+            }
+        }
+
+        // Hubs are stored in result order, so substring hits can stop once the page is full
+        int infixBudget = limit - matchCount;
+        if (infixBudget > 0) {
+            int[] candidates = q.length() >= 3 ? s.candidates(q) : null;
+            int count = candidates != null ? candidates.length : s.hubs.length;
+            for (int c = 0; c < count && infixBudget > 0; c++) {
+                int hub = candidates != null ? candidates[c] : c;
+                if (tiers[hub] == 0 && s.hubs[hub].contains(q)) {
+                    tiers[hub] = INFIX + 1;
+                    matched = append(matched, matchCount++, hub);
+                    infixBudget--;
+                }
+            }
+        }
+
+        // Sort by (tier, position) packed into one long
+        long[] ranked = new long[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            ranked[i] = (long) tiers[matched[i]] << 32 | matched[i];
+        }
+        Arrays.sort(ranked);
+        for (int i = 0; i < ranked.length && i < limit; i++) {
+            result.add(s.hubs[(int) ranked[i]]);
+        }
+        return result;
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    // Picks up edits made outside the application, e.g. SQL run against the masters
+    @Scheduled(initialDelayString = "${fleet.hub-search.refresh-ms:600000}", fixedDelayString = "${fleet.hub-search.refresh-ms:600000}")
+    public void refresh() {
+        invalidate();
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && s.version == version.get()) {
+            return s;
+        }
+        buildLock.lock();
+        try {
+            long v = version.get();
+            s = snapshot;
+            if (s == null || s.version != v) {
+                long started = System.nanoTime();
+                s = build(v);
+                snapshot = s;
+                logger.info("Hub search index built: {} hubs, {} prefix keys, {} trigrams in {} ms", s.hubs.length,
+                        s.keys.length, s.trigrams.size(), (System.nanoTime() - started) / 1_000_000);
+            }
+            return s;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private Snapshot build(long v) {
+        Map<Integer, List<String>> codesByHub = new HashMap<>();
+        for (Object[] row : airportRepository.findHubAirportCodes()) {
+            codesByHub.computeIfAbsent((Integer) row[0], k -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        List<HubInfoProjection> rows = hubRepository.findAllForSearch();
+        Hub[] hubs = new Hub[rows.size()];
+        for (int i = 0; i < hubs.length; i++) {
+            hubs[i] = new Hub(rows.get(i), codesByHub.getOrDefault(rows.get(i).getHubId(), List.of()));
+        }
+        // Position in this array is the tie-break within a tier
+        Arrays.sort(hubs, Comparator.comparing((Hub h) -> h.sortName).thenComparing(h -> h.hubId));
+
+        List<Key> keys = new ArrayList<>();
+        Map<String, List<Integer>> codeHubs = new HashMap<>();
+        Map<String, List<Integer>> trigrams = new HashMap<>();
+        for (int i = 0; i < hubs.length; i++) {
+            Hub hub = hubs[i];
+            Set<String> hubTrigrams = new HashSet<>();
+            for (String field : hub.fields) {
+                keys.add(new Key(field, i, FIELD_PREFIX));
+                Matcher words = WORD_START.matcher(field);
+                while (words.find()) {
+                    keys.add(new Key(field.substring(words.start()), i, WORD_PREFIX));
+                }
+                for (int t = 0; t + 3 <= field.length(); t++) {
+                    hubTrigrams.add(field.substring(t, t + 3));
+                }
+            }
+            for (String code : hub.codes) {
+                List<Integer> list = codeHubs.computeIfAbsent(code, k -> new ArrayList<>());
+                if (list.isEmpty() || list.get(list.size() - 1) != i) {
+                    list.add(i);
+                }
+            }
+            for (String trigram : hubTrigrams) {
+                trigrams.computeIfAbsent(trigram, k -> new ArrayList<>()).add(i);
+            }
+        }
+        keys.sort(Comparator.comparing((Key k) -> k.text));
+
+        Snapshot s = new Snapshot(v, hubs, keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            Key k = keys.get(i);
+            s.keys[i] = k.text;
+            s.keyHubs[i] = k.hub;
+            s.keyTiers[i] = (byte) k.tier;
+        }
+        codeHubs.forEach((code, list) -> s.codeHubs.put(code, toArray(list)));
+        trigrams.forEach((trigram, list) -> s.trigrams.put(trigram, toArray(list)));
+        return s;
+    }
+
+    private static int lowerBound(String[] keys, String q) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(q) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int[] append(int[] array, int size, int value) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, size * 2);
+        }
+        array[size] = value;
+        return array;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static final class Snapshot {
+        private final long version;
+        private final Hub[] hubs;
+        private final String[] keys;
+        private final int[] keyHubs;
+        private final byte[] keyTiers;
+        private final Map<String, int[]> codeHubs = new HashMap<>();
+        private final Map<String, int[]> trigrams = new HashMap<>();
+
+        Snapshot(long version, Hub[] hubs, int keyCount) {
+            this.version = version;
+            this.hubs = hubs;
+            this.keys = new String[keyCount];
+            this.keyHubs = new int[keyCount];
+            this.keyTiers = new byte[keyCount];
+        }
+
+        // Hubs holding every trigram of q, ascending; still to be checked with contains()
+        int[] candidates(String q) {
+            int[] result = null;
+            for (int t = 0; t + 3 <= q.length(); t++) {
+                int[] postings = trigrams.get(q.substring(t, t + 3));
+                if (postings == null) {
+                    return new int[0];
+                }
+                result = result == null ? postings : intersect(result, postings);
+                if (result.length == 0) {
+                    break;
+                }
+            }
+            return result;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] out = new int[Math.min(a.length, b.length)];
+            int n = 0;
+            for (int i = 0, j = 0; i < a.length && j < b.length;) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    out[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, n);
+        }
+    }
+
+    private static final class Key {
+        private final String text;
+        private final int hub;
+        private final int tier;
+
+        Key(String text, int hub, int tier) {
+            this.text = text;
+            this.hub = hub;
+            this.tier = tier;
+        }
+    }
+
+    /**
+     * A search result. Serializes like the projection the SQL search returned.
+     */
+    public static final class Hub implements HubInfoProjection {
+        private final Integer hubId;
+        private final String hubName;
+        private final String hubAddress;
+        private final Integer cityId;
+        private final Integer stateId;
+        private final String cityName;
+        private final String stateName;
+
+        private final String sortName;
+        private final List<String> codes;
+        // Lower-cased name, city, state and airport codes
+        private final List<String> fields;
+
+        Hub(HubInfoProjection row, List<String> airportCodes) {
+            this.hubId = row.getHubId();
+            this.hubName = row.getHubName();
+            this.hubAddress = row.getHubAddress();
+            this.cityId = row.getCityId();
+            this.stateId = row.getStateId();
+            this.cityName = row.getCityName();
+            this.stateName = row.getStateName();
+            this.sortName = hubName == null ? "" : hubName.toLowerCase(Locale.ROOT);
+
+            List<String> codes = new ArrayList<>();
+            List<String> fields = new ArrayList<>();
+            for (String value : new String[] { hubName, cityName, stateName }) {
+                if (value != null && !value.isBlank()) {
+                    fields.add(value.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+            for (String code : airportCodes) {
+                if (!code.isBlank()) {
+                    String lower = code.trim().toLowerCase(Locale.ROOT);
+                    codes.add(lower);
+                    fields.add(lower);
+                }
+            }
+            this.codes = List.copyOf(codes);
+            this.fields = List.copyOf(fields);
+        }
+
+        boolean contains(String q) {
+            for (String field : fields) {
+                if (field.contains(q)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Integer getHubId() {
+            return hubId;
+        }
+
+        @Override
+        public String getHubName() {
+            return hubName;
+        }
+
+        @Override
+        public String getHubAddress() {
+            return hubAddress;
+        }
+
+        @Override
+        public Integer getCityId() {
+            return cityId;
+        }
+
+        @Override
+        public Integer getStateId() {
+            return stateId;
+        }
+
+        @Override
+        public String getCityName() {
+            return cityName;
+        }
+
+        @Override
+        public String getStateName() {
+            return stateName;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.Service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Entity listener on the hub, city, state and airport masters. Marks the
+ * {@link HubSearchIndex} stale once the change commits, so a rebuild never reads
+ * the database before the new rows are visible.
+ */
+public class HubSearchIndexListener {
+
+    @Autowired
+    @Lazy
+    private HubSearchIndex hubSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    hubSearchIndex.invalidate();
+                }
+            });
+        } else {
+            hubSearchIndex.invalidate();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.example.demo.Repository.HubRepository;
 import com.example.demo.Repository.projection.HubInfoProjection;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,6 +16,13 @@ public class HubService {
     @Autowired
     private HubRepository hubRepository;
 
+    @Autowired
+    private HubSearchIndex hubSearchIndex;
+
+    // Typeahead page size; the frontend only shows the top matches
+    @Value("${fleet.hub-search.max-results:50}")
+    private int maxSearchResults;
+
     public List<HubInfoProjection> getAllHubByCityIdAndStateId(String cityName, String stateName) {
         // log.info(" Into [HubService] [getAllHubByCityIdAndStateId] :{} {} ",cityId
         // ,stateId);
@@ -23,7 +31,7 @@ public class HubService {
     }
 
     public List<HubInfoProjection> searchHubs(String query) {
-        return hubRepository.searchHubs(query);
+        return hubSearchIndex.search(query, maxSearchResults);
     }
 
     public List<HubInfoProjection> getHubsByCityId(Integer cityId) {
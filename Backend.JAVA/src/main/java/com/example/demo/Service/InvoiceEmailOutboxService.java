@@ -0,0 +1,177 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.InvoiceEmailOutbox;
+import com.example.demo.Repository.InvoiceEmailOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends invoice emails from the invoice_email_outbox table.
+ *
+ * A return only inserts an outbox row in its own transaction. A scheduled poller
+ * claims due rows and hands them to a small fixed worker pool, which renders the
+ * PDF and talks to SMTP. Failed sends are retried with exponential backoff and
+ * marked DEAD after the configured number of attempts.
+ */
+@Service
+public class InvoiceEmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoiceEmailOutboxService.class);
+
+    public static final String PENDING = "PENDING";
+    public static final String SENDING = "SENDING";
+    public static final String SENT = "SENT";
+    public static final String DEAD = "DEAD";
+
+    @Autowired
+    private InvoiceEmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Value("${fleet.invoice-mail.workers:4}")
+    private int workerCount;
+
+    @Value("${fleet.invoice-mail.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${fleet.invoice-mail.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${fleet.invoice-mail.backoff-ms:30000}")
+    private long backoffMs;
+
+    @Value("${fleet.invoice-mail.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    // A row still SENDING after this long belongs to a worker that died
+    @Value("${fleet.invoice-mail.stale-ms:600000}")
+    private long staleMs;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ThreadPoolExecutor workers;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNo = new AtomicInteger();
+        // Still workerCount at a time; virtual threads only stop SMTP waits from holding platform threads
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("invoice-mail-", 1).factory()
+                : r -> {
+                    Thread t = new Thread(r, "invoice-mail-" + threadNo.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                };
+        workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queues the invoice email. Call inside the transaction that completes the
+     * booking so the row commits or rolls back with it.
+     */
+    public void enqueue(Long bookingId, String toEmail) {
+        if (toEmail == null || toEmail.isBlank()) {
+            logger.warn("Booking {} has no email address; invoice email not queued", bookingId);
+            return;
+        }
+        InvoiceEmailOutbox row = new InvoiceEmailOutbox();
+        row.setBookingId(bookingId);
+        row.setToEmail(toEmail);
+        outboxRepository.save(row);
+    }
+
+    @Scheduled(initialDelayString = "${fleet.invoice-mail.poll-ms:2000}", fixedDelayString = "${fleet.invoice-mail.poll-ms:2000}")
+    public void drain() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = outboxRepository.releaseStale(now.minus(Duration.ofMillis(staleMs)));
+        if (released > 0) {
+            logger.warn("Requeued {} invoice emails left in SENDING", released);
+        }
+
+        // Only claim what the pool can take so a claimed row is never rejected
+        int free = workers.getQueue().remainingCapacity();
+        if (free <= 0) {
+            return;
+        }
+        List<Long> due = outboxRepository.findDueIds(now, PageRequest.of(0, free));
+        for (Long id : due) {
+            if (outboxRepository.claim(id, now) == 1) {
+                workers.execute(() -> deliver(id));
+            }
+        }
+    }
+
+    private void deliver(Long id) {
+        InvoiceEmailOutbox row = outboxRepository.findById(id).orElse(null);
+        if (row == null) {
+            return;
+        }
+        int attempts = row.getAttempts() + 1;
+        row.setAttempts(attempts);
+        try {
+            invoiceService.sendInvoiceEmail(row.getBookingId(), row.getToEmail());
+            row.setStatus(SENT);
+            row.setSentAt(LocalDateTime.now());
+            row.setLastError(null);
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            row.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (attempts >= maxAttempts) {
+                row.setStatus(DEAD);
+                logger.error("Invoice email for booking {} dead-lettered after {} attempts: {}", row.getBookingId(),
+                        attempts, error);
+            } else {
+                row.setStatus(PENDING);
+                row.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(backoff(attempts))));
+                logger.warn("Invoice email for booking {} failed (attempt {}), retrying: {}", row.getBookingId(),
+                        attempts, error);
+            }
+        }
+        outboxRepository.save(row);
+    }
+
+    private long backoff(int attempts) {
+        long delay = backoffMs << Math.min(attempts - 1, 20);
+        return delay < 0 ? maxBackoffMs : Math.min(delay, maxBackoffMs);
+    }
+
+    public Map<String, Object> getQueueStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pending", outboxRepository.countByStatus(PENDING));
+        stats.put("sending", outboxRepository.countByStatus(SENDING));
+        stats.put("sent", outboxRepository.countByStatus(SENT));
+        stats.put("dead", outboxRepository.countByStatus(DEAD));
+        LocalDateTime oldest = outboxRepository.findOldestUnsentCreatedAt();
+        stats.put("oldestUnsentAgeSeconds", oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).getSeconds());
+        stats.put("activeWorkers", workers.getActiveCount());
+        stats.put("workerQueue", workers.getQueue().size());
+        return stats;
+    }
+}
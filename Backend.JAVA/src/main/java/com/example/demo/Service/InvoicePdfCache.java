@@ -0,0 +1,224 @@
+package com.example.demo.Service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rendered invoice PDFs on local disk.
+ *
+ * Files are named {@code <bookingId>-<key>.pdf}, where the key is a hash of every
+ * value printed on the invoice, so a changed booking simply misses. Only the newest
+ * file per booking is kept, and the least recently served files are evicted once
+ * the directory grows past {@code fleet.invoice-cache.max-bytes}.
+ */
+@Component
+public class InvoicePdfCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvoicePdfCache.class);
+
+    private static final String SUFFIX = ".pdf";
+
+    @Value("${fleet.invoice-cache.dir:${java.io.tmpdir}/fleet-invoice-cache}")
+    private String directory;
+
+    @Value("${fleet.invoice-cache.max-bytes:268435456}")
+    private long maxBytes;
+
+    private Path root;
+
+    // bookingId -> file currently cached for it
+    private final Map<Long, Path> files = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+    // Eviction stats and deletes files; a monitor would pin a virtual thread's carrier meanwhile
+    private final ReentrantLock evictLock = new ReentrantLock();
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Paths.get(directory);
+        Files.createDirectories(root);
+        // Pick up files from earlier runs; duplicates for a booking are dropped
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root, "*" + SUFFIX)) {
+            for (Path file : stream) {
+                Long bookingId = bookingIdOf(file);
+                if (bookingId == null) {
+                    continue;
+                }
+                Path previous = files.put(bookingId, file);
+                totalBytes.addAndGet(Files.size(file));
+                if (previous != null) {
+                    delete(previous);
+                }
+            }
+        }
+    }
+
+    public Entry get(long bookingId, String key) {
+        Path file = files.get(bookingId);
+        if (file == null || !file.getFileName().toString().equals(fileName(bookingId, key))) {
+            return null;
+        }
+        try {
+            // Last-modified doubles as last-used for eviction
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return new Entry(file, null);
+        } catch (IOException e) {
+            // Evicted or removed underneath us; treat as a miss
+            files.remove(bookingId, file);
+            return null;
+        }
+    }
+
+    public Entry put(long bookingId, String key, byte[] pdf) {
+        Path target = root.resolve(fileName(bookingId, key));
+        try {
+            Path tmp = Files.createTempFile(root, bookingId + "-", ".tmp");
+            Files.write(tmp, pdf);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not cache invoice for booking {}: {}", bookingId, e.getMessage());
+            return new Entry(null, pdf);
+        }
+        totalBytes.addAndGet(pdf.length);
+        Path previous = files.put(bookingId, target);
+        if (target.equals(previous)) {
+            // Same inputs rendered twice; the file was replaced, not added
+            totalBytes.addAndGet(-pdf.length);
+        } else if (previous != null) {
+            delete(previous);
+        }
+        if (totalBytes.get() > maxBytes) {
+            evict();
+        }
+        return new Entry(target, null);
+    }
+
+    public void invalidate(long bookingId) {
+        Path file = files.remove(bookingId);
+        if (file != null) {
+            delete(file);
+        }
+    }
+
+    // Drops least recently used files until the cache is back under 90% of its budget.
+    // If another thread is already evicting, it will get there for both of us.
+    private void evict() {
+        if (!evictLock.tryLock()) {
+            return;
+        }
+        try {
+            long target = maxBytes / 10 * 9;
+            if (totalBytes.get() <= target) {
+                return;
+            }
+            List<Map.Entry<Long, Path>> entries = new ArrayList<>(files.entrySet());
+            entries.sort(Comparator.comparingLong(e -> lastModified(e.getValue())));
+            for (Map.Entry<Long, Path> e : entries) {
+                if (totalBytes.get() <= target) {
+                    break;
+                }
+                if (files.remove(e.getKey(), e.getValue())) {
+                    delete(e.getValue());
+                }
+            }
+        } finally {
+            evictLock.unlock();
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            long size = Files.size(file);
+            if (Files.deleteIfExists(file)) {
+                totalBytes.addAndGet(-size);
+            }
+        } catch (IOException e) {
+            logger.debug("Could not delete cached invoice {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static String fileName(long bookingId, String key) {
+        return bookingId + "-" + key + SUFFIX;
+    }
+
+    private static Long bookingIdOf(Path file) {
+        String name = file.getFileName().toString();
+        int dash = name.indexOf('-');
+        if (dash <= 0) {
+            return null;
+        }
+        try {
+            return Long.parseLong(name.substring(0, dash));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A rendered invoice: on disk normally, in memory if it could not be written.
+     */
+    public static final class Entry {
+        private final Path path;
+        private final byte[] bytes;
+
+        Entry(Path path, byte[] bytes) {
+            this.path = path;
+            this.bytes = bytes;
+        }
+
+        /**
+         * The PDF with its file opened now, while the entry is current. A file
+         * evicted or replaced later stays readable through the open stream; one
+         * already gone throws NoSuchFileException.
+         */
+        public Resource open() throws IOException {
+            if (path == null) {
+                return new ByteArrayResource(bytes);
+            }
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            long size = channel.size();
+            return new InputStreamResource(Channels.newInputStream(channel)) {
+                // Plain InputStreamResource has no length, which would make the download chunked
+                @Override
+                public long contentLength() {
+                    return size;
+                }
+            };
+        }
+
+        public byte[] readBytes() throws IOException {
+            return path != null ? Files.readAllBytes(path) : bytes;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.BookingDetailTable;
+import com.example.demo.Entity.BookingHeaderTable;
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Renders the Trip Summary invoice.
+ *
+ * Colors, fonts, column widths and static text are built once and shared; each
+ * call only creates the elements that carry booking values. iText elements are
+ * mutated during layout, so paragraphs and tables themselves are not shared.
+ */
+@Component
+public class InvoicePdfRenderer {
+
+    // Colors
+    private static final BaseColor PRIMARY_BLUE = new BaseColor(37, 99, 235); // Modern Blue
+    private static final BaseColor LIGHT_GRAY = new BaseColor(249, 250, 251);
+    private static final BaseColor TEXT_DARK = new BaseColor(31, 41, 55);
+    private static final BaseColor TEXT_MUTED = new BaseColor(107, 114, 128);
+
+    // Fonts (never modified after construction)
+    private static final Font TITLE_FONT = new Font(Font.FontFamily.HELVETICA, 24, Font.BOLD, PRIMARY_BLUE);
+    private static final Font SUBTITLE_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL, TEXT_MUTED);
+    private static final Font SECTION_HEADER_FONT = new Font(Font.FontFamily.HELVETICA, 11, Font.BOLD, TEXT_DARK);
+    private static final Font BODY_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL, TEXT_DARK);
+    private static final Font BODY_BOLD_FONT = new Font(Font.FontFamily.HELVETICA, 10, Font.BOLD, TEXT_DARK);
+    private static final Font FOOTER_FONT = new Font(Font.FontFamily.HELVETICA, 8, Font.NORMAL, TEXT_MUTED);
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    // Layout (PdfPTable copies the arrays it is given)
+    private static final float[] MAIN_GRID_WIDTHS = { 1.2f, 1f };
+    private static final float[] FINANCE_WIDTHS = { 2, 1 };
+
+    // Static text
+    private static final String TITLE = "Trip Summary";
+    private static final String VEHICLE_SPEC = "Automatic • Petrol • 5 Seats"; // Generic placeholder
+    private static final String THANK_YOU = "Thank you for choosing IndiaDrive!\nSafe Travels.";
+    private static final String COMPUTER_GENERATED = "This is a computer generated invoice and does not require a signature.";
+
+    // A rendered invoice is a few KB; start close to that to avoid regrowing the buffer
+    private static final int INITIAL_BUFFER = 8 * 1024;
+
+    public byte[] render(BookingHeaderTable booking, List<BookingDetailTable> details) {
+        Document document = new Document();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(INITIAL_BUFFER);
+
+        try {
+            PdfWriter.getInstance(document, out);
+            document.open();
+
+            // Title Section
+            document.add(aligned(TITLE, TITLE_FONT, Element.ALIGN_CENTER));
+
+            Paragraph reference = aligned("REFERENCE: #" + booking.getBookingId(), SUBTITLE_FONT, Element.ALIGN_CENTER);
+            reference.setSpacingAfter(25f);
+            document.add(reference);
+
+            // Main Content Layout (Fleet & Hub / Schedule)
+            PdfPTable mainGrid = new PdfPTable(2);
+            mainGrid.setWidthPercentage(100);
+            mainGrid.setSpacingAfter(20f);
+            mainGrid.setWidths(MAIN_GRID_WIDTHS);
+
+            // Left Column: Fleet & Hub
+            PdfPCell leftCol = new PdfPCell();
+            leftCol.setBorder(PdfPCell.NO_BORDER);
+            leftCol.setPaddingRight(15f);
+
+            leftCol.addElement(new Paragraph("SELECTED FLEET", FOOTER_FONT));
+            String carType = booking.getCarType() != null ? booking.getCarType().getCarTypeName() : "Vehicle";
+            leftCol.addElement(new Paragraph(carType + " - " + booking.getBookcar(), BODY_BOLD_FONT));
+            leftCol.addElement(new Paragraph(VEHICLE_SPEC, FOOTER_FONT));
+            leftCol.addElement(spacer());
+
+            leftCol.addElement(new Paragraph("OPERATION HUB", FOOTER_FONT));
+            if (booking.getPickupHub() != null) {
+                leftCol.addElement(new Paragraph(booking.getPickupHub().getHubName(), BODY_BOLD_FONT));
+                leftCol.addElement(new Paragraph(booking.getPickupHub().getHubAddressAndDetails(), SUBTITLE_FONT));
+            } else {
+                leftCol.addElement(new Paragraph("Main Station", BODY_BOLD_FONT));
+            }
+            mainGrid.addCell(leftCol);
+
+            // Right Column: Schedule Box
+            PdfPCell scheduleBox = new PdfPCell();
+            scheduleBox.setBackgroundColor(LIGHT_GRAY);
+            scheduleBox.setPadding(15f);
+            scheduleBox.setBorder(PdfPCell.NO_BORDER);
+
+            scheduleBox.addElement(aligned("RENTAL SCHEDULE", FOOTER_FONT, Element.ALIGN_CENTER));
+            scheduleBox.addElement(spacer());
+
+            scheduleBox.addElement(aligned("Pickup", FOOTER_FONT, Element.ALIGN_CENTER));
+            scheduleBox.addElement(aligned(format(booking.getStartDate()), BODY_BOLD_FONT, Element.ALIGN_CENTER));
+
+            scheduleBox.addElement(spacer());
+
+            scheduleBox.addElement(aligned("Return", FOOTER_FONT, Element.ALIGN_CENTER));
+            LocalDate endDate = booking.getEndDate();
+            if (booking.getReturnTime() != null)
+                endDate = booking.getReturnTime().toLocalDate();
+            scheduleBox.addElement(aligned(format(endDate), BODY_BOLD_FONT, Element.ALIGN_CENTER));
+
+            mainGrid.addCell(scheduleBox);
+
+            document.add(mainGrid);
+
+            // Financial Overview Section
+            Paragraph finHeader = new Paragraph("Financial Overview", SECTION_HEADER_FONT);
+            finHeader.setSpacingBefore(10f);
+            finHeader.setSpacingAfter(15f);
+            document.add(finHeader);
+
+            // Calculation Logic
+            long days = 1;
+            if (booking.getStartDate() != null && endDate != null) {
+                days = java.time.temporal.ChronoUnit.DAYS.between(booking.getStartDate(), endDate);
+                days = days + 1; // Inclusive of start and end date (e.g., Same day = 1, Next day = 2)
+            }
+
+            double dailyRate = booking.getDailyRate() != null ? booking.getDailyRate() : 0.0;
+            double rentalSubtotal = days * dailyRate;
+            double totalAddonDailyRate = details.stream()
+                    .mapToDouble(BookingDetailTable::getAddonRate)
+                    .sum();
+            double addonAmt = totalAddonDailyRate * days;
+            double totalAmount = rentalSubtotal + addonAmt;
+
+            // Finance Table
+            PdfPTable finTable = new PdfPTable(2);
+            finTable.setWidthPercentage(100);
+            finTable.setWidths(FINANCE_WIDTHS);
+
+            finTable.addCell(createCleanCell("DURATION", FOOTER_FONT, Element.ALIGN_LEFT));
+            finTable.addCell(createCleanCell(days + " Days", BODY_BOLD_FONT, Element.ALIGN_RIGHT));
+
+            finTable.addCell(
+                    createCleanCell("BASE RENTAL (" + days + "D)\n" + String.format("%.2f", dailyRate) + "/day",
+                            SUBTITLE_FONT, Element.ALIGN_LEFT));
+            finTable.addCell(
+                    createCleanCell("₹" + String.format("%,.0f", rentalSubtotal), BODY_BOLD_FONT, Element.ALIGN_RIGHT));
+
+            finTable.addCell(createCleanCell("ADD-ON SERVICES", FOOTER_FONT, Element.ALIGN_LEFT));
+            finTable.addCell(
+                    createCleanCell("₹" + String.format("%,.0f", addonAmt), BODY_BOLD_FONT, Element.ALIGN_RIGHT));
+
+            PdfPCell separator = new PdfPCell();
+            separator.setColspan(2);
+            separator.setBorder(PdfPCell.BOTTOM);
+            separator.setBorderColor(LIGHT_GRAY);
+            separator.setFixedHeight(10f);
+            finTable.addCell(separator);
+
+            finTable.addCell(createCleanCell("AMOUNT PAID", BODY_BOLD_FONT, Element.ALIGN_LEFT));
+            finTable.addCell(createCleanCell("₹" + String.format("%,.0f", totalAmount), TITLE_FONT, Element.ALIGN_RIGHT));
+
+            document.add(finTable);
+
+            // Final Footer
+            document.add(new Paragraph("\n\n\n"));
+            document.add(aligned(THANK_YOU, BODY_FONT, Element.ALIGN_CENTER));
+
+            Paragraph computerGen = aligned(COMPUTER_GENERATED, FOOTER_FONT, Element.ALIGN_CENTER);
+            computerGen.setSpacingBefore(10f);
+            document.add(computerGen);
+
+            document.close();
+
+        } catch (DocumentException e) {
+            throw new RuntimeException("Error generating Trip Summary PDF: " + e.getMessage());
+        }
+
+        return out.toByteArray();
+    }
+
+    private static String format(LocalDate date) {
+        return date != null ? date.format(DATE_FORMAT) : "N/A";
+    }
+
+    private static Paragraph aligned(String text, Font font, int alignment) {
+        Paragraph paragraph = new Paragraph(text, font);
+        paragraph.setAlignment(alignment);
+        return paragraph;
+    }
+
+    private static Paragraph spacer() {
+        return new Paragraph(" ", BODY_FONT);
+    }
+
+    private static PdfPCell createCleanCell(String text, Font font, int alignment) {
+        PdfPCell cell = new PdfPCell(new Paragraph(text, font));
+        cell.setBorder(PdfPCell.NO_BORDER);
+        cell.setPaddingTop(8f);
+        cell.setPaddingBottom(8f);
+        cell.setHorizontalAlignment(alignment);
+        cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+        return cell;
+    }
+}
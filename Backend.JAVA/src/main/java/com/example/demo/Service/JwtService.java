@@ -15,6 +15,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -24,10 +25,16 @@ public class JwtService {
 
 	private String secretKey;
 
+	// Both are immutable and thread-safe, so they are built once instead of per token
+	private final SecretKey signingKey;
+	private final JwtParser parser;
+
 	public JwtService() {
 		// FIXED: Use a static secret key to persist across restarts
 		// precise-fixed-secret-key-to-ensure-persistence-across-restarts-base64-encoded
 		this.secretKey = "dGhpc2lzYXZlcnlzZWN1cmVhbmRwZXJzaXN0ZW50c2VjcmV0a2V5Zm9yand0dG9rZW5nZW5lcmF0aW9u";
+		this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+		this.parser = Jwts.parser().verifyWith(signingKey).build();
 	}
 
 	public String generateSecretkey() {
@@ -63,8 +70,7 @@ public class JwtService {
 	}
 
 	private SecretKey getSigningKey() {
-		byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-		return Keys.hmacShaKeyFor(keyBytes);
+		return signingKey;
 	}
 
 	public String extractUserName(String token) {
@@ -76,25 +82,21 @@ public class JwtService {
 		return claimResolver.apply(claims);
 	}
 
-	private Claims extractAllClaims(String token) {
-		return Jwts.parser()
-				.verifyWith(getSigningKey())
-				.build()
-				.parseSignedClaims(token)
-				.getPayload();
+	/**
+	 * Verifies the signature and expiry and returns the claims. Throws a
+	 * JwtException (or IllegalArgumentException for a blank token) otherwise.
+	 */
+	public Claims extractAllClaims(String token) {
+		return parser.parseSignedClaims(token).getPayload();
 	}
 
 	public boolean validateToken(String token, UserDetails userDetails) {
-		final String userName = extractUserName(token);
-		return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
-	}
-
-	private boolean isTokenExpired(String token) {
-		return extractExpiration(token).before(new Date());
+		final Claims claims = extractAllClaims(token);
+		return (claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims));
 	}
 
-	private Date extractExpiration(String token) {
-		return extractClaim(token, Claims::getExpiration);
+	private boolean isTokenExpired(Claims claims) {
+		return claims.getExpiration().before(new Date());
 	}
 
 }
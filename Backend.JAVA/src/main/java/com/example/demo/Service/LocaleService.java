@@ -1,34 +1,171 @@
 package com.example.demo.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Translations for the frontend, compiled once from the messages_*.properties
+ * bundles into immutable nested maps (home.heroTitle -> {"home": {"heroTitle": ...}})
+ * and their JSON.
+ *
+ * Bundles come from the classpath. For the dev workflow, point
+ * {@code fleet.locales.dir} at a directory of bundles (e.g. src/main/resources) and
+ * set {@code fleet.locales.watch=true} to recompile whenever one of them changes.
+ */
 @Service
 public class LocaleService {
 
-    public Map<String, Object> getTranslations(String lang) {
-        ResourceBundle.clearCache();
-        Locale locale = new Locale(lang);
-        ResourceBundle bundle;
+    private static final Logger logger = LoggerFactory.getLogger(LocaleService.class);
+
+    private static final String PREFIX = "messages_";
+    private static final String SUFFIX = ".properties";
+    private static final String FALLBACK = "en";
+    private static final long SETTLE_MS = 200;
+
+    // Nested maps of strings serialize the same with a default mapper as with the web one
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${fleet.locales.dir:}")
+    private String directory = "";
+
+    @Value("${fleet.locales.watch:false}")
+    private boolean watch;
+
+    private volatile Map<String, Bundle> bundles = Map.of();
+    private WatchService watchService;
+
+    @PostConstruct
+    void init() throws IOException {
+        reload();
+        if (watch && !directory.isBlank()) {
+            startWatching();
+        }
+    }
+
+    public void reload() {
+        Map<String, Bundle> compiled = new HashMap<>();
         try {
-            bundle = ResourceBundle.getBundle("messages", locale);
-        } catch (MissingResourceException e) {
-            // Fallback to English
-            bundle = ResourceBundle.getBundle("messages", Locale.ENGLISH);
+            for (Resource resource : findBundles()) {
+                String name = resource.getFilename();
+                String lang = name.substring(PREFIX.length(), name.length() - SUFFIX.length()).toLowerCase(Locale.ROOT);
+                compiled.put(lang, compile(resource));
+            }
+        } catch (IOException e) {
+            // Keep serving the previous bundles; a half-edited file should not blank the UI
+            logger.error("Could not compile locale bundles: {}", e.getMessage());
+            return;
         }
+        bundles = Map.copyOf(compiled);
+        logger.info("Compiled locale bundles {}", new TreeSet<>(compiled.keySet()));
+    }
 
-        Map<String, Object> translations = new HashMap<>();
-        Enumeration<String> keys = bundle.getKeys();
-        while (keys.hasMoreElements()) {
-            String key = keys.nextElement();
-            String value = bundle.getString(key);
+    private void startWatching() throws IOException {
+        Path dir = Paths.get(directory);
+        watchService = FileSystems.getDefault().newWatchService();
+        dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        Thread watcher = new Thread(this::watchLoop, "locale-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching {} for locale bundle changes", dir.toAbsolutePath());
+    }
 
-            // Convert flat keys (home.heroTitle) to nested structure for i18next if needed
-            // Or just return flat if frontend can handle it.
-            // i18next handles flat keys if configured, but nested is standard.
-            buildNestedMap(translations, key, value);
+    @PreDestroy
+    void stopWatching() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                boolean changed = drain(watchService.take());
+                // A save is often truncate + write; let it settle so a half-written file is not compiled
+                WatchKey more;
+                while ((more = watchService.poll(SETTLE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(more);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // shutting down
+        }
+    }
+
+    private static boolean drain(WatchKey key) {
+        boolean changed = key.pollEvents().stream()
+                .map(event -> event.context().toString())
+                .anyMatch(file -> file.startsWith(PREFIX) && file.endsWith(SUFFIX));
+        key.reset();
+        return changed;
+    }
+
+    /**
+     * Compiled bundle for the language, or the English one when there is none.
+     */
+    public Bundle getBundle(String lang) {
+        Map<String, Bundle> current = bundles;
+        Bundle bundle = lang == null ? null : current.get(lang.toLowerCase(Locale.ROOT));
+        return bundle != null ? bundle : current.get(FALLBACK);
+    }
+
+    public Map<String, Object> getTranslations(String lang) {
+        Bundle bundle = getBundle(lang);
+        return bundle != null ? bundle.getTranslations() : Map.of();
+    }
+
+    private Resource[] findBundles() throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        if (!directory.isBlank()) {
+            return resolver.getResources("file:" + Paths.get(directory).toAbsolutePath() + "/" + PREFIX + "*" + SUFFIX);
+        }
+        return resolver.getResources("classpath*:" + PREFIX + "*" + SUFFIX);
+    }
+
+    private Bundle compile(Resource resource) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, Object> translations = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            buildNestedMap(translations, key, properties.getProperty(key));
+        }
+        Map<String, Object> frozen = freeze(translations);
+        try {
+            return new Bundle(frozen, objectMapper.writeValueAsBytes(frozen));
+        } catch (JsonProcessingException e) {
+            throw new IOException("Could not serialize " + resource.getFilename(), e);
         }
-        return translations;
     }
 
     @SuppressWarnings("unchecked")
@@ -36,11 +173,54 @@ public class LocaleService {
         String[] parts = key.split("\\.");
         Map<String, Object> current = map;
         for (int i = 0; i < parts.length - 1; i++) {
-            Object obj = current.computeIfAbsent(parts[i], k -> new HashMap<String, Object>());
+            Object obj = current.computeIfAbsent(parts[i], k -> new TreeMap<String, Object>());
             if (obj instanceof Map) {
                 current = (Map<String, Object>) obj;
             }
         }
         current.put(parts[parts.length - 1], value);
     }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> freeze(Map<String, Object> map) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        map.forEach((k, v) -> copy.put(k, v instanceof Map ? freeze((Map<String, Object>) v) : v));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * One language: the nested translations and their JSON, with an ETag.
+     */
+    public static final class Bundle {
+        private final Map<String, Object> translations;
+        private final byte[] json;
+        private final String etag;
+
+        Bundle(Map<String, Object> translations, byte[] json) {
+            this.translations = translations;
+            this.json = json;
+            this.etag = "\"" + hash(json) + "\"";
+        }
+
+        public Map<String, Object> getTranslations() {
+            return translations;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public String getETag() {
+            return etag;
+        }
+
+        private static String hash(byte[] body) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+                return HexFormat.of().formatHex(digest, 0, 16);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
 }
@@ -0,0 +1,148 @@
+package com.example.demo.Service;
+
+import com.example.demo.exception.LoginThrottledException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt password checks for /login on a small pool of its own, so a login
+ * storm spends at most {@code fleet.login.verify-threads} cores on hashing and
+ * booking and search requests keep the rest.
+ *
+ * At most {@code fleet.login.verify-queue} checks wait for a thread; beyond that,
+ * or when a check has not finished within {@code fleet.login.verify-timeout-ms},
+ * the login fails fast with {@link LoginThrottledException} (429) instead of
+ * holding a request thread.
+ *
+ * A check that timed out while queued is dropped. One that has started runs to
+ * the end: BCrypt does not check for interrupts, so cancelling it frees the request
+ * but not the pool thread. The timeout should therefore cover a few hashes at the
+ * encoder's cost factor; startup times one hash and warns when it does not.
+ *
+ * Metrics: fleet.login.verify (time on the pool, by outcome), fleet.login.rejected
+ * (by reason), fleet.login.verify.queued and fleet.login.verify.active.
+ */
+@Service
+public class PasswordVerifier {
+
+    public static final String VERIFY = "fleet.login.verify";
+    public static final String REJECTED = "fleet.login.rejected";
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordVerifier.class);
+
+    @Autowired
+    private BCryptPasswordEncoder encoder;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    // 0: half the cores, at least one
+    @Value("${fleet.login.verify-threads:0}")
+    private int threads;
+
+    @Value("${fleet.login.verify-queue:64}")
+    private int queueCapacity;
+
+    @Value("${fleet.login.verify-timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+    private Timer matched;
+    private Timer mismatched;
+    private Counter rejectedFull;
+    private Counter rejectedTimeout;
+    // Checked when the user does not exist, so the response time doesn't tell
+    private String dummyHash;
+
+    @PostConstruct
+    void start() {
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "password-verify-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        long hashStart = System.nanoTime();
+        dummyHash = encoder.encode("not-a-password");
+        long hashMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - hashStart);
+        if (timeoutMs < 2 * hashMs) {
+            logger.warn("fleet.login.verify-timeout-ms={} is under two password hashes (one took {} ms); "
+                    + "logins may time out under load", timeoutMs, hashMs);
+        }
+
+        matched = Timer.builder(VERIFY).description("BCrypt checks on the login pool").tag("outcome", "match")
+                .register(registry);
+        mismatched = Timer.builder(VERIFY).description("BCrypt checks on the login pool").tag("outcome", "mismatch")
+                .register(registry);
+        rejectedFull = Counter.builder(REJECTED).description("Logins turned away with 429").tag("reason", "queue-full")
+                .register(registry);
+        rejectedTimeout = Counter.builder(REJECTED).description("Logins turned away with 429").tag("reason", "timeout")
+                .register(registry);
+        Gauge.builder(VERIFY + ".queued", executor, e -> e.getQueue().size())
+                .description("Password checks waiting for a thread").register(registry);
+        Gauge.builder(VERIFY + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password checks running").register(registry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Whether the raw password matches the stored hash; a null hash (unknown user)
+     * is checked against a dummy and never matches.
+     */
+    public boolean matches(String rawPassword, String passwordHash) {
+        String hash = passwordHash != null ? passwordHash : dummyHash;
+        Future<Boolean> check;
+        try {
+            check = executor.submit(() -> {
+                long start = System.nanoTime();
+                boolean ok = encoder.matches(rawPassword, hash);
+                (ok ? matched : mismatched).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return ok;
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedFull.increment();
+            throw new LoginThrottledException("Too many logins in progress, please retry", 1);
+        }
+        try {
+            return check.get(timeoutMs, TimeUnit.MILLISECONDS) && passwordHash != null;
+        } catch (TimeoutException e) {
+            // Frees the queue slot if the check has not started; a running one finishes anyway
+            check.cancel(true);
+            executor.remove((Runnable) check);
+            rejectedTimeout.increment();
+            throw new LoginThrottledException("Too many logins in progress, please retry",
+                    Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            check.cancel(true);
+            throw new IllegalStateException("Interrupted while checking the password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password check failed", e.getCause());
+        }
+    }
+}
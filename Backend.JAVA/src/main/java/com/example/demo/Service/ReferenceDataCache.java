@@ -0,0 +1,159 @@
+package com.example.demo.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Serialized JSON for the public reference-data endpoints (states, cities,
+ * airports, car types, add-ons).
+ *
+ * Each dataset has a version counter that its write paths bump through
+ * {@link #bump(String)}. A cached body is served while its dataset version is
+ * unchanged and it is younger than {@code fleet.reference-cache.ttl-ms}; the TTL
+ * only exists to pick up edits made directly in the database. The ETag is a hash
+ * of the body, so it survives restarts, and a matching If-None-Match gets a 304
+ * without touching the database or Jackson.
+ */
+@Component
+public class ReferenceDataCache {
+
+    public static final String STATES = "states";
+    public static final String CITIES = "cities";
+    public static final String AIRPORTS = "airports";
+    public static final String CAR_TYPES = "car-types";
+    public static final String ADD_ONS = "addons";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${fleet.reference-cache.ttl-ms:600000}")
+    private long ttlMs;
+
+    // 0 = clients revalidate on every use (cheap: a 304)
+    @Value("${fleet.reference-cache.max-age-seconds:0}")
+    private long maxAgeSeconds;
+
+    // Per-state lists are keyed by client input, so keep the map bounded
+    @Value("${fleet.reference-cache.max-entries:1000}")
+    private int maxEntries;
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached JSON for dataset/key, loading and serializing it on a
+     * miss, or a 304 when {@code ifNoneMatch} names the current body.
+     */
+    public ResponseEntity<byte[]> respond(String dataset, String key, String ifNoneMatch, Supplier<?> loader) {
+        Entry entry = get(dataset, key, loader);
+        if (matches(ifNoneMatch, entry.etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(entry.etag).cacheControl(cacheControl()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(entry.etag)
+                .cacheControl(cacheControl())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entry.body);
+    }
+
+    public void bump(String dataset) {
+        version(dataset).incrementAndGet();
+    }
+
+    public void bumpAll() {
+        for (String dataset : new String[] { STATES, CITIES, AIRPORTS, CAR_TYPES, ADD_ONS }) {
+            bump(dataset);
+        }
+    }
+
+    /**
+     * Whether an If-None-Match header names this ETag: any entry of a
+     * comma-separated list, compared weakly (a W/ prefix is ignored), or *.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Entry get(String dataset, String key, Supplier<?> loader) {
+        String cacheKey = dataset + "|" + key;
+        long version = version(dataset).get();
+        Entry entry = entries.get(cacheKey);
+        if (entry != null && entry.version == version && System.currentTimeMillis() - entry.loadedAt < ttlMs) {
+            return entry;
+        }
+        // Version read before loading: a bump during the load leaves this entry stale
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + dataset + ": " + e.getMessage(), e);
+        }
+        entry = new Entry(version, System.currentTimeMillis(), body, "\"" + hash(body) + "\"");
+        if (entries.size() >= maxEntries) {
+            entries.clear();
+        }
+        entries.put(cacheKey, entry);
+        return entry;
+    }
+
+    private AtomicLong version(String dataset) {
+        return versions.computeIfAbsent(dataset, k -> new AtomicLong());
+    }
+
+    private CacheControl cacheControl() {
+        return maxAgeSeconds > 0
+                ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic()
+                : CacheControl.noCache().cachePublic();
+    }
+
+    private static String hash(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+        private final long version;
+        private final long loadedAt;
+        private final byte[] body;
+        private final String etag;
+
+        Entry(long version, long loadedAt, byte[] body, String etag) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+            this.body = body;
+            this.etag = etag;
+        }
+    }
+}
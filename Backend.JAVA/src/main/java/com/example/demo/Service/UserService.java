@@ -1,6 +1,7 @@
 package com.example.demo.Service;
 
 import com.example.demo.Entity.User;
+import com.example.demo.dto.LoginAccount;
 
 public interface UserService {
 
@@ -8,6 +9,11 @@ public interface UserService {
 
 	User getUserByUsername(String Username);
 
+	LoginAccount getLoginAccount(String username);
+
+	// Throws BadCredentialsException, or LoginThrottledException when verification is saturated
+	LoginAccount login(String username, String password);
+
 	String generateResetToken(String email);
 
 	boolean resetPassword(String token, String newPassword);
@@ -1,11 +1,13 @@
 package com.example.demo.Service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.example.demo.Entity.User;
 import com.example.demo.Repository.UserRepository;
+import com.example.demo.dto.LoginAccount;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import java.util.Optional;
@@ -19,6 +21,9 @@ public class UserServiceImpl implements UserService {
 	@Autowired
 	BCryptPasswordEncoder encoder;
 
+	@Autowired
+	private PasswordVerifier passwordVerifier;
+
 	@Override
 	public User addUser(User user) {
 		// Existence checks
@@ -41,6 +46,21 @@ public class UserServiceImpl implements UserService {
 		return userRepository.findByUsername(Username);
 	}
 
+	@Override
+	public LoginAccount getLoginAccount(String username) {
+		return userRepository.findLoginAccount(username);
+	}
+
+	@Override
+	public LoginAccount login(String username, String password) {
+		LoginAccount account = username == null ? null : userRepository.findLoginAccount(username);
+		// Unknown users are still hashed, so they take as long as a wrong password
+		if (password == null || !passwordVerifier.matches(password, account == null ? null : account.getPasswordHash())) {
+			throw new BadCredentialsException("Bad credentials");
+		}
+		return account;
+	}
+
 	@Override
 	public String generateResetToken(String email) {
 		Optional<User> userOpt = userRepository.findByEmail(email);
@@ -0,0 +1,202 @@
+package com.example.demo.config;
+
+import com.example.demo.Repository.BookingRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Booking lifecycle SLO metrics, recorded by {@link BookingMetricsInterceptor} and
+ * InvoiceService:
+ *
+ * - fleet.booking.operation: latency per operation (create, create-batch,
+ *   handover, return, cancel, modify) and outcome, including the commit
+ * - fleet.booking.status: operations by resulting booking status ("error" on
+ *   failure); a batch counts each of its items
+ * - fleet.booking.sql.statements: SQL statements executed per operation
+ * - fleet.booking.invoice: invoice PDF lookup time, rendered or served from cache
+ * - fleet.booking.open: CONFIRMED and ACTIVE bookings, counted every
+ *   {@code fleet.booking-metrics.open-refresh-ms} rather than on each scrape
+ *
+ * All are percentile histograms for alerting on a scraping registry; the
+ * client-side percentiles in {@code fleet.booking-metrics.percentiles} feed
+ * /actuator/bookingstats.
+ */
+@Component
+public class BookingMetrics {
+
+    public static final String OPERATION = "fleet.booking.operation";
+    public static final String STATUS = "fleet.booking.status";
+    public static final String STATEMENTS = "fleet.booking.sql.statements";
+    public static final String INVOICE = "fleet.booking.invoice";
+    public static final String OPEN = "fleet.booking.open";
+
+    static final String[] OPEN_STATUSES = { "CONFIRMED", "ACTIVE" };
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    // Booking operations take milliseconds, so client-side percentiles are affordable here
+    @Value("${fleet.booking-metrics.percentiles:0.5,0.95,0.99}")
+    private double[] percentiles;
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    private final Map<String, Counter> statusCounters = new ConcurrentHashMap<>();
+    private final Map<Boolean, Timer> invoiceTimers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> openCounts = new LinkedHashMap<>();
+
+    @PostConstruct
+    void registerGauges() {
+        for (String status : OPEN_STATUSES) {
+            AtomicLong count = new AtomicLong();
+            openCounts.put(status, count);
+            Gauge.builder(OPEN, count, AtomicLong::get)
+                    .description("Bookings in this status as of the last refresh")
+                    .tag("status", status)
+                    .register(registry);
+        }
+    }
+
+    // One COUNT per status per interval, however often the registry is scraped
+    @Scheduled(initialDelay = 0, fixedDelayString = "${fleet.booking-metrics.open-refresh-ms:60000}")
+    public void refreshOpenCounts() {
+        openCounts.forEach((status, count) -> count.set(bookingRepository.countByBookingStatus(status)));
+    }
+
+    /**
+     * One call of a lifecycle operation. {@code statuses} is null when the call
+     * failed; otherwise it holds the resulting status of each booking it touched
+     * (one, or one per batch item), with null for an item that failed on its own.
+     */
+    public void recordOperation(String operation, long nanos, long statements, List<String> statuses) {
+        Operation op = operations.computeIfAbsent(operation, Operation::new);
+        (statuses != null ? op.success : op.error).record(nanos, TimeUnit.NANOSECONDS);
+        op.statements.record(statements);
+        for (String status : statuses != null ? statuses : Collections.<String>singletonList(null)) {
+            String resulting = status != null ? status.toUpperCase() : "error";
+            statusCounters.computeIfAbsent(operation + '|' + resulting, k -> Counter.builder(STATUS)
+                    .description("Booking operations by resulting status")
+                    .tags("operation", operation, "status", resulting)
+                    .register(registry)).increment();
+        }
+    }
+
+    public void recordInvoice(boolean rendered, long nanos) {
+        invoiceTimers.computeIfAbsent(rendered, k -> Timer.builder(INVOICE)
+                .description("Invoice PDF lookup time; rendered=true when it was not cached")
+                .tag("rendered", String.valueOf(k))
+                .publishPercentileHistogram()
+                .publishPercentiles(percentiles)
+                .register(registry)).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Everything above as one document for /actuator/bookingstats, times in ms.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> ops = new TreeMap<>();
+        operations.forEach((name, op) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("success", timerStats(op.success));
+            stats.put("error", timerStats(op.error));
+            HistogramSnapshot sql = op.statements.takeSnapshot();
+            Map<String, Object> sqlStats = new LinkedHashMap<>();
+            sqlStats.put("mean", round(sql.mean()));
+            sqlStats.put("max", round(sql.max()));
+            for (ValueAtPercentile p : sql.percentileValues()) {
+                sqlStats.put("p" + label(p.percentile()), round(p.value()));
+            }
+            stats.put("sqlStatements", sqlStats);
+            ops.put(name, stats);
+        });
+
+        Map<String, Map<String, Object>> statuses = new TreeMap<>();
+        for (Meter meter : registry.find(STATUS).counters()) {
+            statuses.computeIfAbsent(meter.getId().getTag("operation"), k -> new TreeMap<>())
+                    .put(meter.getId().getTag("status"), (long) ((Counter) meter).count());
+        }
+
+        Map<String, Object> invoice = new LinkedHashMap<>();
+        invoiceTimers.forEach((rendered, timer) -> invoice.put(rendered ? "rendered" : "cached", timerStats(timer)));
+
+        Map<String, Object> open = new LinkedHashMap<>();
+        openCounts.forEach((status, count) -> open.put(status, count.get()));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("operations", ops);
+        result.put("statuses", statuses);
+        result.put("invoice", invoice);
+        result.put("open", open);
+        return result;
+    }
+
+    private static Map<String, Object> timerStats(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", snapshot.count());
+        stats.put("meanMs", round(snapshot.mean(TimeUnit.MILLISECONDS)));
+        stats.put("maxMs", round(snapshot.max(TimeUnit.MILLISECONDS)));
+        for (ValueAtPercentile p : snapshot.percentileValues()) {
+            stats.put("p" + label(p.percentile()) + "Ms", round(p.value(TimeUnit.MILLISECONDS)));
+        }
+        return stats;
+    }
+
+    // 0.5 -> 50, 0.999 -> 99.9
+    private static String label(double percentile) {
+        double value = percentile * 100;
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private final class Operation {
+        private final Timer success;
+        private final Timer error;
+        private final DistributionSummary statements;
+
+        Operation(String name) {
+            this.success = timer(name, "success");
+            this.error = timer(name, "error");
+            this.statements = DistributionSummary.builder(STATEMENTS)
+                    .description("SQL statements executed per booking operation")
+                    .tag("operation", name)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(percentiles)
+                    .register(registry);
+        }
+
+        private Timer timer(String name, String outcome) {
+            return Timer.builder(OPERATION)
+                    .description("Booking lifecycle operation latency, including the commit")
+                    .tags("operation", name, "outcome", outcome)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(percentiles)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.BatchBookingResult;
+import com.example.demo.dto.BookingResponse;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Feeds {@link BookingMetrics} from the BookingService lifecycle methods. Runs
+ * outside the transaction, so latency and statement counts include the commit
+ * and the flush it triggers.
+ */
+@Component
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+public class BookingMetricsInterceptor extends AspectJExpressionPointcutAdvisor implements MethodInterceptor {
+
+    private static final Map<String, String> OPERATIONS = Map.of(
+            "createBooking", "create",
+            "createBookings", "create-batch",
+            "handoverCar", "handover",
+            "processHandover", "handover",
+            "returnCar", "return",
+            "cancelBooking", "cancel",
+            "modifyBooking", "modify");
+
+    // Resolved on first use: advisors are created while BeanPostProcessors are still being set up
+    private final ObjectProvider<BookingMetrics> bookingMetrics;
+
+    public BookingMetricsInterceptor(ObjectProvider<BookingMetrics> bookingMetrics) {
+        this.bookingMetrics = bookingMetrics;
+        setExpression(OPERATIONS.keySet().stream()
+                .map(method -> "execution(public * com.example.demo.Service.BookingService." + method + "(..))")
+                .collect(Collectors.joining(" || ")));
+        setAdvice(this);
+        // Inside ServiceTimingInterceptor, outside @Transactional
+        setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String operation = OPERATIONS.get(invocation.getMethod().getName());
+        long statements = SqlStatementCounter.current();
+        long started = System.nanoTime();
+        List<String> statuses = null;
+        try {
+            Object result = invocation.proceed();
+            statuses = result instanceof List<?> items
+                    ? items.stream().map(BookingMetricsInterceptor::status).toList()
+                    : Collections.singletonList(status(result));
+            return result;
+        } finally {
+            bookingMetrics.getObject().recordOperation(operation, System.nanoTime() - started,
+                    SqlStatementCounter.current() - statements, statuses);
+        }
+    }
+
+    // The resulting booking status, or null for a batch item that failed
+    private static String status(Object result) {
+        if (result instanceof BatchBookingResult item) {
+            if (!item.isSuccess()) {
+                return null;
+            }
+            result = item.getBooking();
+        }
+        return result instanceof BookingResponse response && response.getBookingStatus() != null
+                ? response.getBookingStatus()
+                : "UNKNOWN";
+    }
+}
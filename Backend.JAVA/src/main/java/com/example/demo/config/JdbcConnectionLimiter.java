@@ -0,0 +1,160 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Role;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * With virtual threads every request gets its own thread, so a burst can put
+ * thousands of threads into Hikari's getConnection at once, where they spin on
+ * the pool's handoff queue and time out in arbitrary order. This puts a fair
+ * semaphore with one permit per pooled connection in front of the pool: waiters
+ * queue FIFO and park cheaply, and only as many threads as there are connections
+ * ever reach Hikari. The permit is returned when the connection is closed.
+ *
+ * Only active with {@code spring.threads.virtual.enabled=true}; a platform thread
+ * pool is already bounded by Tomcat's max threads.
+ */
+@Component
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class JdbcConnectionLimiter implements BeanPostProcessor {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    // 0: the Hikari pool size
+    @Value("${fleet.jdbc.permits:0}")
+    private int permits;
+
+    // 0: Hikari's connection timeout
+    @Value("${fleet.jdbc.acquire-timeout-ms:0}")
+    private long acquireTimeoutMs;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // The pool itself, or SqlStatementCounter's wrapper around it
+        if (bean instanceof DataSource dataSource && !(bean instanceof PermitDataSource)) {
+            HikariDataSource hikari = hikari(dataSource);
+            if (hikari == null) {
+                return bean;
+            }
+            // Hikari only fills in its default pool size when the pool starts
+            int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+            return new PermitDataSource(dataSource, permits > 0 ? permits : poolSize,
+                    acquireTimeoutMs > 0 ? acquireTimeoutMs : hikari.getConnectionTimeout());
+        }
+        return bean;
+    }
+
+    private static HikariDataSource hikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    public static class PermitDataSource extends DelegatingDataSource {
+
+        private final Semaphore semaphore;
+        private final int permits;
+        private final long timeoutMs;
+
+        PermitDataSource(DataSource target, int permits, long timeoutMs) {
+            super(target);
+            this.semaphore = new Semaphore(permits, true);
+            this.permits = permits;
+            this.timeoutMs = timeoutMs;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            try {
+                return withPermit(obtainTargetDataSource().getConnection());
+            } catch (SQLException | RuntimeException e) {
+                semaphore.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            try {
+                return withPermit(obtainTargetDataSource().getConnection(username, password));
+            } catch (SQLException | RuntimeException e) {
+                semaphore.release();
+                throw e;
+            }
+        }
+
+        public int getAvailablePermits() {
+            return semaphore.availablePermits();
+        }
+
+        public int getQueueLength() {
+            return semaphore.getQueueLength();
+        }
+
+        private void acquire() throws SQLException {
+            try {
+                if (!semaphore.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException("No JDBC connection permit within " + timeoutMs
+                            + " ms (" + permits + " permits, " + semaphore.getQueueLength() + " waiting)");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted waiting for a JDBC connection permit", e);
+            }
+        }
+
+        // ConnectionProxy, so Spring's DataSourceUtils still matches it to the target connection
+        private Connection withPermit(Connection target) {
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                    new Class<?>[] { ConnectionProxy.class }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getTargetConnection":
+                                return target;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "close":
+                                if (!released.compareAndSet(false, true)) {
+                                    return null;
+                                }
+                                try {
+                                    target.close();
+                                } finally {
+                                    semaphore.release();
+                                }
+                                return null;
+                            default:
+                                try {
+                                    return method.invoke(target, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getTargetException();
+                                }
+                        }
+                    });
+        }
+    }
+}
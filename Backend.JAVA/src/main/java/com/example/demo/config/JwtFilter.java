@@ -2,6 +2,8 @@ package com.example.demo.config;
 
 import com.example.demo.Service.JwtService;
 import com.example.demo.Service.MyUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,11 +12,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
@@ -25,23 +32,30 @@ public class JwtFilter extends OncePerRequestFilter {
     @Autowired
     private MyUserDetailsService userDetailsService;
 
+    @Autowired
+    private VerifiedTokenCache tokenCache;
+
+    private final RequestMatcher publicPaths = new OrRequestMatcher(Arrays.stream(SecurityConfig.PUBLIC_PATHS)
+            .map(path -> (RequestMatcher) new AntPathRequestMatcher(path))
+            .toList());
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicPaths.matches(request);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtService.extractUserName(token);
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = authHeader.substring(7);
+            UserDetails userDetails = resolve(token);
 
-            if (jwtService.validateToken(token, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails,
                         null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -51,4 +65,21 @@ public class JwtFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // Cached principal, or a single verify + user lookup on a miss. Null for a bad token.
+    private UserDetails resolve(String token) {
+        UserDetails userDetails = tokenCache.get(token);
+        if (userDetails != null) {
+            return userDetails;
+        }
+        try {
+            Claims claims = jwtService.extractAllClaims(token);
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            tokenCache.put(token, userDetails, claims.getExpiration());
+            return userDetails;
+        } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
+            logger.debug("Rejected bearer token: " + e.getMessage());
+            return null;
+        }
+    }
 }
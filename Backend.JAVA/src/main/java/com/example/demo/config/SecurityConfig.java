@@ -1,5 +1,6 @@
 package com.example.demo.config;
 
+import com.example.demo.controller.BookingController;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,6 +26,16 @@ import java.util.Arrays;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    // Reachable without a token; JwtFilter does not look at tokens on these paths either
+    static final String[] PUBLIC_PATHS = {
+            "/register", "/login", "/forgot-password", "/reset-password",
+            "/api/v1/auth/**",
+            "/api/v1/hubs/**", "/api/v1/cities/**", "/api/v1/states/**",
+            "/api/v1/cars/**", "/api/v1/cartypemaster/**",
+            "/api/v1/addons/**", "/api/v1/customers/**",
+            "/api/admin/fleet-overview"
+    };
+
     @Autowired
     private UserDetailsService userDetailsService;
 
@@ -43,12 +54,7 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(request -> request
                         // Public endpoints
-                        .requestMatchers("/register", "/login", "/forgot-password", "/reset-password").permitAll()
-                        .requestMatchers("/api/v1/auth/**").permitAll()
-                        .requestMatchers("/api/v1/hubs/**", "/api/v1/cities/**", "/api/v1/states/**").permitAll()
-                        .requestMatchers("/api/v1/cars/**", "/api/v1/cartypemaster/**").permitAll()
-                        .requestMatchers("/api/v1/addons/**", "/api/v1/customers/**").permitAll()
-                        .requestMatchers("/api/admin/fleet-overview").permitAll()
+                        .requestMatchers(PUBLIC_PATHS).permitAll()
                         // Admin endpoints
                         .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
                         .requestMatchers("/admin/**").hasAuthority("ADMIN")
@@ -80,7 +86,9 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(
-                Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin"));
+                Arrays.asList("Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin",
+                        "If-None-Match"));
+        configuration.setExposedHeaders(Arrays.asList(BookingController.NEXT_CURSOR_HEADER, "ETag"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -0,0 +1,147 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.AspectJExpressionPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times every public call into the service facades (the *Service and *ServiceImpl
+ * beans) as the {@code fleet.service} timer, tagged with class, method, outcome
+ * (success/error) and exception, and published with a percentile histogram (see
+ * /actuator/metrics/fleet.service). The in-memory indexes and caches those facades
+ * call per request, the confirmation number allocator and the fleet snapshot's
+ * save hooks are left out: their calls take microseconds, and timing them would
+ * cost about as much again and flood the registry with per-method timers.
+ *
+ * A plain MethodInterceptor rather than an @Aspect: it skips the join point objects
+ * Spring builds for @Around advice, and timers are looked up once per method and
+ * outcome, so a call costs two nanoTime reads and a histogram record. Client-side
+ * percentiles ({@code fleet.timing.percentiles}) are off by default; they cost more
+ * than the rest of the interceptor together. Calls slower than
+ * {@code fleet.timing.slow-ms} are logged at DEBUG, sampled by
+ * {@code fleet.timing.slow-log-sample}.
+ *
+ * Runs outside {@code @Transactional}, so the time includes the commit. Calls a
+ * service makes on itself are not proxied and not timed.
+ */
+@Component
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+@ConditionalOnProperty(name = "fleet.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceTimingInterceptor extends AspectJExpressionPointcutAdvisor implements MethodInterceptor {
+
+    public static final String METRIC = "fleet.service";
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceTimingInterceptor.class);
+
+    // Resolved on first use: advisors are created while BeanPostProcessors are still being set up
+    private final Supplier<MeterRegistry> registry;
+
+    @Value("${fleet.timing.slow-ms:500}")
+    private long slowMs = 500;
+
+    // Fraction of slow calls that get a log line
+    @Value("${fleet.timing.slow-log-sample:0.1}")
+    private double slowLogSample = 0.1;
+
+    @Value("${fleet.timing.percentiles:}")
+    private double[] percentiles = {};
+
+    private final Map<Class<?>, Map<Method, MethodTimers>> timers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ServiceTimingInterceptor(ObjectProvider<MeterRegistry> registry) {
+        this((Supplier<MeterRegistry>) registry::getObject);
+    }
+
+    public ServiceTimingInterceptor(Supplier<MeterRegistry> registry) {
+        this.registry = registry;
+        setExpression("execution(public * com.example.demo.Service.*Service*.*(..))"
+                + " && !execution(* com.example.demo.Service.ConfirmationNumberService.*(..))"
+                + " && !execution(* com.example.demo.Service.FleetSnapshotService.*(..))");
+        setAdvice(this);
+        setOrder(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MethodTimers methodTimers = timers(invocation);
+        long started = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            record(methodTimers, methodTimers.success, System.nanoTime() - started, null);
+            return result;
+        } catch (Throwable e) {
+            record(methodTimers, methodTimers.error(e.getClass()), System.nanoTime() - started, e);
+            throw e;
+        }
+    }
+
+    private void record(MethodTimers methodTimers, Timer timer, long nanos, Throwable error) {
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos >= TimeUnit.MILLISECONDS.toNanos(slowMs) && logger.isDebugEnabled()
+                && ThreadLocalRandom.current().nextDouble() < slowLogSample) {
+            logger.debug("Slow service call {}.{} took {} ms{}", methodTimers.className, methodTimers.methodName,
+                    TimeUnit.NANOSECONDS.toMillis(nanos), error == null ? "" : " and threw " + error);
+        }
+    }
+
+    private MethodTimers timers(MethodInvocation invocation) {
+        // get() before computeIfAbsent: the capturing lambdas would allocate on every call
+        Class<?> targetClass = invocation.getThis().getClass();
+        Method method = invocation.getMethod();
+        Map<Method, MethodTimers> byMethod = timers.get(targetClass);
+        MethodTimers methodTimers = byMethod != null ? byMethod.get(method) : null;
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(targetClass, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(method, k -> new MethodTimers(
+                            ClassUtils.getUserClass(targetClass).getSimpleName(), method.getName()));
+        }
+        return methodTimers;
+    }
+
+    private final class MethodTimers {
+        private final String className;
+        private final String methodName;
+        private final Timer success;
+        private final Map<Class<?>, Timer> errors = new ConcurrentHashMap<>();
+
+        MethodTimers(String className, String methodName) {
+            this.className = className;
+            this.methodName = methodName;
+            this.success = timer("success", "none");
+        }
+
+        Timer error(Class<?> exception) {
+            return errors.computeIfAbsent(exception, k -> timer("error", k.getSimpleName()));
+        }
+
+        private Timer timer(String outcome, String exception) {
+            return Timer.builder(METRIC)
+                    .description("Service method execution time")
+                    .tags("class", className, "method", methodName, "outcome", outcome, "exception", exception)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(percentiles)
+                    .register(registry.get());
+        }
+    }
+}
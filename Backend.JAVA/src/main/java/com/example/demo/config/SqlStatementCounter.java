@@ -0,0 +1,124 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts the SQL statements executed on the current thread, whichever way they
+ * reach the database: Hibernate, JdbcTemplate or plain JDBC. The DataSource is
+ * wrapped so every execute call on its statements counts once; a JDBC batch is
+ * one round trip and counts once too.
+ *
+ * Wraps the pool itself, before {@link JdbcConnectionLimiter}, so the limiter's
+ * permit stays the outermost layer.
+ */
+@Component
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+public class SqlStatementCounter implements BeanPostProcessor, Ordered {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Statements executed on this thread so far; subtract two readings for a delta.
+     */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+            return new CountingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    static class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(obtainTargetDataSource().getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(obtainTargetDataSource().getConnection(username, password));
+        }
+
+        // ConnectionProxy, so Spring's DataSourceUtils still matches it to the target connection
+        private static Connection counting(Connection target) {
+            return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                    new Class<?>[] { ConnectionProxy.class }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getTargetConnection":
+                                return target;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                Object result = invoke(target, method, args);
+                                // createStatement, prepareStatement and prepareCall
+                                return result instanceof Statement statement
+                                        && Statement.class.isAssignableFrom(method.getReturnType())
+                                        ? counting(statement, method.getReturnType(), (Connection) proxy)
+                                        : result;
+                        }
+                    });
+        }
+
+        private static Object counting(Statement target, Class<?> type, Connection connection) {
+            return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[] { type },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "getConnection":
+                                return connection;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "execute":
+                            case "executeQuery":
+                            case "executeUpdate":
+                            case "executeLargeUpdate":
+                            case "executeBatch":
+                            case "executeLargeBatch":
+                                COUNT.get()[0]++;
+                                return invoke(target, method, args);
+                            default:
+                                return invoke(target, method, args);
+                        }
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bearer tokens that already passed signature and expiry checks, mapped to the
+ * principal loaded for them.
+ *
+ * An entry lives until the token expires or {@code fleet.jwt-cache.ttl-ms} passes,
+ * whichever is first, so a changed user record is picked up within the TTL. The map
+ * is capped at {@code fleet.jwt-cache.max-entries}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Value("${fleet.jwt-cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${fleet.jwt-cache.max-entries:10000}")
+    private int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserDetails get(String token) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(token, entry);
+            return null;
+        }
+        return entry.principal;
+    }
+
+    public void put(String token, UserDetails principal, Date tokenExpiry) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMs;
+        if (tokenExpiry != null) {
+            expiresAt = Math.min(expiresAt, tokenExpiry.getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(token, new Entry(principal, expiresAt));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Drops expired entries, then arbitrary ones until there is 10% headroom
+    private synchronized void evict(long now) {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        entries.values().removeIf(e -> e.expiresAt <= now);
+        int target = maxEntries / 10 * 9;
+        Iterator<String> it = entries.keySet().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final UserDetails principal;
+        private final long expiresAt;
+
+        Entry(UserDetails principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
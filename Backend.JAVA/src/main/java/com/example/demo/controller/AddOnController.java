@@ -1,14 +1,14 @@
 package com.example.demo.controller;
 
 import com.example.demo.Service.AddOnService;
+import com.example.demo.Service.ReferenceDataCache;
 import com.example.demo.dto.AddOnDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("api/v1")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -17,11 +17,15 @@ public class AddOnController {
     @Autowired
     private AddOnService addOnService;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     @GetMapping("addons")
-    public ResponseEntity<?> getAllAddOns() {
+    public ResponseEntity<?> getAllAddOns(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<AddOnDTO> addOns = addOnService.getAllAddOns();
-            return new ResponseEntity<>(addOns, HttpStatus.OK);
+            return referenceDataCache.respond(ReferenceDataCache.ADD_ONS, "all", ifNoneMatch,
+                    addOnService::getAllAddOns);
 
         } catch (RuntimeException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
@@ -37,6 +37,9 @@ public class AdminController {
     @Autowired
     private com.example.demo.Service.UserService userService;
 
+    @Autowired
+    private com.example.demo.Service.FleetSnapshotService fleetSnapshotService;
+
     @PostMapping("/upload-rates")
     public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file) {
         if (excelUploadService == null) {
@@ -56,8 +59,24 @@ public class AdminController {
     }
 
     @GetMapping("/bookings")
-    public ResponseEntity<List<BookingResponse>> getAllBookings() {
-        return ResponseEntity.ok(bookingService.getAllBookings());
+    public ResponseEntity<List<BookingResponse>> getAllBookings(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit) {
+        // Paged like /booking/all
+        com.example.demo.dto.BookingPage page = bookingService.getBookingsPage(afterId, limit);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(BookingController.NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return builder.body(page.getItems());
+    }
+
+    @GetMapping(value = "/bookings", produces = BookingController.NDJSON)
+    public ResponseEntity<org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody> streamAllBookings() {
+        org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody body = bookingService::streamAllBookings;
+        return ResponseEntity.ok()
+                .contentType(org.springframework.http.MediaType.parseMediaType(BookingController.NDJSON))
+                .body(body);
     }
 
     @GetMapping("/fleet-overview")
@@ -66,115 +85,13 @@ public class AdminController {
             @RequestParam(required = false) String endDate) {
 
         try {
-            List<com.example.demo.Entity.CarMaster> cars = carRepository.findAll();
-
-            List<com.example.demo.Entity.BookingHeaderTable> relevantBookings;
-
+            com.example.demo.dto.FleetOverviewResponse response;
             if (startDate != null && endDate != null) {
-                java.time.LocalDate start = java.time.LocalDate.parse(startDate);
-                java.time.LocalDate end = java.time.LocalDate.parse(endDate);
-                relevantBookings = bookingRepository.findBookingsByDateRange(start, end);
+                response = fleetSnapshotService.getOverviewForRange(java.time.LocalDate.parse(startDate),
+                        java.time.LocalDate.parse(endDate));
             } else {
-                relevantBookings = bookingRepository.findByBookingStatus("ACTIVE");
-            }
-
-            // Group cars by hub
-            Map<Integer, List<com.example.demo.Entity.CarMaster>> carsByHub = cars.stream()
-                    .filter(c -> c.getHub() != null)
-                    .collect(java.util.stream.Collectors.groupingBy(c -> c.getHub().getHubId()));
-
-            List<com.example.demo.dto.FleetOverviewResponse.HubFleetData> hubFleetDataList = new java.util.ArrayList<>();
-
-            for (Map.Entry<Integer, List<com.example.demo.Entity.CarMaster>> entry : carsByHub.entrySet()) {
-                Integer hubId = entry.getKey();
-                List<com.example.demo.Entity.CarMaster> hubCars = entry.getValue();
-
-                if (hubCars.isEmpty())
-                    continue;
-
-                com.example.demo.Entity.HubMaster hub = hubCars.get(0).getHub();
-
-                List<com.example.demo.dto.FleetOverviewResponse.CarStatusData> carStatusList = new java.util.ArrayList<>();
-
-                for (com.example.demo.Entity.CarMaster car : hubCars) {
-                    String status = "Available";
-                    com.example.demo.dto.FleetOverviewResponse.RentalInfo rentalInfo = null;
-
-                    com.example.demo.Entity.BookingHeaderTable booking = relevantBookings.stream()
-                            .filter(b -> b.getCar() != null && b.getCar().getCarId() == car.getCarId())
-                            .filter(b -> {
-                                // If no date range provided (current status view), only consider bookings
-                                // active TODAY
-                                if (startDate == null) {
-                                    java.time.LocalDate today = java.time.LocalDate.now();
-                                    return (today.isEqual(b.getStartDate()) || today.isAfter(b.getStartDate())) &&
-                                            (today.isEqual(b.getEndDate()) || today.isBefore(b.getEndDate()));
-                                }
-                                return true; // If date range provided, relevantBookings is already filtered
-                            })
-                            .findFirst()
-                            .orElse(null);
-
-                    if (booking != null) {
-                        status = "Rented";
-                        rentalInfo = new com.example.demo.dto.FleetOverviewResponse.RentalInfo(
-                                booking.getBookingId(),
-                                booking.getFirstName() + " " + booking.getLastName(),
-                                booking.getStartDate(),
-                                booking.getEndDate(),
-                                booking.getPickupTime());
-                    } else if (car.getIsAvailable() == com.example.demo.Entity.CarMaster.AvailabilityStatus.N ||
-                            car.getIsAvailable() == com.example.demo.Entity.CarMaster.AvailabilityStatus.NO) {
-                        if (startDate == null) {
-                            status = "Maintenance";
-                        }
-                    }
-
-                    carStatusList.add(new com.example.demo.dto.FleetOverviewResponse.CarStatusData(
-                            car.getCarId(),
-                            car.getCarName(),
-                            car.getCarType() != null ? car.getCarType().getCarTypeName() : "Unknown",
-                            car.getNumberPlate(),
-                            status,
-                            car.getCarType() != null ? car.getCarType().getDailyRate() : null,
-                            car.getImagePath(),
-                            rentalInfo));
-                }
-
-                int total = carStatusList.size();
-                int available = (int) carStatusList.stream().filter(c -> "Available".equals(c.getStatus())).count();
-                int rented = (int) carStatusList.stream().filter(c -> "Rented".equals(c.getStatus())).count();
-                int maintenance = (int) carStatusList.stream().filter(c -> "Maintenance".equals(c.getStatus())).count();
-
-                hubFleetDataList.add(new com.example.demo.dto.FleetOverviewResponse.HubFleetData(
-                        hub.getHubId(),
-                        hub.getHubName(),
-                        hub.getCity() != null ? hub.getCity().getCityName() : "Unknown",
-                        carStatusList,
-                        total,
-                        available,
-                        rented,
-                        maintenance));
+                response = fleetSnapshotService.getCurrentOverview();
             }
-
-            int totalCars = cars.size();
-            int totalAvailable = hubFleetDataList.stream()
-                    .mapToInt(com.example.demo.dto.FleetOverviewResponse.HubFleetData::getAvailableCars).sum();
-            int totalRented = hubFleetDataList.stream()
-                    .mapToInt(com.example.demo.dto.FleetOverviewResponse.HubFleetData::getRentedCars).sum();
-            int totalMaintenance = hubFleetDataList.stream()
-                    .mapToInt(com.example.demo.dto.FleetOverviewResponse.HubFleetData::getMaintenanceCars).sum();
-            double utilizationRate = totalCars > 0 ? (double) totalRented / totalCars * 100 : 0;
-
-            com.example.demo.dto.FleetOverviewResponse response = new com.example.demo.dto.FleetOverviewResponse();
-            response.setHubs(hubFleetDataList);
-            response.setStatistics(new com.example.demo.dto.FleetOverviewResponse.FleetStatistics(
-                    totalCars,
-                    totalAvailable,
-                    totalRented,
-                    totalMaintenance,
-                    Math.round(utilizationRate * 100.0) / 100.0));
-
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
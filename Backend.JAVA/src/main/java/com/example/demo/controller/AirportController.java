@@ -2,11 +2,14 @@ package com.example.demo.controller;
 
 import com.example.demo.Repository.projection.HubInfoProjection;
 import com.example.demo.Service.AirportService;
+import com.example.demo.Service.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,6 +24,9 @@ public class AirportController {
     @Autowired
     private AirportService airportService;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     @GetMapping("airport")
     public ResponseEntity<?> getHubByAirportCode(@RequestParam String airportCode) {
         try {
@@ -37,13 +43,17 @@ public class AirportController {
     }
 
     @GetMapping("airports")
-    public ResponseEntity<List<HubInfoProjection>> getAllAirports() {
-        return new ResponseEntity<>(airportService.getAllAirports(), HttpStatus.OK);
+    public ResponseEntity<byte[]> getAllAirports(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataCache.respond(ReferenceDataCache.AIRPORTS, "all", ifNoneMatch,
+                airportService::getAllAirports);
     }
 
     @GetMapping("airports/{stateId}")
-    public ResponseEntity<List<HubInfoProjection>> getAirportsByStateId(
-            @org.springframework.web.bind.annotation.PathVariable int stateId) {
-        return new ResponseEntity<>(airportService.getAirportsByStateId(stateId), HttpStatus.OK);
+    public ResponseEntity<byte[]> getAirportsByStateId(
+            @org.springframework.web.bind.annotation.PathVariable int stateId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataCache.respond(ReferenceDataCache.AIRPORTS, "state:" + stateId, ifNoneMatch,
+                () -> airportService.getAirportsByStateId(stateId));
     }
 }
@@ -4,12 +4,16 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import com.example.demo.Service.BookingService;
+import com.example.demo.dto.BatchBookingResult;
+import com.example.demo.dto.BookingPage;
 import com.example.demo.dto.BookingRequest;
 import com.example.demo.dto.BookingResponse;
 import com.example.demo.dto.ReturnRequest;
 import com.example.demo.dto.HandoverRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.time.format.DateTimeFormatter;
 
 @RestController
@@ -17,6 +21,9 @@ import java.time.format.DateTimeFormatter;
 @CrossOrigin(origins = "http://localhost:3000")
 public class BookingController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private BookingService bookingService;
 
@@ -43,9 +50,24 @@ public class BookingController {
         return ResponseEntity.ok(bookings);
     }
 
+    // One keyset page (100 bookings unless limit says otherwise, at most 500); X-Next-Cursor
+    // carries the afterId of the next one. The full list is only available as NDJSON.
     @GetMapping("/all")
-    public ResponseEntity<java.util.List<BookingResponse>> getAllBookings() {
-        return ResponseEntity.ok(bookingService.getAllBookings());
+    public ResponseEntity<java.util.List<BookingResponse>> getAllBookings(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Integer limit) {
+        BookingPage page = bookingService.getBookingsPage(afterId, limit);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            builder.header(NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return builder.body(page.getItems());
+    }
+
+    @GetMapping(value = "/all", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAllBookings() {
+        StreamingResponseBody body = bookingService::streamAllBookings;
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     @PostMapping("/create")
@@ -54,6 +76,13 @@ public class BookingController {
         return ResponseEntity.ok(booking);
     }
 
+    // Many bookings in one transaction; each result says whether its item was booked or why not
+    @PostMapping("/batch")
+    public ResponseEntity<java.util.List<BatchBookingResult>> createBookings(
+            @RequestBody java.util.List<BookingRequest> requests) {
+        return ResponseEntity.ok(bookingService.createBookings(requests));
+    }
+
     @PostMapping("/handover/{bookingId}")
     public ResponseEntity<BookingResponse> handoverCar(@PathVariable Long bookingId) {
         BookingResponse booking = bookingService.handoverCar(bookingId);
@@ -72,16 +101,12 @@ public class BookingController {
         return ResponseEntity.ok(booking);
     }
 
-    // Endpoint removed as per single-integer ID refactor
-    /*
-     * @GetMapping("/search/{confirmationNumber}")
-     * public ResponseEntity<BookingResponse> getBookingByConfirmation(@PathVariable
-     * String confirmationNumber) {
-     * BookingResponse booking =
-     * bookingService.getBookingByConfirmation(confirmationNumber);
-     * return ResponseEntity.ok(booking);
-     * }
-     */
+    // Case-insensitive; a code whose check character doesn't match is a 400
+    @GetMapping("/search/{confirmationNumber}")
+    public ResponseEntity<BookingResponse> getBookingByConfirmation(@PathVariable String confirmationNumber) {
+        BookingResponse booking = bookingService.getBookingByConfirmation(confirmationNumber);
+        return ResponseEntity.ok(booking);
+    }
 
     @PostMapping("/cancel/{bookingId}")
     public ResponseEntity<BookingResponse> cancelBooking(@PathVariable Long bookingId) {
@@ -0,0 +1,24 @@
+package com.example.demo.controller;
+
+import com.example.demo.config.BookingMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// /actuator/bookingstats: booking lifecycle latency percentiles, SQL statements per operation,
+// resulting statuses, invoice generation time and open booking counts
+@Component
+@Endpoint(id = "bookingstats")
+public class BookingStatsEndpoint {
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @ReadOperation
+    public Map<String, Object> bookingStats() {
+        return bookingMetrics.getStats();
+    }
+}
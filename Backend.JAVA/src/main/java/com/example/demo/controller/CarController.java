@@ -27,9 +27,8 @@ public class CarController {
     public ResponseEntity<?> uploadFile(@RequestParam("file") org.springframework.web.multipart.MultipartFile file) {
         String message = "";
         try {
-            excelUploadService.save(file);
-            message = "Uploaded the file successfully: " + file.getOriginalFilename();
-            return ResponseEntity.status(HttpStatus.OK).body(new com.example.demo.dto.MessageResponse(message));
+            com.example.demo.dto.CarImportReport report = excelUploadService.save(file);
+            return ResponseEntity.status(HttpStatus.OK).body(report);
         } catch (Exception e) {
             message = "Could not upload the file: " + file.getOriginalFilename() + "!";
             return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED)
@@ -1,12 +1,12 @@
 package com.example.demo.controller;
 
-import com.example.demo.Entity.CarTypeMaster;
 import com.example.demo.Service.CarTypeMasterService;
+import com.example.demo.Service.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/v1")
 @CrossOrigin(origins = {
@@ -18,9 +18,14 @@ public class CarTypeMasterController {
     @Autowired
     private CarTypeMasterService carTypeMasterService;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     @GetMapping("/car-types")
-    public List<CarTypeMaster> getAllCarTypes() {
-        return carTypeMasterService.getAllCarTypes();
+    public ResponseEntity<byte[]> getAllCarTypes(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataCache.respond(ReferenceDataCache.CAR_TYPES, "all", ifNoneMatch,
+                carTypeMasterService::getAllCarTypes);
     }
 }
 
@@ -1,16 +1,17 @@
 package com.example.demo.controller;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.example.demo.Entity.CityMaster;
 import com.example.demo.Service.CityService;
+import com.example.demo.Service.ReferenceDataCache;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:3000")
@@ -20,14 +21,20 @@ public class CityController {
     @Autowired
     private CityService cityService;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     @GetMapping("/cities")
-    public List<CityMaster> getAllCities() {
-        return cityService.getAllCities();
+    public ResponseEntity<byte[]> getAllCities(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataCache.respond(ReferenceDataCache.CITIES, "all", ifNoneMatch, cityService::getAllCities);
     }
 
     @GetMapping("/cities/state/{stateId}")
-    public List<CityMaster> getCitiesByState(@PathVariable int stateId) {
-        return cityService.getCitiesByState(stateId);
+    public ResponseEntity<byte[]> getCitiesByState(@PathVariable int stateId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataCache.respond(ReferenceDataCache.CITIES, "state:" + stateId, ifNoneMatch,
+                () -> cityService.getCitiesByState(stateId));
     }
 
 }
@@ -3,7 +3,9 @@ package com.example.demo.controller;
 import com.example.demo.Entity.HubMaster;
 
 import com.example.demo.Repository.projection.HubInfoProjection;
+import com.example.demo.Service.AvailabilityCalendarService;
 import com.example.demo.Service.HubService;
+import com.example.demo.dto.AvailabilityCalendar;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +19,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +35,9 @@ public class HubController {
     @Autowired
     private HubService hubService;
 
+    @Autowired
+    private AvailabilityCalendarService availabilityCalendarService;
+
     @GetMapping("hubs")
     public ResponseEntity<List<HubInfoProjection>> getAllHubListByCityIdAndStateId(
             @RequestParam(required = false) String stateName,
@@ -67,6 +74,21 @@ public class HubController {
         return new ResponseEntity<>(hubService.getHubsByCityId(cityId), HttpStatus.OK);
     }
 
+    // Free cars per day of the month (yyyy-MM, default this month), as a one-day
+    // /cars/available search would count them
+    @GetMapping("hubs/{hubId}/availability-calendar")
+    public ResponseEntity<AvailabilityCalendar> getAvailabilityCalendar(@PathVariable int hubId,
+            @RequestParam(required = false) String month,
+            @RequestParam(required = false) Long carTypeId) {
+        YearMonth yearMonth;
+        try {
+            yearMonth = month == null ? YearMonth.now() : YearMonth.parse(month);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid month, expected yyyy-MM");
+        }
+        return new ResponseEntity<>(availabilityCalendarService.getCalendar(hubId, yearMonth, carTypeId), HttpStatus.OK);
+    }
+
     @GetMapping("locations/search")
     public ResponseEntity<List<HubInfoProjection>> searchLocations(@RequestParam String query) {
         List<HubInfoProjection> hubs = hubService.searchHubs(query);
@@ -1,15 +1,15 @@
 package com.example.demo.controller;
 
 import com.example.demo.Service.InvoiceService;
+import com.example.demo.Service.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.io.ByteArrayInputStream;
-
 @RestController
 @RequestMapping("/api/v1/invoice")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -19,10 +19,16 @@ public class InvoiceController {
     private InvoiceService invoiceService;
 
     @GetMapping(value = "/{bookingId}", produces = MediaType.APPLICATION_PDF_VALUE)
-    public ResponseEntity<InputStreamResource> downloadInvoice(@PathVariable Long bookingId) {
+    public ResponseEntity<Resource> downloadInvoice(@PathVariable Long bookingId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        InvoiceService.InvoiceSource invoice = invoiceService.getInvoiceSource(bookingId);
 
-        byte[] pdfBytes = invoiceService.generateInvoicePDF(bookingId);
-        ByteArrayInputStream bis = new ByteArrayInputStream(pdfBytes);
+        // The ETag is the hash of the invoice inputs, so a match means the client copy is
+        // current and nothing needs rendering or reading from disk
+        if (ReferenceDataCache.matches(ifNoneMatch, invoice.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(invoice.getETag()).build();
+        }
 
         HttpHeaders headers = new HttpHeaders();
         headers.add("Content-Disposition", "attachment; filename=invoice_" + bookingId + ".pdf");
@@ -30,8 +36,8 @@ public class InvoiceController {
         return ResponseEntity
                 .ok()
                 .headers(headers)
+                .eTag(invoice.getETag())
                 .contentType(MediaType.APPLICATION_PDF)
-                .body(new InputStreamResource(bis));
+                .body(invoiceService.openInvoicePdf(invoice));
     }
 }
-
@@ -0,0 +1,23 @@
+package com.example.demo.controller;
+
+import com.example.demo.Service.InvoiceEmailOutboxService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// /actuator/invoiceoutbox: invoice email queue depth, age of the oldest unsent row and worker load
+@Component
+@Endpoint(id = "invoiceoutbox")
+public class InvoiceOutboxEndpoint {
+
+    @Autowired
+    private InvoiceEmailOutboxService outboxService;
+
+    @ReadOperation
+    public Map<String, Object> outbox() {
+        return outboxService.getQueueStats();
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.demo.controller;
 
 import com.example.demo.Service.LocaleService;
+import com.example.demo.Service.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/locales")
@@ -14,7 +19,21 @@ public class LocaleController {
     private LocaleService localeService;
 
     @GetMapping("/{lang}")
-    public Map<String, Object> getTranslations(@PathVariable String lang) {
-        return localeService.getTranslations(lang);
+    public ResponseEntity<byte[]> getTranslations(@PathVariable String lang,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LocaleService.Bundle bundle = localeService.getBundle(lang);
+        if (bundle == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        // Bundles only change on deploy (or a watched edit), so revalidation is almost always a 304
+        if (ReferenceDataCache.matches(ifNoneMatch, bundle.getETag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(bundle.getETag())
+                    .cacheControl(CacheControl.noCache()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(bundle.getETag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(bundle.getJson());
     }
 }
@@ -1,16 +1,15 @@
 package com.example.demo.controller;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.example.demo.Entity.StateMaster;
+import com.example.demo.Service.ReferenceDataCache;
 import com.example.demo.Service.StateServiceImpl;
 
 @RestController
@@ -21,13 +20,14 @@ public class StateController {
 	@Autowired
 	private StateServiceImpl serviceImpl;
 
+	@Autowired
+	private ReferenceDataCache referenceDataCache;
+
 	@GetMapping(value = "/states")
-	public ResponseEntity<List<StateMaster>> State() {
+	public ResponseEntity<byte[]> State(
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
-		List<StateMaster> list = serviceImpl.getAllStateMaster();
-		if (list == null) {
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
-		}
-		return ResponseEntity.status(HttpStatus.OK).body(list);
+		return referenceDataCache.respond(ReferenceDataCache.STATES, "all", ifNoneMatch,
+				serviceImpl::getAllStateMaster);
 	}
 }
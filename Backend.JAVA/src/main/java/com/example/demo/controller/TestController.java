@@ -18,6 +18,8 @@ public class TestController {
 	private com.example.demo.Repository.CarTypeMasterRepository carTypeMasterRepository;
 	@org.springframework.beans.factory.annotation.Autowired
 	private com.example.demo.Repository.CarRepository carRepository;
+	@org.springframework.beans.factory.annotation.Autowired
+	private com.example.demo.Service.ReferenceDataCache referenceDataCache;
 
 	@GetMapping("/home")
 	public String HomePage(HttpServletRequest request) {
@@ -88,6 +90,7 @@ public class TestController {
 				carRepository.save(car);
 			}
 
+			referenceDataCache.bumpAll();
 			return "Data Seeded Successfully!";
 		} catch (Exception e) {
 			e.printStackTrace();
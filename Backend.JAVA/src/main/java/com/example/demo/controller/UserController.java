@@ -4,11 +4,9 @@ import java.time.LocalTime;
 
 import org.slf4j.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -20,6 +18,8 @@ import java.util.Map;
 import com.example.demo.Entity.User;
 import com.example.demo.Service.JwtService;
 import com.example.demo.Service.UserService;
+import com.example.demo.dto.LoginAccount;
+import com.example.demo.exception.LoginThrottledException;
 
 @RestController
 @CrossOrigin(origins = "http://localhost:3000")
@@ -28,15 +28,9 @@ public class UserController {
 	@Autowired
 	private UserService userService;
 
-	@Autowired
-	private AuthenticationManager authManager;
-
 	@Autowired
 	private JwtService jwtService;
 
-	@Autowired
-	private com.example.demo.Repository.CustomerRepository customerRepository;
-
 	private static final Logger logger = LoggerFactory.getLogger(UserController.class);
 
 	@PostMapping("/register")
@@ -53,39 +47,15 @@ public class UserController {
 	@PostMapping(value = "/login")
 	public ResponseEntity<?> login(@RequestBody User user) {
 		try {
-			Authentication authentication = authManager.authenticate(
-					new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword()));
-
-			if (authentication.isAuthenticated()) {
-				logger.info("Signed In Successfully " + user.getUsername());
-				String jwt = jwtService.generateToken(user.getUsername());
-
-				// Fetch full user details
-				User fullUser = userService.getUserByUsername(user.getUsername());
-
-				Map<String, Object> response = new HashMap<>();
-				response.put("token", jwt);
-				response.put("role", fullUser.getRole());
-				response.put("userId", fullUser.getId());
-				response.put("email", fullUser.getEmail());
-				response.put("username", fullUser.getUsername());
-				if (fullUser.getHub() != null) {
-					response.put("hubId", fullUser.getHub().getHubId());
-				}
-
-				com.example.demo.Entity.CustomerMaster customer = customerRepository
-						.findByEmailIgnoreCase(fullUser.getEmail());
-				if (customer != null) {
-					response.put("customerId", customer.getCustId());
-				} else {
-					// Fallback using userId if no customer record found, though this is risky
-					response.put("customerId", fullUser.getId());
-				}
-
-				return ResponseEntity.ok(response);
-			} else {
-				return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Authentication failed");
-			}
+			// One query for user, hub and customer id; BCrypt runs on the bounded verifier pool
+			LoginAccount account = userService.login(user.getUsername(), user.getPassword());
+			logger.info("Signed In Successfully " + user.getUsername());
+			String jwt = jwtService.generateToken(account.getUsername());
+			return ResponseEntity.ok(loginResponse(jwt, account));
+		} catch (LoginThrottledException e) {
+			return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+					.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+					.body(e.getMessage());
 		} catch (Exception e) {
 			logger.error("Sign In Error", e);
 			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Login Error: " + e.getMessage());
@@ -102,33 +72,30 @@ public class UserController {
 			String jwt = googleAuthService.verifyGoogleTokenAndGetJwt(token);
 
 			String username = jwtService.extractUserName(jwt);
-			User fullUser = userService.getUserByUsername(username);
-
-			Map<String, Object> response = new HashMap<>();
-			response.put("token", jwt);
-			response.put("role", fullUser.getRole());
-			response.put("userId", fullUser.getId());
-			response.put("email", fullUser.getEmail());
-			response.put("username", fullUser.getUsername());
-			if (fullUser.getHub() != null) {
-				response.put("hubId", fullUser.getHub().getHubId());
-			}
-
-			com.example.demo.Entity.CustomerMaster customer = customerRepository
-					.findByEmailIgnoreCase(fullUser.getEmail());
-			if (customer != null) {
-				response.put("customerId", customer.getCustId());
-			} else {
-				response.put("customerId", fullUser.getId());
-			}
-
-			return ResponseEntity.ok(response);
+			return ResponseEntity.ok(loginResponse(jwt, userService.getLoginAccount(username)));
 		} catch (Exception e) {
 			logger.error("Google Sign In Error", e);
 			return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Google Error: " + e.getMessage());
 		}
 	}
 
+	private Map<String, Object> loginResponse(String jwt, LoginAccount account) {
+		Map<String, Object> response = new HashMap<>();
+		response.put("token", jwt);
+		response.put("role", account.getRole());
+		response.put("userId", account.getUserId());
+		response.put("email", account.getEmail());
+		response.put("username", account.getUsername());
+		if (account.getHubId() != null) {
+			response.put("hubId", account.getHubId());
+		}
+		// Staff and admins usually have no customer record; a user id is never sent in its place
+		if (account.getCustomerId() != null) {
+			response.put("customerId", account.getCustomerId());
+		}
+		return response;
+	}
+
 	@Autowired
 	private com.example.demo.Service.EmailService emailService;
 
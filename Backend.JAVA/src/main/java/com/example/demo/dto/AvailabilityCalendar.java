@@ -0,0 +1,53 @@
+package com.example.demo.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Free cars per day of one month at a hub, optionally for one car type
+public class AvailabilityCalendar {
+    private int hubId;
+    private Long carTypeId;
+    private String month; // yyyy-MM
+    private List<Day> days;
+
+    public AvailabilityCalendar(int hubId, Long carTypeId, String month, List<Day> days) {
+        this.hubId = hubId;
+        this.carTypeId = carTypeId;
+        this.month = month;
+        this.days = days;
+    }
+
+    public int getHubId() {
+        return hubId;
+    }
+
+    public Long getCarTypeId() {
+        return carTypeId;
+    }
+
+    public String getMonth() {
+        return month;
+    }
+
+    public List<Day> getDays() {
+        return days;
+    }
+
+    public static class Day {
+        private LocalDate date;
+        private int freeCars;
+
+        public Day(LocalDate date, int freeCars) {
+            this.date = date;
+            this.freeCars = freeCars;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public int getFreeCars() {
+            return freeCars;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.dto;
+
+// Outcome of one item of POST /booking/batch; index is its position in the request
+public class BatchBookingResult {
+    private int index;
+    private boolean success;
+    private BookingResponse booking;
+    private String error;
+
+    public BatchBookingResult(int index, BookingResponse booking) {
+        this.index = index;
+        this.success = true;
+        this.booking = booking;
+    }
+
+    public BatchBookingResult(int index, String error) {
+        this.index = index;
+        this.success = false;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public BookingResponse getBooking() {
+        return booking;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public class BookingPage {
+    private List<BookingResponse> items;
+    private Long nextCursor; // null when this is the last page
+
+    public BookingPage(List<BookingResponse> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BookingResponse> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BookingResponse> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
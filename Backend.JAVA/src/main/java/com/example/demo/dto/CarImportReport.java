@@ -0,0 +1,61 @@
+package com.example.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CarImportReport {
+    private String message;
+    private int imported;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>(); // capped; see failed for the full count
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public static class RowError {
+        private int row; // 1-based, as shown in Excel
+        private String error;
+
+        public RowError(int row, String error) {
+            this.row = row;
+            this.error = error;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
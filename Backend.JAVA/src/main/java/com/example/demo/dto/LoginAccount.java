@@ -0,0 +1,53 @@
+package com.example.demo.dto;
+
+import com.example.demo.Entity.Role;
+
+// What /login needs about a user, with its hub and customer id, read in one query
+public class LoginAccount {
+    private int userId;
+    private String username;
+    private String passwordHash;
+    private String email;
+    private Role role;
+    private Integer hubId;
+    private Integer customerId;
+
+    public LoginAccount(int userId, String username, String passwordHash, String email, Role role, Integer hubId,
+            Integer customerId) {
+        this.userId = userId;
+        this.username = username;
+        this.passwordHash = passwordHash;
+        this.email = email;
+        this.role = role;
+        this.hubId = hubId;
+        this.customerId = customerId;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public Integer getHubId() {
+        return hubId;
+    }
+
+    public Integer getCustomerId() {
+        return customerId;
+    }
+}
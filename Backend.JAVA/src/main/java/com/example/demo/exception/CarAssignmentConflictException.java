@@ -0,0 +1,13 @@
+package com.example.demo.exception;
+
+// Raised when a car cannot be assigned because another booking took it first
+public class CarAssignmentConflictException extends RuntimeException {
+
+    public CarAssignmentConflictException(String message) {
+        super(message);
+    }
+
+    public CarAssignmentConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.demo.exception;
 
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
@@ -12,6 +14,19 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    // A pessimistic failure is a car row another instance held past the lock wait timeout
+    @ExceptionHandler({ CarAssignmentConflictException.class, ObjectOptimisticLockingFailureException.class,
+            PessimisticLockingFailureException.class })
+    public ResponseEntity<Object> handleConflict(RuntimeException ex, WebRequest request) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", java.time.LocalDateTime.now());
+        body.put("message", ex instanceof CarAssignmentConflictException ? ex.getMessage()
+                : "The record was changed by another request, please retry");
+        body.put("status", HttpStatus.CONFLICT.value());
+
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Object> handleRuntimeException(RuntimeException ex, WebRequest request) {
         Map<String, Object> body = new HashMap<>();
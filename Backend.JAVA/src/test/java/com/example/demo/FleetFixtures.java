@@ -0,0 +1,88 @@
+package com.example.demo;
+
+import com.example.demo.Entity.CarMaster;
+import com.example.demo.Entity.CarTypeMaster;
+import com.example.demo.Entity.CityMaster;
+import com.example.demo.Entity.CustomerMaster;
+import com.example.demo.Entity.HubMaster;
+import com.example.demo.Entity.StateMaster;
+import com.example.demo.Repository.CarRepository;
+import com.example.demo.Repository.CarTypeMasterRepository;
+import com.example.demo.Repository.CityRepository;
+import com.example.demo.Repository.CustomerRepository;
+import com.example.demo.Repository.HubRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Master data for the Spring Boot tests: State -> City -> Hub, car types, cars and
+// customers. Plates and emails get a running suffix, so tests sharing a context
+// (and its database) never collide. Pull in with @Import(FleetFixtures.class).
+@TestComponent
+public class FleetFixtures {
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    @Autowired
+    private CityRepository cityRepository;
+
+    @Autowired
+    private HubRepository hubRepository;
+
+    @Autowired
+    private CarTypeMasterRepository carTypeMasterRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    public HubMaster hub() {
+        return hub("Pune", "Pune Central");
+    }
+
+    public HubMaster hub(String cityName, String hubName) {
+        StateMaster state = new StateMaster();
+        state.setStateName("Maharashtra");
+        CityMaster city = new CityMaster();
+        city.setCityName(cityName);
+        city.setState(state);
+        city = cityRepository.save(city);
+        HubMaster hub = new HubMaster();
+        hub.setHubName(hubName);
+        hub.setCity(city);
+        hub.setState(city.getState());
+        return hubRepository.save(hub);
+    }
+
+    public CarTypeMaster carType(String name, double dailyRate) {
+        CarTypeMaster type = new CarTypeMaster();
+        type.setCarTypeName(name);
+        type.setDailyRate(dailyRate);
+        return carTypeMasterRepository.save(type);
+    }
+
+    public CarMaster car(String name, CarTypeMaster type, HubMaster hub) {
+        return car(name, type, hub, CarMaster.AvailabilityStatus.Y);
+    }
+
+    public CarMaster car(String name, CarTypeMaster type, HubMaster hub, CarMaster.AvailabilityStatus available) {
+        CarMaster car = new CarMaster();
+        car.setCarName(name);
+        car.setNumberPlate("MH12-" + SEQ.incrementAndGet());
+        car.setCarType(type);
+        car.setHub(hub);
+        car.setIsAvailable(available);
+        return carRepository.save(car);
+    }
+
+    public CustomerMaster customer(String firstName, String lastName) {
+        CustomerMaster customer = new CustomerMaster();
+        customer.setFirstName(firstName);
+        customer.setLastName(lastName);
+        customer.setEmail(firstName.toLowerCase() + SEQ.incrementAndGet() + "@example.com");
+        return customerRepository.save(customer);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.*;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Repository.*;
+import com.example.demo.dto.AddOnDTO;
+import com.example.demo.dto.BookingRequest;
+import com.example.demo.dto.BookingResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Add-on rates come from memory: no add-on query per booking, new add-ons are picked up
+// on the next lookup, and an expired rate fails the booking before anything is saved.
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+class AddOnPriceBookTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AddOnService addOnService;
+
+    @Autowired
+    private AddOnPriceBook addOnPriceBook;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    @Test
+    void pricesFromMemoryAndRejectsExpiredRates() {
+        HubMaster hub = fixtures.hub();
+        CarTypeMaster suv = fixtures.carType("SUV", 2500);
+        CustomerMaster customer = fixtures.customer("Price", "Book");
+
+        int gps = addOnService.addAddOn(new AddOnDTO(0, "GPS", 200, null)).getAddOnId();
+        int seat = addOnService.addAddOn(new AddOnDTO(0, "Child seat", 150, LocalDateTime.now().plusDays(30))).getAddOnId();
+        assertNull(addOnPriceBook.price(9999));
+
+        BookingRequest request = request(customer, suv, hub, List.of(gps, seat, 9999));
+        bookingService.createBooking(request);
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        BookingResponse response = bookingService.createBooking(request);
+        assertEquals(0, stats.getEntityStatistics(AddOnMaster.class.getName()).getLoadCount());
+        assertEquals(List.of("GPS", "Child seat"), response.getSelectedAddOns());
+
+        int expired = addOnService.addAddOn(new AddOnDTO(0, "Roof box", 300, LocalDateTime.now().minusDays(1))).getAddOnId();
+        long before = bookingRepository.count();
+        BookingRequest expiredRequest = request(customer, suv, hub, List.of(gps, expired));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBooking(expiredRequest));
+        assertTrue(e.getMessage().contains("Roof box"));
+        assertEquals(before, bookingRepository.count());
+
+        addOnService.deleteAddOn(expired);
+        assertNull(addOnPriceBook.price(expired));
+    }
+
+    private static BookingRequest request(CustomerMaster customer, CarTypeMaster type, HubMaster hub, List<Integer> addOns) {
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(customer.getCustId());
+        request.setCarTypeId(type.getCarTypeId());
+        request.setPickupHubId(hub.getHubId());
+        request.setReturnHubId(hub.getHubId());
+        request.setStartDate(LocalDate.now().plusDays(1));
+        request.setEndDate(LocalDate.now().plusDays(3));
+        request.setEmail(customer.getEmail());
+        request.setAddOnIds(addOns);
+        return request;
+    }
+}
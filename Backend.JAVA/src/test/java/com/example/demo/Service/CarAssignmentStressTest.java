@@ -0,0 +1,176 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.*;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Repository.*;
+import com.example.demo.dto.HandoverRequest;
+import com.example.demo.exception.CarAssignmentConflictException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+// Many desks hand over bookings onto a small pool of cars at once. Every car must
+// end up with exactly one ACTIVE booking; everyone else gets a conflict. A handover
+// that fails part-way leaves both the car and the booking as they were.
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+class CarAssignmentStressTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarAssignmentStressTest.class);
+
+    // Handover attempts per desk thread
+    private static final int ATTEMPTS_PER_THREAD = 4;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    @SpyBean
+    private InvoiceRepository invoiceRepository;
+
+    private static int seq = 0;
+
+    @ParameterizedTest
+    @ValueSource(ints = { 8, 32, 128 })
+    void concurrentHandovers_neverDoubleAssignACar(int threads) throws Exception {
+        List<CarMaster> cars = seedCars(Math.max(2, threads / 4));
+        List<Long> bookingIds = seedBookings(threads * ATTEMPTS_PER_THREAD);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Throwable> unexpected = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        for (int i = 0; i < bookingIds.size(); i++) {
+            HandoverRequest request = new HandoverRequest();
+            request.setBookingId(bookingIds.get(i));
+            request.setCarId(cars.get(i % cars.size()).getCarId());
+            pool.submit(() -> {
+                try {
+                    start.await();
+                    bookingService.processHandover(request);
+                    succeeded.incrementAndGet();
+                } catch (CarAssignmentConflictException e) {
+                    // Only the stripe lock may turn a desk away; a @Version failure would
+                    // mean two desks read the car as available
+                    conflicts.incrementAndGet();
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+                return null;
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(2, TimeUnit.MINUTES), "handovers did not finish");
+        double seconds = (System.nanoTime() - began) / 1e9;
+
+        assertTrue(unexpected.isEmpty(), "unexpected failures: " + unexpected);
+        assertEquals(bookingIds.size(), succeeded.get() + conflicts.get());
+
+        Map<Integer, Integer> activePerCar = new HashMap<>();
+        for (BookingHeaderTable booking : bookingRepository.findAllById(bookingIds)) {
+            if ("ACTIVE".equals(booking.getBookingStatus())) {
+                activePerCar.merge(booking.getCar().getCarId(), 1, Integer::sum);
+            }
+        }
+        for (CarMaster car : cars) {
+            assertEquals(1, activePerCar.getOrDefault(car.getCarId(), 0),
+                    "car " + car.getCarId() + " must be handed over exactly once");
+        }
+        assertEquals(cars.size(), succeeded.get());
+
+        logger.info("{} threads: {} handover attempts on {} cars in {} ms ({} ops/s), {} assigned, {} conflicts",
+                threads, bookingIds.size(), cars.size(), Math.round(seconds * 1000),
+                Math.round(bookingIds.size() / seconds), succeeded.get(), conflicts.get());
+    }
+
+    @Test
+    void failedHandoverLeavesCarAndBookingUnchanged() {
+        CarMaster car = seedCars(1).get(0);
+        long bookingId = seedBookings(1).get(0);
+        BookingHeaderTable booking = bookingRepository.findById(bookingId).orElseThrow();
+        booking.setCar(car);
+        bookingRepository.save(booking);
+
+        doThrow(new DataIntegrityViolationException("invoice insert failed")).when(invoiceRepository)
+                .save(argThat(invoice -> invoice != null && invoice.getBooking() != null
+                        && invoice.getBooking().getBookingId() == bookingId));
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookingService.handoverCar(bookingId));
+
+        assertEquals("CONFIRMED", bookingRepository.findById(bookingId).orElseThrow().getBookingStatus());
+        assertEquals(CarMaster.AvailabilityStatus.Y,
+                carRepository.findById(car.getCarId()).orElseThrow().getIsAvailable());
+    }
+
+    private List<CarMaster> seedCars(int count) {
+        HubMaster hub = fixtures.hub();
+        CarTypeMaster carType = fixtures.carType("SUV", 2500);
+
+        List<CarMaster> cars = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            seq++;
+            cars.add(fixtures.car("Creta " + seq, carType, hub));
+        }
+        return cars;
+    }
+
+    private List<Long> seedBookings(int count) {
+        seq++;
+        CustomerMaster customer = fixtures.customer("Desk", "Customer" + seq);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            BookingHeaderTable booking = new BookingHeaderTable();
+            booking.setCustomer(customer);
+            booking.setStartDate(LocalDate.now());
+            booking.setEndDate(LocalDate.now().plusDays(3));
+            booking.setBookingStatus("CONFIRMED");
+            booking.setConfirmationNumber("BOK-S" + seq + "-" + i);
+            booking.setFirstName(customer.getFirstName());
+            booking.setLastName(customer.getLastName());
+            booking.setEmailId(customer.getEmail());
+            ids.add(bookingRepository.save(booking).getBookingId());
+        }
+        return ids;
+    }
+}
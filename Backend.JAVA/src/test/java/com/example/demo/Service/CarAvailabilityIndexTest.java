@@ -0,0 +1,197 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.*;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Repository.*;
+import com.example.demo.dto.BookingRequest;
+import com.example.demo.dto.BookingResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+// The index gives the same answer as the SQL availability query at interval edges,
+// for cars flagged unavailable and for cancelled bookings, inside the bitmap horizon
+// and outside it. A failing index falls back to SQL, a drifted one is caught by the
+// cross-check, and both reload. Saves reach the index only once their transaction
+// commits.
+@SpringBootTest(properties = "fleet.availability.verify-every=1")
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+class CarAvailabilityIndexTest {
+
+    @SpyBean
+    private CarAvailabilityIndex index;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    private static int seq = 0;
+
+    @Test
+    void matchesSqlAtIntervalEdges() {
+        HubMaster hub = fixtures.hub();
+        HubMaster otherHub = fixtures.hub("Mumbai", "Andheri");
+        CarTypeMaster suv = fixtures.carType("SUV", 2500);
+        CarTypeMaster sedan = fixtures.carType("Sedan", 2000);
+        CustomerMaster customer = fixtures.customer("Index", "Edges");
+
+        CarMaster booked = fixtures.car("Booked", suv, hub);
+        CarMaster gap = fixtures.car("Gap", suv, hub);
+        CarMaster cancelled = fixtures.car("Cancelled", suv, hub);
+        CarMaster legacyFlag = fixtures.car("Legacy flag", suv, hub, CarMaster.AvailabilityStatus.YES);
+        fixtures.car("Free sedan", sedan, hub);
+        fixtures.car("Workshop", suv, hub, CarMaster.AvailabilityStatus.N);
+        fixtures.car("Retired", suv, hub, CarMaster.AvailabilityStatus.NO);
+        CarMaster elsewhere = fixtures.car("Elsewhere", suv, otherHub);
+
+        LocalDate today = LocalDate.now();
+        // Before the horizon, inside it, and past its default 400 days
+        List<LocalDate> days0 = List.of(today.minusDays(30), today.plusDays(10), today.plusDays(420));
+        for (LocalDate d : days0) {
+            book(customer, booked, "CONFIRMED", d, d.plusDays(2));
+            // Free on exactly [d, d + 2]: one booking ends the day before, the next starts the day after
+            book(customer, gap, "CONFIRMED", d.minusDays(3), d.minusDays(1));
+            book(customer, gap, "CONFIRMED", d.plusDays(3), d.plusDays(4));
+            book(customer, cancelled, "CANCELLED", d, d.plusDays(2));
+            book(customer, legacyFlag, "COMPLETED", d.plusDays(1), d.plusDays(1));
+            book(customer, elsewhere, "CONFIRMED", d, d.plusDays(2));
+        }
+        index.rebuild();
+
+        for (LocalDate d : days0) {
+            for (int from = -6; from <= 6; from++) {
+                for (int length = 0; length <= 4; length++) {
+                    LocalDate start = d.plusDays(from);
+                    LocalDate end = start.plusDays(length);
+                    for (Long type : new Long[] { null, suv.getCarTypeId() }) {
+                        List<Integer> fromSql = ids(carRepository.findAvailableCars(hub.getHubId(), start, end, type));
+                        assertEquals(fromSql, index.findAvailableCarIds(hub.getHubId(), start, end, type),
+                                start + " - " + end + " type " + type);
+                    }
+                }
+            }
+        }
+        // The edges themselves, spelled out
+        LocalDate d = days0.get(1);
+        List<Integer> free = index.findAvailableCarIds(hub.getHubId(), d, d.plusDays(2), suv.getCarTypeId());
+        assertFalse(free.contains(booked.getCarId()));
+        assertTrue(free.contains(gap.getCarId()));
+        assertTrue(free.contains(cancelled.getCarId()));
+        assertFalse(index.findAvailableCarIds(hub.getHubId(), d.minusDays(1), d, null).contains(gap.getCarId()));
+    }
+
+    @Test
+    void failingIndexFallsBackToSqlAndReloads() {
+        HubMaster hub = fixtures.hub();
+        CarMaster car = fixtures.car("Fallback", fixtures.carType("SUV", 2500), hub);
+        LocalDate day = LocalDate.now().plusDays(2);
+        index.rebuild();
+
+        doThrow(new IllegalStateException("index broken")).when(index)
+                .findAvailableCarIds(eq(hub.getHubId()), any(), any(), any());
+
+        assertEquals(List.of(car.getCarId()), ids(carService.getAvailableCars(hub.getHubId(), day, day, null)));
+        assertFalse(index.isLoaded());
+        assertEquals(1, carService.countAvailableCars(hub.getHubId(), day, day, null));
+    }
+
+    @Test
+    void driftIsAnsweredFromSqlAndReloadsTheIndex() {
+        HubMaster hub = fixtures.hub();
+        CarMaster car = fixtures.car("Drift", fixtures.carType("SUV", 2500), hub);
+        CustomerMaster customer = fixtures.customer("Index", "Drift");
+        LocalDate day = LocalDate.now().plusDays(2);
+        index.rebuild();
+        assertEquals(List.of(car.getCarId()), index.findAvailableCarIds(hub.getHubId(), day, day, null));
+
+        // Saved past BookingService, so the index never hears of it
+        book(customer, car, "CONFIRMED", day, day);
+
+        assertEquals(List.of(), ids(carService.getAvailableCars(hub.getHubId(), day, day, null)));
+        assertFalse(index.isLoaded());
+        assertEquals(List.of(), index.findAvailableCarIds(hub.getHubId(), day, day, null));
+    }
+
+    @Test
+    void savesReachTheIndexOnlyAfterCommit() {
+        HubMaster hub = fixtures.hub();
+        CarMaster car = fixtures.car("Commit", fixtures.carType("SUV", 2500), hub);
+        CustomerMaster customer = fixtures.customer("Index", "Commit");
+        LocalDate start = LocalDate.now().plusDays(5);
+        index.rebuild();
+
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(customer.getCustId());
+        request.setCarId(car.getCarId());
+        request.setPickupHubId(hub.getHubId());
+        request.setReturnHubId(hub.getHubId());
+        request.setStartDate(start);
+        request.setEndDate(start.plusDays(2));
+        request.setEmail(customer.getEmail());
+
+        BookingResponse created = transactionTemplate.execute(status -> {
+            BookingResponse response = bookingService.createBooking(request);
+            assertTrue(isFree(hub, car, start), "booking applied before commit");
+            return response;
+        });
+        assertFalse(isFree(hub, car, start));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingService.cancelBooking(created.getBookingId());
+            assertFalse(isFree(hub, car, start), "cancellation applied before commit");
+        });
+        assertTrue(isFree(hub, car, start));
+    }
+
+    private boolean isFree(HubMaster hub, CarMaster car, LocalDate start) {
+        return index.findAvailableCarIds(hub.getHubId(), start, start.plusDays(2), null).contains(car.getCarId());
+    }
+
+    private void book(CustomerMaster customer, CarMaster car, String status, LocalDate start, LocalDate end) {
+        BookingHeaderTable booking = new BookingHeaderTable();
+        booking.setConfirmationNumber("BOK-IX" + ++seq);
+        booking.setBookingStatus(status);
+        booking.setCustomer(customer);
+        booking.setCar(car);
+        booking.setCarType(car.getCarType());
+        booking.setPickupHub(car.getHub());
+        booking.setReturnHub(car.getHub());
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        bookingRepository.save(booking);
+    }
+
+    private static List<Integer> ids(List<CarMaster> cars) {
+        return cars.stream().map(CarMaster::getCarId).sorted().collect(Collectors.toList());
+    }
+}
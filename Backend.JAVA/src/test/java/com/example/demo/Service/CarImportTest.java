@@ -0,0 +1,101 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.CarMaster;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Repository.CarRepository;
+import com.example.demo.dto.CarImportReport;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Valid rows are inserted in batches; bad rows, including fractional or out-of-range
+// ids and plates already in car_master, are reported with their sheet row number.
+@SpringBootTest(properties = {
+        "fleet.import.batch-size=2"
+})
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+class CarImportTest {
+
+    @Autowired
+    private ExcelUploadService excelUploadService;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    @Test
+    void importsValidRowsAndReportsTheRest() throws Exception {
+        long typeId = fixtures.carType("Hatchback", 1200).getCarTypeId();
+        int hubId = fixtures.hub("Nashik", "Nashik Road").getHubId();
+
+        long before = carRepository.count();
+        CarMaster existing = new CarMaster();
+        existing.setCarName("Alto");
+        existing.setNumberPlate("MH15-0001");
+        carRepository.save(existing);
+
+        Path xlsx = Files.createTempFile("car-import-test-", ".xlsx");
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(xlsx)) {
+            Sheet sheet = workbook.createSheet("Cars");
+            row(sheet, 0, "Name", "Number Plate", "Car Type Id", "Hub Id", "Mileage", "Status");
+            row(sheet, 1, "Swift", "MH15-1001", typeId, hubId, 12000, "Good");
+            row(sheet, 2, "i20", "MH15-1002", typeId, hubId, 8000, "Good");
+            row(sheet, 3, "Baleno", "MH15-1003", 999, hubId, 5000, "Good");
+            row(sheet, 4, "Tiago", "MH15-1004", typeId, 999, 5000, "Good");
+            row(sheet, 5, "Alto", "MH15-0001", typeId, hubId, 100, "Good");
+            row(sheet, 6, "Swift", "MH15-1001", typeId, hubId, 100, "Good");
+            row(sheet, 7, "", "MH15-1007", typeId, hubId, 100, "Good");
+            row(sheet, 8, "Polo", "MH15-1008", null, null, null, null);
+            row(sheet, 9, "Kwid", "MH15-1010", typeId + 0.5, hubId, 100, "Good");
+            row(sheet, 10, "Nano", "MH15-1011", typeId, (1L << 32) + hubId, 100, "Good");
+            workbook.write(out);
+        }
+
+        CarImportReport report;
+        try {
+            report = excelUploadService.importCars(xlsx);
+        } finally {
+            Files.deleteIfExists(xlsx);
+        }
+
+        assertEquals(3, report.getImported());
+        assertEquals(7, report.getFailed());
+        assertEquals(List.of(4, 5, 6, 7, 8, 10, 11), report.getErrors().stream().map(CarImportReport.RowError::getRow).toList());
+        assertEquals("Unknown car type id 999", report.getErrors().get(0).getError());
+        assertEquals("Unknown hub id 999", report.getErrors().get(1).getError());
+        assertEquals("Number plate MH15-0001 already exists", report.getErrors().get(2).getError());
+        assertEquals("Invalid car type id '" + (typeId + 0.5) + "'", report.getErrors().get(5).getError());
+        assertEquals("Unknown hub id " + ((1L << 32) + hubId), report.getErrors().get(6).getError());
+        assertEquals(before + 4, carRepository.count());
+        CarMaster swift = carRepository.findAll().stream()
+                .filter(c -> "MH15-1001".equals(c.getNumberPlate())).findFirst().orElseThrow();
+        assertEquals(typeId, swift.getCarType().getCarTypeId());
+        assertEquals(CarMaster.AvailabilityStatus.Y, swift.getIsAvailable());
+    }
+
+    private static void row(Sheet sheet, int index, Object... values) {
+        Row row = sheet.createRow(index);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Number n) {
+                row.createCell(i).setCellValue(n.doubleValue());
+            } else if (values[i] != null) {
+                row.createCell(i).setCellValue((String) values[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.*;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Repository.*;
+import com.example.demo.dto.BookingRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Bitmap answers inside the horizon and interval answers outside it both match the
+// SQL availability query, and a cancellation frees the days. A booking only reaches
+// the index once its transaction commits.
+@SpringBootTest(properties = "fleet.occupancy.horizon-days=60")
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+class CarOccupancyTest {
+
+    @Autowired
+    private CarAvailabilityIndex index;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void bitmapMatchesSql() {
+        HubMaster hub = fixtures.hub();
+        CarTypeMaster suv = fixtures.carType("SUV", 2500);
+        CustomerMaster customer = fixtures.customer("Occupancy", "Test");
+
+        List<CarMaster> cars = new ArrayList<>();
+        for (int c = 0; c < 6; c++) {
+            cars.add(fixtures.car("Car " + c, suv, hub));
+        }
+
+        Random random = new Random(3);
+        LocalDate today = LocalDate.now();
+        List<BookingHeaderTable> bookings = new ArrayList<>();
+        for (int b = 0; b < 40; b++) {
+            BookingHeaderTable booking = new BookingHeaderTable();
+            booking.setConfirmationNumber("BOK-OC" + b);
+            booking.setBookingStatus(b % 7 == 0 ? "CANCELLED" : "CONFIRMED");
+            booking.setCustomer(customer);
+            booking.setCar(cars.get(random.nextInt(cars.size())));
+            booking.setCarType(suv);
+            booking.setPickupHub(hub);
+            booking.setReturnHub(hub);
+            LocalDate start = today.plusDays(random.nextInt(120) - 30);
+            booking.setStartDate(start);
+            booking.setEndDate(start.plusDays(random.nextInt(6)));
+            bookings.add(bookingRepository.save(booking));
+        }
+
+        index.rebuild();
+        assertMatchesSql(hub.getHubId(), suv.getCarTypeId(), today, random);
+
+        // Cancel the first booking of a car with several, so the redraw has to keep the others
+        BookingHeaderTable cancelled = bookings.stream().filter(b -> "CONFIRMED".equals(b.getBookingStatus()))
+                .filter(b -> !b.getStartDate().isBefore(today)).findFirst().orElseThrow();
+        cancelled.setBookingStatus("CANCELLED");
+        index.onBookingSaved(bookingRepository.save(cancelled));
+        assertMatchesSql(hub.getHubId(), suv.getCarTypeId(), today, random);
+    }
+
+    @Test
+    void rolledBackBookingLeavesIndexUnchanged() {
+        HubMaster hub = fixtures.hub();
+        CarTypeMaster suv = fixtures.carType("SUV", 2500);
+        CarMaster car = fixtures.car("Rollback", suv, hub);
+        CustomerMaster customer = fixtures.customer("Rollback", "Test");
+        LocalDate start = LocalDate.now().plusDays(5);
+        index.rebuild();
+
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(customer.getCustId());
+        request.setCarId(car.getCarId());
+        request.setPickupHubId(hub.getHubId());
+        request.setReturnHubId(hub.getHubId());
+        request.setStartDate(start);
+        request.setEndDate(start.plusDays(2));
+        request.setEmail(customer.getEmail());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            bookingService.createBooking(request);
+            assertTrue(freeCars(hub, start).contains(car.getCarId()), "applied before commit");
+            status.setRollbackOnly();
+        });
+        assertTrue(freeCars(hub, start).contains(car.getCarId()), "rolled back booking still in the index");
+
+        // Without a surrounding transaction the save has committed, so it applies at once
+        bookingService.createBooking(request);
+        assertFalse(freeCars(hub, start).contains(car.getCarId()));
+    }
+
+    private List<Integer> freeCars(HubMaster hub, LocalDate start) {
+        return index.findAvailableCarIds(hub.getHubId(), start, start.plusDays(2), null);
+    }
+
+    private void assertMatchesSql(int hubId, long carTypeId, LocalDate today, Random random) {
+        for (int q = 0; q < 300; q++) {
+            // Mostly inside the 64-day horizon, some before it and some past its end
+            LocalDate start = today.plusDays(random.nextInt(110) - 20);
+            LocalDate end = start.plusDays(random.nextInt(8));
+            Long type = q % 3 == 0 ? null : carTypeId;
+            List<Integer> fromSql = carRepository.findAvailableCars(hubId, start, end, type).stream()
+                    .map(CarMaster::getCarId).sorted(Comparator.naturalOrder()).collect(Collectors.toList());
+            assertEquals(fromSql, index.findAvailableCarIds(hubId, start, end, type), start + " - " + end);
+        }
+    }
+}
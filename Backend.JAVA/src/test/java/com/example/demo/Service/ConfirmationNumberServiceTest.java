@@ -0,0 +1,109 @@
+package com.example.demo.Service;
+
+import com.example.demo.Repository.ConfirmationSequenceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Confirmation numbers from leased blocks are unique across threads, carry a check
+// character that catches typos, and still accept the old random hex codes.
+@SpringBootTest(properties = {
+        "fleet.confirmation.block-size=7",
+        // One pooled connection, so a lease that needed a second one would time out
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=2000"
+})
+@ActiveProfiles("h2")
+class ConfirmationNumberServiceTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 250;
+
+    @Autowired
+    private ConfirmationNumberService confirmationNumberService;
+
+    @Autowired
+    private ConfirmationSequenceRepository sequenceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void uniqueAcrossThreads() throws Exception {
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            done.add(pool.submit(() -> {
+                for (int i = 0; i < PER_THREAD; i++) {
+                    numbers.add(confirmationNumberService.next());
+                }
+            }));
+        }
+        for (Future<?> f : done) {
+            f.get();
+        }
+        pool.shutdown();
+
+        assertEquals(THREADS * PER_THREAD, numbers.size());
+        for (String number : numbers) {
+            assertEquals(11, number.length());
+            assertEquals(number, ConfirmationNumberService.normalize(number.toLowerCase()));
+        }
+        // Whole blocks only, and no more of them than one spare per thread
+        long leased = sequenceRepository.findNextValue("booking") - 1;
+        assertEquals(0, leased % 7);
+        assertTrue(leased < THREADS * PER_THREAD + 7L * (THREADS + 1));
+    }
+
+    @Test
+    void leasesWhileTheCallerHoldsTheOnlyConnection() {
+        Set<String> numbers = new HashSet<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM confirmation_sequence", Long.class);
+            for (int i = 0; i < 3 * 7; i++) {
+                numbers.add(confirmationNumberService.next());
+            }
+        });
+        assertEquals(3 * 7, numbers.size());
+    }
+
+    @Test
+    void checkCharacterCatchesTypos() {
+        String number = ConfirmationNumberService.format(42);
+        String code = number.substring(ConfirmationNumberService.PREFIX.length());
+        assertEquals(number, ConfirmationNumberService.normalize(code));
+
+        char first = code.charAt(0);
+        String typo = (first == '7' ? '8' : '7') + code.substring(1);
+        assertThrows(IllegalArgumentException.class, () -> ConfirmationNumberService.normalize(typo));
+        String swapped = "" + code.charAt(1) + code.charAt(0) + code.substring(2);
+        if (code.charAt(0) != code.charAt(1)) {
+            assertThrows(IllegalArgumentException.class, () -> ConfirmationNumberService.normalize(swapped));
+        }
+
+        assertEquals("BOK-1A2B3C4D", ConfirmationNumberService.normalize("bok-1a2b3c4d"));
+        assertThrows(IllegalArgumentException.class, () -> ConfirmationNumberService.normalize("BOK-12"));
+        assertTrue(ConfirmationNumberService.format(1L << 32).length() > 12);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.*;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Repository.BookingRepository;
+import com.example.demo.dto.BookingRequest;
+import com.example.demo.dto.BookingResponse;
+import com.example.demo.dto.FleetOverviewResponse;
+import com.example.demo.dto.ReturnRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doAnswer;
+
+// The incrementally kept overview gives the same per-hub counts as a fresh SQL
+// aggregate after each step of a rental, and keeps a handover that commits while a
+// rebuild is reading the database.
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+class FleetSnapshotServiceTest {
+
+    @SpyBean
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FleetSnapshotService fleetSnapshotService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    @Test
+    void overviewMatchesSqlAfterCreateHandoverAndReturn() {
+        HubMaster hub = fixtures.hub();
+        HubMaster otherHub = fixtures.hub("Mumbai", "Andheri");
+        CarTypeMaster suv = fixtures.carType("SUV", 2500);
+        CustomerMaster customer = fixtures.customer("Snapshot", "Rental");
+        CarMaster car = fixtures.car("Rented", suv, hub);
+        fixtures.car("Idle", suv, hub);
+        fixtures.car("Workshop", suv, hub, CarMaster.AvailabilityStatus.N);
+        fixtures.car("Elsewhere", suv, otherHub);
+        List<Integer> hubs = List.of(hub.getHubId(), otherHub.getHubId());
+
+        fleetSnapshotService.invalidate();
+        assertMatchesSql(hubs);
+
+        BookingResponse booking = book(customer, car, hub);
+        assertMatchesSql(hubs);
+
+        bookingService.handoverCar(booking.getBookingId());
+        assertMatchesSql(hubs);
+        assertEquals(1, counts(hubs).get(hub.getHubId()).get(2));
+
+        ReturnRequest request = new ReturnRequest();
+        request.setBookingId(booking.getBookingId());
+        bookingService.returnCar(request);
+        assertMatchesSql(hubs);
+        assertEquals(0, counts(hubs).get(hub.getHubId()).get(2));
+    }
+
+    @Test
+    void handoverDuringRebuildIsKept() {
+        HubMaster hub = fixtures.hub();
+        CustomerMaster customer = fixtures.customer("Snapshot", "Rebuild");
+        CarMaster car = fixtures.car("Rebuild", fixtures.carType("SUV", 2500), hub);
+        BookingResponse booking = book(customer, car, hub);
+        List<Integer> hubs = List.of(hub.getHubId());
+
+        fleetSnapshotService.invalidate();
+        assertMatchesSql(hubs);
+
+        // The rebuild reads the rentals, then the handover commits before it finishes
+        List<BookingHeaderTable> rentals = bookingRepository.findByBookingStatus("ACTIVE");
+        doAnswer(invocation -> {
+            bookingService.handoverCar(booking.getBookingId());
+            return rentals;
+        }).when(bookingRepository).findByBookingStatus("ACTIVE");
+
+        fleetSnapshotService.rebuildAndVerify();
+
+        assertMatchesSql(hubs);
+        assertEquals(1, counts(hubs).get(hub.getHubId()).get(2));
+    }
+
+    private BookingResponse book(CustomerMaster customer, CarMaster car, HubMaster hub) {
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(customer.getCustId());
+        request.setCarId(car.getCarId());
+        request.setPickupHubId(hub.getHubId());
+        request.setReturnHubId(hub.getHubId());
+        request.setStartDate(LocalDate.now().plusDays(1));
+        request.setEndDate(LocalDate.now().plusDays(3));
+        request.setEmail(customer.getEmail());
+        return bookingService.createBooking(request);
+    }
+
+    private void assertMatchesSql(List<Integer> hubIds) {
+        assertEquals(fromSql(hubIds), counts(hubIds));
+    }
+
+    // Total, available, rented, maintenance per hub, as the overview reports them
+    private Map<Integer, List<Integer>> counts(List<Integer> hubIds) {
+        Map<Integer, List<Integer>> counts = new HashMap<>();
+        for (FleetOverviewResponse.HubFleetData hub : fleetSnapshotService.getCurrentOverview().getHubs()) {
+            if (hubIds.contains(hub.getHubId())) {
+                counts.put(hub.getHubId(), List.of(hub.getTotalCars(), hub.getAvailableCars(),
+                        hub.getRentedCars(), hub.getMaintenanceCars()));
+            }
+        }
+        return counts;
+    }
+
+    // The same counts straight from the tables: an ACTIVE rental covering today wins,
+    // then the car's own flag
+    private Map<Integer, List<Integer>> fromSql(List<Integer> hubIds) {
+        Map<Integer, List<Integer>> counts = new HashMap<>();
+        for (int hubId : hubIds) {
+            counts.put(hubId, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*),"
+                            + " SUM(CASE WHEN r.car_id IS NULL AND COALESCE(c.is_available, 'Y') NOT IN ('N', 'NO') THEN 1 ELSE 0 END),"
+                            + " SUM(CASE WHEN r.car_id IS NOT NULL THEN 1 ELSE 0 END),"
+                            + " SUM(CASE WHEN r.car_id IS NULL AND c.is_available IN ('N', 'NO') THEN 1 ELSE 0 END)"
+                            + " FROM car_master c LEFT JOIN (SELECT DISTINCT car_id FROM booking_header_table"
+                            + " WHERE booking_status = 'ACTIVE' AND ? BETWEEN start_date AND end_date) r ON r.car_id = c.car_id"
+                            + " WHERE c.hub_id = ?",
+                    (rs, row) -> List.of(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getInt(4)),
+                    LocalDate.now(), hubId));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.AirportMaster;
+import com.example.demo.Entity.CityMaster;
+import com.example.demo.Entity.HubMaster;
+import com.example.demo.Entity.StateMaster;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Repository.AirportRepository;
+import com.example.demo.Repository.HubRepository;
+import com.example.demo.Repository.projection.HubInfoProjection;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Ranking is exact airport code > field prefix > word prefix > substring, and saving
+// master data is visible to the next search.
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+class HubSearchIndexTest {
+
+    @Autowired
+    private HubService hubService;
+
+    @Autowired
+    private HubRepository hubRepository;
+
+    @Autowired
+    private AirportRepository airportRepository;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    @Test
+    void ranksMatchesAndPicksUpNewHubs() {
+        HubMaster rajarampuri = fixtures.hub("Kolhapur", "Rajarampuri");
+
+        // Airport cascades to its hub, so the hub is saved with it
+        HubMaster airportHub = new HubMaster();
+        airportHub.setHubName("Ujalaiwadi Terminal");
+        airportHub.setCity(rajarampuri.getCity());
+        airportHub.setState(rajarampuri.getState());
+        AirportMaster airport = new AirportMaster();
+        airport.setAirportName("Kolhapur Airport");
+        airport.setAirportCode("KLH");
+        airport.setHub(airportHub);
+        airportRepository.save(airport);
+        hub("Klh Road Depot", null, null);
+        hub("Old klh yard", null, null);
+        hub("Xklh Centre", null, null);
+
+        assertEquals(List.of("Ujalaiwadi Terminal", "Klh Road Depot", "Old klh yard", "Xklh Centre"),
+                names(hubService.searchHubs("KLH")));
+        // Both hubs are in Kolhapur, so they tie and are ordered by name
+        assertEquals(List.of("Rajarampuri", "Ujalaiwadi Terminal"), names(hubService.searchHubs("kol")));
+        assertEquals(List.of(), names(hubService.searchHubs("zzz")));
+
+        hub("Klh Express", null, null);
+        assertEquals(List.of("Ujalaiwadi Terminal", "Klh Express", "Klh Road Depot", "Old klh yard", "Xklh Centre"),
+                names(hubService.searchHubs(" klh ")));
+    }
+
+    private HubMaster hub(String name, CityMaster city, StateMaster state) {
+        HubMaster hub = new HubMaster();
+        hub.setHubName(name);
+        hub.setCity(city);
+        hub.setState(state);
+        return hubRepository.save(hub);
+    }
+
+    private static List<String> names(List<HubInfoProjection> hubs) {
+        return hubs.stream().map(HubInfoProjection::getHubName).toList();
+    }
+}
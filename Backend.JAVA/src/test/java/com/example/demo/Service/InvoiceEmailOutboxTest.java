@@ -0,0 +1,117 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.*;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Repository.*;
+import com.example.demo.dto.ReturnRequest;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The return only writes an outbox row; the workers deliver it to a local SMTP stub.
+@SpringBootTest(properties = {
+        "fleet.invoice-mail.poll-ms=100",
+        "fleet.invoice-mail.max-attempts=2",
+        "fleet.invoice-mail.backoff-ms=0"
+})
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+class InvoiceEmailOutboxTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private InvoiceEmailOutboxService outboxService;
+
+    @Autowired
+    private InvoiceEmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    @Test
+    void returnQueuesInvoiceAndWorkerDeliversIt() throws Exception {
+        BookingHeaderTable booking = seedActiveBooking();
+
+        ReturnRequest request = new ReturnRequest();
+        request.setBookingId(booking.getBookingId());
+        bookingService.returnCar(request);
+
+        List<InvoiceEmailOutbox> rows = outboxRepository.findAll().stream()
+                .filter(o -> booking.getBookingId() == o.getBookingId())
+                .toList();
+        assertEquals(1, rows.size());
+
+        assertTrue(smtp.waitForIncomingEmail(10_000, 1), "invoice email was not delivered");
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertEquals("Your Invoice from IndiaDrive - Booking " + booking.getBookingId(), received[0].getSubject());
+
+        InvoiceEmailOutbox row = awaitStatus(rows.get(0).getId(), InvoiceEmailOutboxService.SENT);
+        assertEquals(1, row.getAttempts());
+    }
+
+    @Test
+    void failingEmailIsRetriedThenDeadLettered() throws Exception {
+        // No such booking: rendering the PDF fails on every attempt
+        outboxService.enqueue(-1L, "nobody@example.com");
+        Long id = outboxRepository.findAll().stream()
+                .filter(o -> o.getBookingId() == -1L)
+                .findFirst().orElseThrow().getId();
+
+        InvoiceEmailOutbox row = awaitStatus(id, InvoiceEmailOutboxService.DEAD);
+        assertEquals(2, row.getAttempts());
+        assertTrue(row.getLastError().contains("Booking not found"));
+        assertEquals(1L, outboxService.getQueueStats().get("dead"));
+    }
+
+    private InvoiceEmailOutbox awaitStatus(Long id, String status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        InvoiceEmailOutbox row = outboxRepository.findById(id).orElseThrow();
+        while (!status.equals(row.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            row = outboxRepository.findById(id).orElseThrow();
+        }
+        assertEquals(status, row.getStatus());
+        return row;
+    }
+
+    private BookingHeaderTable seedActiveBooking() {
+        CarTypeMaster carType = fixtures.carType("Sedan", 1800);
+        CarMaster car = fixtures.car("City", carType, null, CarMaster.AvailabilityStatus.N);
+        CustomerMaster customer = fixtures.customer("Asha", "Rao");
+
+        BookingHeaderTable booking = new BookingHeaderTable();
+        booking.setCustomer(customer);
+        booking.setCar(car);
+        booking.setCarType(carType);
+        booking.setBookcar(car.getCarName());
+        booking.setStartDate(LocalDate.now().minusDays(2));
+        booking.setEndDate(LocalDate.now());
+        booking.setBookingStatus("ACTIVE");
+        booking.setConfirmationNumber("BOK-OUT1");
+        booking.setFirstName(customer.getFirstName());
+        booking.setLastName(customer.getLastName());
+        booking.setEmailId(customer.getEmail());
+        booking.setDailyRate(carType.getDailyRate());
+        return bookingRepository.save(booking);
+    }
+}
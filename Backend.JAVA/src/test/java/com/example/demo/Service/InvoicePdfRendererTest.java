@@ -0,0 +1,109 @@
+package com.example.demo.Service;
+
+import com.example.demo.Entity.AddOnMaster;
+import com.example.demo.Entity.BookingDetailTable;
+import com.example.demo.Entity.BookingHeaderTable;
+import com.example.demo.Entity.CarTypeMaster;
+import com.example.demo.Entity.HubMaster;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The shared-template renderer prints the same text, page for page, as the renderer
+// it replaced: for a full booking, one returned early, and one missing the optional parts.
+class InvoicePdfRendererTest {
+
+    private final InvoicePdfRenderer renderer = new InvoicePdfRenderer();
+    private final LegacyInvoiceRenderer legacy = new LegacyInvoiceRenderer();
+
+    @Test
+    void fullBooking() throws IOException {
+        BookingHeaderTable booking = booking(4242L);
+        booking.setReturnTime(LocalDateTime.of(2026, 3, 5, 18, 30));
+        List<BookingDetailTable> details = details("GPS", "Child Seat", "Wifi Hotspot");
+
+        String text = assertSameText(booking, details);
+        assertTrue(text.contains("#4242"), text);
+        assertTrue(text.contains("Pune Central"), text);
+    }
+
+    @Test
+    void returnedEarlyWithLargeAmounts() throws IOException {
+        BookingHeaderTable booking = booking(7L);
+        booking.setDailyRate(123456.78);
+        booking.setEndDate(LocalDate.of(2026, 4, 30));
+        booking.setReturnTime(LocalDateTime.of(2026, 3, 2, 9, 0));
+
+        assertSameText(booking, details("GPS"));
+    }
+
+    @Test
+    void bookingWithoutOptionalParts() throws IOException {
+        BookingHeaderTable booking = new BookingHeaderTable();
+        booking.setBookingId(1L);
+
+        assertSameText(booking, List.of());
+    }
+
+    private String assertSameText(BookingHeaderTable booking, List<BookingDetailTable> details) throws IOException {
+        List<String> expected = pages(legacy.render(booking, details));
+        List<String> actual = pages(renderer.render(booking, details));
+        assertEquals(expected, actual);
+        return String.join("\n", actual);
+    }
+
+    private static List<String> pages(byte[] pdf) throws IOException {
+        PdfReader reader = new PdfReader(pdf);
+        try {
+            List<String> pages = new ArrayList<>();
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                pages.add(PdfTextExtractor.getTextFromPage(reader, page));
+            }
+            return pages;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static BookingHeaderTable booking(long id) {
+        CarTypeMaster carType = new CarTypeMaster();
+        carType.setCarTypeName("SUV");
+        carType.setDailyRate(2500);
+
+        HubMaster hub = new HubMaster();
+        hub.setHubName("Pune Central");
+        hub.setHubAddressAndDetails("Shivajinagar, Pune 411005");
+
+        BookingHeaderTable booking = new BookingHeaderTable();
+        booking.setBookingId(id);
+        booking.setBookcar("Creta");
+        booking.setCarType(carType);
+        booking.setPickupHub(hub);
+        booking.setStartDate(LocalDate.of(2026, 3, 1));
+        booking.setEndDate(LocalDate.of(2026, 3, 5));
+        booking.setDailyRate(2500.0);
+        return booking;
+    }
+
+    private static List<BookingDetailTable> details(String... names) {
+        List<BookingDetailTable> details = new ArrayList<>();
+        for (String name : names) {
+            AddOnMaster addOn = new AddOnMaster();
+            addOn.setAddOnName(name);
+            BookingDetailTable detail = new BookingDetailTable();
+            detail.setAddon(addOn);
+            detail.setAddonRate(200);
+            details.add(detail);
+        }
+        return details;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.Service;
+
+import com.example.demo.Repository.BookingRepository;
+import com.example.demo.config.JdbcConnectionLimiter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// In virtual thread mode the pool sits behind a semaphore: callers beyond the
+// permits wait, time out with a transient error, and every close hands a permit back.
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "fleet.jdbc.permits=2",
+        "fleet.jdbc.acquire-timeout-ms=200"
+})
+@ActiveProfiles("h2")
+class JdbcConnectionLimiterTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void limitsConnectionsToPermits() throws Exception {
+        JdbcConnectionLimiter.PermitDataSource limited = assertInstanceOf(JdbcConnectionLimiter.PermitDataSource.class, dataSource);
+        assertNotNull(dataSource.unwrap(HikariDataSource.class));
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertEquals(0, limited.getAvailablePermits());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        second.close();
+        second.close();
+        assertEquals(1, limited.getAvailablePermits());
+        try (Connection third = dataSource.getConnection()) {
+            assertEquals(0, limited.getAvailablePermits());
+        }
+        first.close();
+        assertEquals(2, limited.getAvailablePermits());
+    }
+
+    @Test
+    void repositoryCallsReturnTheirPermit() {
+        JdbcConnectionLimiter.PermitDataSource limited = (JdbcConnectionLimiter.PermitDataSource) dataSource;
+        bookingRepository.countByBookingStatus("CONFIRMED");
+        bookingRepository.findAll();
+        assertEquals(2, limited.getAvailablePermits());
+        assertEquals(0, limited.getQueueLength());
+    }
+}
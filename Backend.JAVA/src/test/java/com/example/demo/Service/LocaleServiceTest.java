@@ -0,0 +1,58 @@
+package com.example.demo.Service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bundles are compiled once; in watch mode an edited file is recompiled without a restart.
+class LocaleServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void compilesBundlesAndReloadsWatchedEdits() throws Exception {
+        write("messages_en.properties", "home.bookNow=Book Now\nhome.hero.title=Drive\n");
+        write("messages_mr.properties", "home.bookNow=आता बुक करा\n");
+
+        LocaleService service = new LocaleService();
+        ReflectionTestUtils.setField(service, "directory", dir.toString());
+        ReflectionTestUtils.setField(service, "watch", true);
+        service.init();
+        try {
+            LocaleService.Bundle mr = service.getBundle("mr");
+            assertEquals(Map.of("bookNow", "आता बुक करा"), mr.getTranslations().get("home"));
+            assertEquals("{\"home\":{\"bookNow\":\"आता बुक करा\"}}", new String(mr.getJson(), StandardCharsets.UTF_8));
+            // Unknown language falls back to English, as ResourceBundle did
+            assertSame(service.getBundle("en"), service.getBundle("de"));
+            assertSame(service.getBundle("en"), service.getBundle("EN"));
+
+            String etag = service.getBundle("en").getETag();
+            write("messages_en.properties", "home.bookNow=Book today\nhome.hero.title=Drive\n");
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!"Book today".equals(bookNow(service)) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals("Book today", bookNow(service));
+            assertNotEquals(etag, service.getBundle("en").getETag());
+        } finally {
+            service.stopWatching();
+        }
+    }
+
+    private static Object bookNow(LocaleService service) {
+        Object home = service.getTranslations("en").get("home");
+        return home instanceof Map<?, ?> map ? map.get("bookNow") : null;
+    }
+
+    private void write(String name, String content) throws Exception {
+        Files.writeString(dir.resolve(name), content, StandardCharsets.UTF_8);
+    }
+}
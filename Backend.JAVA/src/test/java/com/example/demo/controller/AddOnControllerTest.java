@@ -2,6 +2,7 @@ package com.example.demo.controller;
 
 import com.example.demo.Service.AddOnService;
 import com.example.demo.Service.ExcelUploadService;
+import com.example.demo.Service.ReferenceDataCache;
 import com.example.demo.dto.AddOnDTO;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -14,15 +15,18 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AddOnController.class)
-@ContextConfiguration(classes = { AddOnController.class })
+@ContextConfiguration(classes = { AddOnController.class, ReferenceDataCache.class })
 class AddOnControllerTest {
 
     @Autowired
@@ -32,6 +36,9 @@ class AddOnControllerTest {
     @MockBean
     private AddOnService addOnService;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
     // Mock security dependency (VERY IMPORTANT)
     @MockBean
     private UserDetailsService userDetailsService;
@@ -64,4 +71,35 @@ class AddOnControllerTest {
         mockMvc.perform(get("/api/v1/addons/1"))
                 .andExpect(status().isOk());
     }
+
+    // -------------------------
+    // TEST 3: Conditional GET
+    // -------------------------
+    @Test
+    @WithMockUser(username = "user", roles = { "USER" })
+    void getAllAddOns_revalidatesWithETag() throws Exception {
+
+        Mockito.when(addOnService.getAllAddOns())
+                .thenReturn(List.of(new AddOnDTO()));
+        referenceDataCache.bump(ReferenceDataCache.ADD_ONS);
+
+        MvcResult first = mockMvc.perform(get("/api/v1/addons"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Cache-Control"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/addons").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(addOnService, times(1)).getAllAddOns();
+
+        // A write bumps the dataset version; the next call reloads and gets a new ETag
+        Mockito.when(addOnService.getAllAddOns())
+                .thenReturn(List.of(new AddOnDTO(), new AddOnDTO()));
+        referenceDataCache.bump(ReferenceDataCache.ADD_ONS);
+        mockMvc.perform(get("/api/v1/addons").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
 }
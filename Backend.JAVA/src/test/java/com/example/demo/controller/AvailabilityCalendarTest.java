@@ -0,0 +1,130 @@
+package com.example.demo.controller;
+
+import com.example.demo.Entity.*;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Repository.*;
+import com.example.demo.Service.BookingService;
+import com.example.demo.dto.BookingRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The month view agrees day by day with the SQL availability query, inside the
+// bitmap horizon and beyond it, and a new booking shows up in a cached month.
+@SpringBootTest(properties = {
+        "fleet.occupancy.horizon-days=90"
+})
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+@AutoConfigureMockMvc
+class AvailabilityCalendarTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    @Test
+    void countsFreeCarsPerDay() throws Exception {
+        HubMaster hub = fixtures.hub();
+        CarTypeMaster suv = fixtures.carType("SUV", 2500);
+        CarTypeMaster sedan = fixtures.carType("Sedan", 1800);
+        CustomerMaster customer = fixtures.customer("Calendar", "Test");
+
+        List<CarMaster> cars = new ArrayList<>();
+        for (int c = 0; c < 5; c++) {
+            cars.add(fixtures.car("Car " + c, c < 3 ? suv : sedan, hub,
+                    c == 2 ? CarMaster.AvailabilityStatus.N : CarMaster.AvailabilityStatus.Y));
+        }
+        YearMonth next = YearMonth.now().plusMonths(1);
+        YearMonth far = YearMonth.now().plusMonths(14);
+        booking(customer, cars.get(0), hub, next.atDay(3), next.atDay(9), "CONFIRMED");
+        booking(customer, cars.get(1), hub, next.atDay(8), next.atDay(8), "CONFIRMED");
+        booking(customer, cars.get(1), hub, next.atDay(20), next.atDay(22), "CANCELLED");
+        booking(customer, cars.get(3), hub, next.atDay(1).minusDays(2), next.atDay(2), "ACTIVE");
+        booking(customer, cars.get(0), hub, far.atDay(10), far.atDay(12), "CONFIRMED");
+
+        for (YearMonth month : List.of(YearMonth.now().minusMonths(1), next, far)) {
+            for (Long type : new Long[] { null, suv.getCarTypeId(), sedan.getCarTypeId() }) {
+                assertMatchesSql(hub.getHubId(), month, type);
+            }
+        }
+        calendar(hub.getHubId(), next, suv.getCarTypeId())
+                .andExpect(jsonPath("$.days[7].freeCars").value(0))
+                .andExpect(jsonPath("$.days[15].freeCars").value(2));
+
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(customer.getCustId());
+        request.setCarId(cars.get(1).getCarId());
+        request.setPickupHubId(hub.getHubId());
+        request.setReturnHubId(hub.getHubId());
+        request.setStartDate(next.atDay(15));
+        request.setEndDate(next.atDay(17));
+        request.setEmail(customer.getEmail());
+        bookingService.createBooking(request);
+        calendar(hub.getHubId(), next, suv.getCarTypeId())
+                .andExpect(jsonPath("$.days[15].freeCars").value(1));
+        assertMatchesSql(hub.getHubId(), next, suv.getCarTypeId());
+
+        mockMvc.perform(get("/api/v1/hubs/" + hub.getHubId() + "/availability-calendar").param("month", "2026-13"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertMatchesSql(int hubId, YearMonth month, Long carTypeId) throws Exception {
+        ResultActions result = calendar(hubId, month, carTypeId)
+                .andExpect(jsonPath("$.month").value(month.toString()))
+                .andExpect(jsonPath("$.days.length()").value(month.lengthOfMonth()));
+        for (int d = 1; d <= month.lengthOfMonth(); d++) {
+            LocalDate day = month.atDay(d);
+            result.andExpect(jsonPath("$.days[" + (d - 1) + "].freeCars")
+                    .value(carRepository.findAvailableCars(hubId, day, day, carTypeId).size()));
+        }
+    }
+
+    private ResultActions calendar(int hubId, YearMonth month, Long carTypeId) throws Exception {
+        var request = get("/api/v1/hubs/" + hubId + "/availability-calendar").param("month", month.toString());
+        if (carTypeId != null) {
+            request.param("carTypeId", String.valueOf(carTypeId));
+        }
+        return mockMvc.perform(request).andExpect(status().isOk());
+    }
+
+    private void booking(CustomerMaster customer, CarMaster car, HubMaster hub, LocalDate start, LocalDate end,
+            String status) {
+        BookingHeaderTable booking = new BookingHeaderTable();
+        booking.setConfirmationNumber("BOK-CAL" + bookingRepository.count());
+        booking.setBookingStatus(status);
+        booking.setCustomer(customer);
+        booking.setCar(car);
+        booking.setCarType(car.getCarType());
+        booking.setPickupHub(hub);
+        booking.setReturnHub(hub);
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        bookingRepository.save(booking);
+    }
+}
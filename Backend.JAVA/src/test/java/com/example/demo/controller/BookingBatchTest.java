@@ -0,0 +1,110 @@
+package com.example.demo.controller;
+
+import com.example.demo.Entity.*;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// POST /booking/batch books the valid items and reports the rest one by one: unknown
+// references, a car wanted twice for overlapping dates, and a car type the hub has
+// run out of within the batch. A booked item can be found by its confirmation number.
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+@AutoConfigureMockMvc
+class BookingBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingDetailRepository bookingDetailRepository;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    @Autowired
+    private AddOnRepository addOnRepository;
+
+    @Test
+    @WithMockUser
+    void booksValidItemsAndReportsTheRest() throws Exception {
+        HubMaster hub = fixtures.hub();
+        CarTypeMaster suv = fixtures.carType("SUV", 2500);
+        CarTypeMaster sedan = fixtures.carType("Sedan", 2000);
+        CarMaster suvCar = fixtures.car("SUV 1", suv, hub);
+        fixtures.car("Sedan 1", sedan, hub);
+
+        CustomerMaster customer = fixtures.customer("Batch", "Customer");
+
+        AddOnMaster gps = new AddOnMaster();
+        gps.setAddOnName("GPS");
+        gps.setAddonDailyRate(200);
+        gps = addOnRepository.save(gps);
+
+        LocalDate start = LocalDate.now().plusDays(2);
+        String body = "[" + String.join(",",
+                item(customer.getCustId(), "\"carId\": " + suvCar.getCarId(), hub, start, 3, "[" + gps.getAddOnId() + ", 999]"),
+                item(customer.getCustId(), "\"carId\": " + suvCar.getCarId(), hub, start.plusDays(1), 1, "[]"),
+                item(customer.getCustId(), "\"carTypeId\": " + sedan.getCarTypeId(), hub, start, 2, "[]"),
+                item(customer.getCustId(), "\"carTypeId\": " + sedan.getCarTypeId(), hub, start.plusDays(1), 2, "[]"),
+                item(customer.getCustId(), "\"carTypeId\": " + sedan.getCarTypeId(), hub, start.plusDays(5), 2, "[]"),
+                item(4242, "\"carTypeId\": " + sedan.getCarTypeId(), hub, start, 2, "[]")) + "]";
+
+        mockMvc.perform(post("/booking/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].booking.bookingStatus").value("CONFIRMED"))
+                .andExpect(jsonPath("$[0].booking.carName").value("SUV 1"))
+                .andExpect(jsonPath("$[0].booking.pickupHub").value("Pune Central"))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].error").value("Car is already booked for these dates"))
+                .andExpect(jsonPath("$[2].success").value(true))
+                .andExpect(jsonPath("$[3].error").value("No car of this type available at the pickup hub for these dates"))
+                .andExpect(jsonPath("$[4].success").value(true))
+                .andExpect(jsonPath("$[5].error").value("Invalid Customer ID"));
+
+        int custId = customer.getCustId();
+        List<BookingHeaderTable> saved = bookingRepository.findAll().stream()
+                .filter(b -> b.getCustomer().getCustId() == custId).toList();
+        assertEquals(3, saved.size());
+        BookingHeaderTable withCar = saved.stream().filter(b -> b.getCar() != null).findFirst().orElseThrow();
+        assertEquals(suvCar.getCarId(), withCar.getCar().getCarId());
+        assertEquals(2500, withCar.getDailyRate());
+        assertEquals("Batch", withCar.getFirstName());
+        assertEquals(1, bookingDetailRepository.findByBooking_BookingId(withCar.getBookingId()).size());
+
+        mockMvc.perform(get("/booking/search/" + withCar.getConfirmationNumber().toLowerCase()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bookingId").value(withCar.getBookingId()));
+        mockMvc.perform(get("/booking/search/BOK-9999999"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String item(int customerId, String car, HubMaster hub, LocalDate start, int days, String addOns) {
+        return "{\"customerId\": " + customerId + ", " + car + ", \"pickupHubId\": " + hub.getHubId()
+                + ", \"returnHubId\": " + hub.getHubId() + ", \"startDate\": \"" + start + "\", \"endDate\": \""
+                + start.plusDays(days) + "\", \"email\": \"batch@example.com\", \"addOnIds\": " + addOns + "}";
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.demo.controller;
+
+import com.example.demo.Entity.*;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Guards the bulk response assembly: listing endpoints must issue a fixed number of
+// statements however many bookings they return, the unparameterized listings stop at
+// the first page, and the NDJSON export writes them all.
+@SpringBootTest
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+@AutoConfigureMockMvc
+class BookingListingQueryCountTest {
+
+    // Bookings query + add-on lines + batched eager loads (car type/hub of cars, city, state)
+    private static final long MAX_STATEMENTS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingDetailRepository bookingDetailRepository;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    @Autowired
+    private AddOnRepository addOnRepository;
+
+    private HubMaster hub;
+    private CarTypeMaster carType;
+    private AddOnMaster gps;
+    private int seq = 0;
+
+    @BeforeEach
+    void seedMasters() {
+        hub = fixtures.hub();
+        carType = fixtures.carType("SUV", 2500);
+
+        gps = new AddOnMaster();
+        gps.setAddOnName("GPS");
+        gps.setAddonDailyRate(200);
+        gps = addOnRepository.save(gps);
+    }
+
+    @Test
+    @WithMockUser(username = "staff", roles = { "STAFF" })
+    void allBookings_statementCountDoesNotGrowWithBookings() throws Exception {
+        // Other tests in this context leave their bookings behind
+        int before = (int) bookingRepository.count();
+        seedBookings(3);
+        long small = countStatements("/booking/all?limit=500", before + 3);
+
+        seedBookings(30);
+        long large = countStatements("/booking/all?limit=500", before + 33);
+
+        assertEquals(small, large, "statement count must not depend on the number of bookings");
+        assertTrue(large <= MAX_STATEMENTS, "expected at most " + MAX_STATEMENTS + " statements but was " + large);
+    }
+
+    @Test
+    @WithMockUser(username = "staff", roles = { "STAFF" })
+    void hubBookings_statementCountDoesNotGrowWithBookings() throws Exception {
+        seedBookings(3);
+        long small = countStatements("/booking/hub/" + hub.getHubId(), 3);
+
+        seedBookings(30);
+        long large = countStatements("/booking/hub/" + hub.getHubId(), 33);
+
+        assertEquals(small, large, "statement count must not depend on the number of bookings");
+        assertTrue(large <= MAX_STATEMENTS, "expected at most " + MAX_STATEMENTS + " statements but was " + large);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", authorities = { "ADMIN" })
+    void allBookings_withoutParamsReturnsTheFirstPage() throws Exception {
+        seedBookings(Math.max(1, 101 - (int) bookingRepository.count()));
+
+        for (String url : new String[] { "/booking/all", "/api/admin/bookings" }) {
+            MvcResult first = mockMvc.perform(get(url))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(100))
+                    .andExpect(header().exists(BookingController.NEXT_CURSOR_HEADER))
+                    .andReturn();
+            String cursor = first.getResponse().getHeader(BookingController.NEXT_CURSOR_HEADER);
+
+            mockMvc.perform(get(url).param("afterId", cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].bookingId").value(greaterThan(Integer.parseInt(cursor))));
+        }
+    }
+
+    @Test
+    @WithMockUser(username = "staff", roles = { "STAFF" })
+    void allBookings_ndjsonWritesOneLinePerBooking() throws Exception {
+        seedBookings(3);
+        long total = bookingRepository.count();
+
+        MvcResult started = mockMvc.perform(get("/booking/all").accept(BookingController.NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(total, body.lines().count());
+        assertTrue(body.contains("\"selectedAddOns\":[\"GPS\"]"));
+    }
+
+    private long countStatements(String url, int expectedBookings) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedBookings))
+                .andExpect(jsonPath("$[*].selectedAddOns[*]", hasItem("GPS")));
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedBookings(int count) {
+        for (int i = 0; i < count; i++) {
+            seq++;
+            CustomerMaster customer = fixtures.customer("Test", "Customer" + seq);
+            CarMaster car = fixtures.car("Creta " + seq, carType, hub);
+
+            BookingHeaderTable booking = new BookingHeaderTable();
+            booking.setCustomer(customer);
+            booking.setCar(car);
+            booking.setCarType(carType);
+            booking.setPickupHub(hub);
+            booking.setReturnHub(hub);
+            booking.setStartDate(LocalDate.of(2026, 1, 1));
+            booking.setEndDate(LocalDate.of(2026, 1, 4));
+            booking.setBookingStatus("CONFIRMED");
+            booking.setConfirmationNumber("BOK-T" + car.getCarId());
+            booking.setFirstName(customer.getFirstName());
+            booking.setLastName(customer.getLastName());
+            booking.setEmailId(customer.getEmail());
+            booking.setDailyRate(carType.getDailyRate());
+            booking = bookingRepository.save(booking);
+
+            BookingDetailTable detail = new BookingDetailTable();
+            detail.setBooking(booking);
+            detail.setAddon(gps);
+            detail.setAddonRate(gps.getAddonDailyRate());
+            bookingDetailRepository.save(detail);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.demo.controller;
+
+import com.example.demo.Entity.*;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Service.BookingService;
+import com.example.demo.config.BookingMetrics;
+import com.example.demo.config.SqlStatementCounter;
+import com.example.demo.dto.BookingRequest;
+import com.example.demo.dto.BookingResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Lifecycle operations show up in /actuator/bookingstats with latency, SQL statement
+// counts, resulting statuses (per item for a batch) and the open booking gauges.
+// Statements are counted whichever way they reach the DataSource, and reading the
+// gauges never queries.
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=bookingstats"
+})
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+@AutoConfigureMockMvc
+class BookingStatsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void reportsLifecycleOperations() throws Exception {
+        BookingRequest request = seedRequest();
+        bookingService.createBooking(request);
+        BookingResponse cancelled = bookingService.createBooking(request);
+        bookingService.cancelBooking(cancelled.getBookingId());
+        assertThrows(RuntimeException.class, () -> bookingService.cancelBooking(cancelled.getBookingId()));
+        BookingRequest invalid = seedRequest();
+        invalid.setEndDate(invalid.getStartDate().minusDays(1));
+        BookingRequest batched = seedRequest();
+        batched.setCarId(fixtures.car("Nexon", fixtures.carType("SUV", 2500), fixtures.hub()).getCarId());
+        bookingService.createBookings(List.of(batched, invalid));
+        bookingMetrics.refreshOpenCounts();
+
+        mockMvc.perform(get("/actuator/bookingstats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.operations.create.success.count").value(2))
+                .andExpect(jsonPath("$.operations.create.success.p99Ms").exists())
+                .andExpect(jsonPath("$.operations.create.sqlStatements.mean").value(greaterThan(0.0)))
+                .andExpect(jsonPath("$.operations.cancel.success.count").value(1))
+                .andExpect(jsonPath("$.operations.cancel.error.count").value(1))
+                .andExpect(jsonPath("$.statuses.create.CONFIRMED").value(2))
+                .andExpect(jsonPath("$.statuses.cancel.CANCELLED").value(1))
+                .andExpect(jsonPath("$.statuses.cancel.error").value(1))
+                .andExpect(jsonPath("$.operations['create-batch'].success.count").value(1))
+                .andExpect(jsonPath("$.statuses['create-batch'].CONFIRMED").value(1))
+                .andExpect(jsonPath("$.statuses['create-batch'].error").value(1))
+                .andExpect(jsonPath("$.open.CONFIRMED").value(2))
+                .andExpect(jsonPath("$.open.ACTIVE").value(0));
+    }
+
+    @Test
+    void countsStatementsAtTheDataSource() {
+        long before = SqlStatementCounter.current();
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking_header_table", Long.class);
+        jdbcTemplate.batchUpdate("UPDATE booking_header_table SET booking_status = booking_status WHERE booking_id = ?",
+                List.of(new Object[] { -1L }, new Object[] { -2L }));
+        assertEquals(2, SqlStatementCounter.current() - before);
+
+        bookingMetrics.refreshOpenCounts();
+        Long confirmed = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM booking_header_table WHERE booking_status = 'CONFIRMED'", Long.class);
+        before = SqlStatementCounter.current();
+        assertEquals(confirmed.doubleValue(), registry.get(BookingMetrics.OPEN).tag("status", "CONFIRMED").gauge().value());
+        bookingMetrics.getStats();
+        assertEquals(0, SqlStatementCounter.current() - before);
+    }
+
+    private BookingRequest seedRequest() {
+        HubMaster hub = fixtures.hub();
+        CarTypeMaster carType = fixtures.carType("SUV", 2500);
+        CustomerMaster customer = fixtures.customer("Stats", "Customer");
+
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(customer.getCustId());
+        request.setCarTypeId((long) carType.getCarTypeId());
+        request.setPickupHubId(hub.getHubId());
+        request.setReturnHubId(hub.getHubId());
+        request.setStartDate(LocalDate.now().plusDays(1));
+        request.setEndDate(LocalDate.now().plusDays(3));
+        request.setEmail(customer.getEmail());
+        return request;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.controller;
+
+import com.example.demo.Entity.CustomerMaster;
+import com.example.demo.Repository.CustomerRepository;
+import com.example.demo.Service.CustomerService;
+import com.example.demo.Service.CustomerServiceIml;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Email lookups ignore case and surrounding spaces through the normalized column,
+// repeat lookups come from the near-cache, and an email change is seen at once.
+@SpringBootTest
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class CustomerEmailLookupTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @WithMockUser
+    void lookupIsNormalizedCachedAndFollowsUpdates() throws Exception {
+        mockMvc.perform(post("/customer/save-or-update").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Asha\",\"email\":\" Asha.Rao@Example.com \"}"))
+                .andExpect(status().isOk());
+        CustomerMaster stored = customerRepository.findByEmailNormalized("asha.rao@example.com");
+        int custId = stored.getCustId();
+
+        mockMvc.perform(get("/api/v1/customers/ASHA.RAO@example.COM"))
+                .andExpect(jsonPath("$.custId").value(custId))
+                .andExpect(jsonPath("$.emailNormalized").doesNotExist());
+        mockMvc.perform(get("/find").param("email", "asha.rao@example.com"))
+                .andExpect(jsonPath("$.custId").value(custId));
+
+        // Same address in another case updates the row instead of adding one
+        long customers = customerRepository.count();
+        mockMvc.perform(post("/customer/save-or-update").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Asha R\",\"email\":\"asha.rao@example.com\"}"))
+                .andExpect(jsonPath("$.data.custId").value(custId));
+        assertEquals(customers, customerRepository.count());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertEquals(custId, customerService.findCustomerIdByEmail("Asha.Rao@example.com"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(put("/api/v1/customers/" + custId).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Asha R\",\"email\":\"asha@example.org\"}"))
+                .andExpect(status().isOk());
+        assertNull(customerService.findCustomerIdByEmail("asha.rao@example.com"));
+        mockMvc.perform(get("/api/v1/customers/asha.rao@example.com"))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/v1/customers/Asha@Example.org"))
+                .andExpect(jsonPath("$.custId").value(custId));
+
+        // Rows written outside JPA pick up the column on the next startup backfill; a row
+        // clashing with another only by case is skipped without holding up the rest
+        jdbcTemplate.update("INSERT INTO customer_master (first_name, email) VALUES ('Legacy', 'Legacy@Example.com')");
+        jdbcTemplate.update("INSERT INTO customer_master (first_name, email) VALUES ('Twin', 'Twin@Example.com')");
+        jdbcTemplate.update("INSERT INTO customer_master (first_name, email) VALUES ('Twin 2', 'TWIN@example.com ')");
+        jdbcTemplate.update("INSERT INTO customer_master (first_name, email) VALUES ('Late', 'Late@Example.com')");
+        ((CustomerServiceIml) customerService).backfillNormalizedEmails();
+        mockMvc.perform(get("/api/v1/customers/legacy@example.com"))
+                .andExpect(jsonPath("$.firstName").value("Legacy"));
+        mockMvc.perform(get("/api/v1/customers/twin@example.com"))
+                .andExpect(jsonPath("$.firstName").value("Twin"));
+        mockMvc.perform(get("/api/v1/customers/late@example.com"))
+                .andExpect(jsonPath("$.firstName").value("Late"));
+        assertNull(jdbcTemplate.queryForObject(
+                "SELECT email_normalized FROM customer_master WHERE first_name = 'Twin 2'", String.class));
+    }
+
+    @Test
+    void loginReturnsCustomerIdForAnyCase() throws Exception {
+        CustomerMaster customer = new CustomerMaster();
+        customer.setFirstName("Vikram");
+        customer.setEmail("Vikram@Example.com");
+        customer = customerRepository.save(customer);
+
+        mockMvc.perform(post("/register").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"vikram\",\"email\":\"vikram@example.com\",\"password\":\"secret1\"}"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"vikram\",\"password\":\"secret1\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerId").value(customer.getCustId()));
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.controller;
+
+import com.example.demo.Entity.*;
+import com.example.demo.FleetFixtures;
+import com.example.demo.Repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Repeat downloads are served from the disk cache and revalidated with ETags.
+@SpringBootTest(properties = {
+        "fleet.invoice-cache.dir=target/invoice-cache-test"
+})
+@ActiveProfiles("h2")
+@Import(FleetFixtures.class)
+@AutoConfigureMockMvc
+class InvoiceDownloadCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private FleetFixtures fixtures;
+
+    @Value("${fleet.invoice-cache.dir}")
+    private String cacheDir;
+
+    @Test
+    @WithMockUser(username = "staff", roles = { "STAFF" })
+    void downloadsAreCachedAndRevalidated() throws Exception {
+        BookingHeaderTable booking = seedCompletedBooking();
+        String url = "/api/v1/invoice/" + booking.getBookingId();
+
+        MvcResult first = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+        String etag = first.getResponse().getHeader("ETag");
+        byte[] pdf = first.getResponse().getContentAsByteArray();
+        assertTrue(new String(pdf, 0, 5).startsWith("%PDF"));
+
+        List<Path> cached = cachedFiles(booking.getBookingId());
+        assertEquals(1, cached.size());
+        long renderedAt = Files.getLastModifiedTime(cached.get(0)).toMillis();
+
+        // Client copy is current, also named weakly, in a list, or as *
+        for (String ifNoneMatch : new String[] { etag, "W/" + etag, "\"other\", " + etag, "*" }) {
+            mockMvc.perform(get(url).header("If-None-Match", ifNoneMatch))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", etag));
+        }
+
+        // Unconditional repeat is served from the same file, byte for byte
+        MvcResult again = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", pdf.length))
+                .andReturn();
+        assertEquals(etag, again.getResponse().getHeader("ETag"));
+        assertArrayEquals(pdf, again.getResponse().getContentAsByteArray());
+        assertEquals(cached, cachedFiles(booking.getBookingId()));
+        assertTrue(Files.getLastModifiedTime(cached.get(0)).toMillis() >= renderedAt);
+
+        // A 304 neither renders nor touches the cache
+        Path file = cached.get(0);
+        Path moved = file.resolveSibling(file.getFileName() + ".moved");
+        Files.move(file, moved);
+        mockMvc.perform(get(url).header("If-None-Match", etag)).andExpect(status().isNotModified());
+        assertTrue(cachedFiles(booking.getBookingId()).isEmpty());
+        Files.move(moved, file);
+
+        // Changing an invoice input yields a new ETag and replaces the cached file
+        booking.setDailyRate(2100.0);
+        bookingRepository.save(booking);
+        MvcResult changed = mockMvc.perform(get(url).header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertNotEquals(etag, changed.getResponse().getHeader("ETag"));
+        List<Path> replaced = cachedFiles(booking.getBookingId());
+        assertEquals(1, replaced.size());
+        assertNotEquals(cached, replaced);
+    }
+
+    private List<Path> cachedFiles(long bookingId) throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(cacheDir))) {
+            return files.filter(p -> p.getFileName().toString().startsWith(bookingId + "-")
+                    && p.getFileName().toString().endsWith(".pdf")).toList();
+        }
+    }
+
+    private BookingHeaderTable seedCompletedBooking() {
+        CarTypeMaster carType = fixtures.carType("Hatchback", 1200);
+        CustomerMaster customer = fixtures.customer("Ravi", "Kumar");
+
+        BookingHeaderTable booking = new BookingHeaderTable();
+        booking.setCustomer(customer);
+        booking.setCarType(carType);
+        booking.setBookcar("Swift");
+        booking.setStartDate(LocalDate.of(2026, 3, 1));
+        booking.setEndDate(LocalDate.of(2026, 3, 4));
+        booking.setBookingStatus("COMPLETED");
+        booking.setConfirmationNumber("BOK-INV" + System.nanoTime() % 100000);
+        booking.setFirstName(customer.getFirstName());
+        booking.setLastName(customer.getLastName());
+        booking.setEmailId(customer.getEmail());
+        booking.setDailyRate(carType.getDailyRate());
+        return bookingRepository.save(booking);
+    }
+}
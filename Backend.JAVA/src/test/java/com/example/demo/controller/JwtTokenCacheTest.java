@@ -0,0 +1,65 @@
+package com.example.demo.controller;
+
+import com.example.demo.Entity.Role;
+import com.example.demo.Entity.User;
+import com.example.demo.Repository.UserRepository;
+import com.example.demo.Service.JwtService;
+import com.example.demo.Service.MyUserDetailsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A bearer token is verified and its user loaded once, then served from the cache.
+@SpringBootTest
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class JwtTokenCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @SpyBean
+    private MyUserDetailsService userDetailsService;
+
+    @Test
+    void tokenIsVerifiedOnceAndPublicPathsSkipIt() throws Exception {
+        User admin = new User();
+        admin.setUsername("token-admin");
+        admin.setEmail("token-admin@example.com");
+        admin.setPassword("x");
+        admin.setRole(Role.ADMIN);
+        userRepository.save(admin);
+        String bearer = "Bearer " + jwtService.generateToken(admin.getUsername(), admin.getRole().name());
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/admin/staff").header("Authorization", bearer))
+                    .andExpect(status().isOk());
+        }
+        verify(userDetailsService, times(1)).loadUserByUsername("token-admin");
+
+        // Public path: the token is not even looked at
+        reset(userDetailsService);
+        mockMvc.perform(get("/api/v1/states").header("Authorization", "Bearer not-a-jwt"))
+                .andExpect(status().isOk());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+
+        // A bad token on a protected path is rejected instead of failing the request
+        mockMvc.perform(get("/api/admin/staff").header("Authorization", "Bearer not-a-jwt"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.controller;
+
+import com.example.demo.Entity.CustomerMaster;
+import com.example.demo.Entity.Role;
+import com.example.demo.Entity.User;
+import com.example.demo.Repository.CustomerRepository;
+import com.example.demo.Repository.UserRepository;
+import com.example.demo.Service.PasswordVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Login reads user, hub and customer in one statement, and a burst beyond the
+// verifier pool and its queue is turned away with 429 instead of waiting. An unknown
+// user still costs one hash, and an account without a customer record gets no
+// customerId.
+@SpringBootTest(properties = {
+        "fleet.login.verify-threads=1",
+        "fleet.login.verify-queue=1"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class LoginThrottleTest {
+
+    private static final int BURST = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void loginIsOneQueryAndBurstsGet429() throws Exception {
+        CustomerMaster customer = new CustomerMaster();
+        customer.setFirstName("Meera");
+        customer.setEmail("Meera@Example.com");
+        customer = customerRepository.save(customer);
+        // A slow hash, so one check keeps the single verifier thread busy while the burst arrives
+        User user = new User();
+        user.setUsername("meera");
+        user.setEmail("meera@example.com");
+        user.setPassword(new BCryptPasswordEncoder(13).encode("secret1"));
+        user.setRole(Role.CUSTOMER);
+        userRepository.save(user);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(login("meera", "secret1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerId").value(customer.getCustId()))
+                .andExpect(jsonPath("$.userId").value(user.getId()))
+                .andExpect(jsonPath("$.role").value("CUSTOMER"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        mockMvc.perform(login("meera", "wrong")).andExpect(status().isUnauthorized());
+        mockMvc.perform(login("nobody", "secret1")).andExpect(status().isUnauthorized());
+
+        ExecutorService clients = Executors.newFixedThreadPool(BURST);
+        List<Future<MvcResult>> results = new ArrayList<>();
+        for (int i = 0; i < BURST; i++) {
+            results.add(clients.submit(() -> mockMvc.perform(login("meera", "secret1")).andReturn()));
+        }
+        int ok = 0;
+        int throttled = 0;
+        for (Future<MvcResult> result : results) {
+            MvcResult response = result.get();
+            if (response.getResponse().getStatus() == 200) {
+                ok++;
+            } else {
+                assertEquals(429, response.getResponse().getStatus());
+                assertNotNull(response.getResponse().getHeader("Retry-After"));
+                throttled++;
+            }
+        }
+        clients.shutdown();
+        assertTrue(ok >= 1 && throttled >= 1, ok + " ok, " + throttled + " throttled");
+        assertEquals(throttled, registry.get(PasswordVerifier.REJECTED).counters().stream()
+                .mapToDouble(c -> c.count()).sum());
+    }
+
+    @Test
+    void unknownUserIsCheckedAgainstTheDummyHash() throws Exception {
+        Timer mismatched = registry.get(PasswordVerifier.VERIFY).tag("outcome", "mismatch").timer();
+        Timer matched = registry.get(PasswordVerifier.VERIFY).tag("outcome", "match").timer();
+        long mismatchedBefore = mismatched.count();
+        long matchedBefore = matched.count();
+
+        // The dummy hash is of "not-a-password", so this would log in if it were a real account
+        mockMvc.perform(login("nobody-" + System.nanoTime(), "not-a-password"))
+                .andExpect(status().isUnauthorized());
+
+        assertEquals(mismatchedBefore, mismatched.count());
+        assertEquals(matchedBefore + 1, matched.count());
+    }
+
+    @Test
+    void loginWithoutCustomerRecordHasNoCustomerId() throws Exception {
+        User staff = new User();
+        staff.setUsername("desk.arjun");
+        staff.setEmail("arjun@fleet.example.com");
+        staff.setPassword(new BCryptPasswordEncoder(4).encode("secret1"));
+        staff.setRole(Role.STAFF);
+        staff = userRepository.save(staff);
+
+        mockMvc.perform(login("desk.arjun", "secret1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(staff.getId()))
+                .andExpect(jsonPath("$.customerId").doesNotExist());
+    }
+
+    private static RequestBuilder login(String username, String password) {
+        return post("/login").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}");
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.controller;
+
+import com.example.demo.Service.AddOnPriceBook;
+import com.example.demo.Service.AddOnService;
+import com.example.demo.Service.ConfirmationNumberService;
+import com.example.demo.Service.FleetSnapshotService;
+import com.example.demo.config.ServiceTimingInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Service facade calls are timed per class/method/outcome and show up in
+// /actuator/metrics; the indexes, caches and allocators behind them are not timed.
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=metrics"
+})
+@ActiveProfiles("h2")
+@AutoConfigureMockMvc
+class ServiceTimingMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AddOnService addOnService;
+
+    @Autowired
+    private AddOnPriceBook addOnPriceBook;
+
+    @Autowired
+    private ConfirmationNumberService confirmationNumberService;
+
+    @Autowired
+    private FleetSnapshotService fleetSnapshotService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    @WithMockUser(authorities = "ADMIN")
+    void timesSuccessAndErrorPerMethod() throws Exception {
+        addOnService.getAllAddOns();
+        addOnService.getAllAddOns();
+        assertThrows(RuntimeException.class, () -> addOnService.getAddOnById(404));
+
+        assertEquals(2, timer("getAllAddOns", "success").count());
+        assertEquals(1, timer("getAddOnById", "error").count());
+
+        mockMvc.perform(get("/actuator/metrics/" + ServiceTimingInterceptor.METRIC)
+                        .param("tag", "class:AddOnServiceImpl")
+                        .param("tag", "method:getAllAddOns"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[?(@.statistic == 'COUNT')].value").value(2.0));
+    }
+
+    @Test
+    void leavesHelpersBehindTheFacadesUntimed() {
+        addOnPriceBook.refresh();
+        confirmationNumberService.next();
+        fleetSnapshotService.getCurrentOverview();
+
+        for (String helper : new String[] { "AddOnPriceBook", "ConfirmationNumberService", "FleetSnapshotService" }) {
+            assertTrue(registry.find(ServiceTimingInterceptor.METRIC).tag("class", helper).timers().isEmpty(), helper);
+        }
+    }
+
+    private Timer timer(String method, String outcome) {
+        return registry.get(ServiceTimingInterceptor.METRIC)
+                .tags("class", "AddOnServiceImpl", "method", method, "outcome", outcome)
+                .timer();
+    }
+}
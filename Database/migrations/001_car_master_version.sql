@@ -0,0 +1,7 @@
+-- Upgrades a testfleet database created from an older testfleet.sql; fresh
+-- installs get this from testfleet.sql. Run once: MySQL has no
+-- ADD COLUMN IF NOT EXISTS, so a second run fails.
+USE testfleet;
+
+-- CAR MASTER: optimistic lock for car assignment
+ALTER TABLE car_master ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,18 @@
+-- Upgrades a testfleet database created from an older testfleet.sql; fresh
+-- installs get this from testfleet.sql.
+USE testfleet;
+
+-- INVOICE EMAIL OUTBOX
+CREATE TABLE IF NOT EXISTS invoice_email_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    booking_id BIGINT,
+    to_email VARCHAR(255),
+    status VARCHAR(255),
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at DATETIME(6),
+    next_attempt_at DATETIME(6),
+    claimed_at DATETIME(6),
+    sent_at DATETIME(6),
+    INDEX idx_outbox_status_next (status, next_attempt_at)
+);
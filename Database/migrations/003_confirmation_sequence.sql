@@ -0,0 +1,9 @@
+-- Upgrades a testfleet database created from an older testfleet.sql; fresh
+-- installs get this from testfleet.sql.
+USE testfleet;
+
+-- CONFIRMATION NUMBER SEQUENCE (the first lease adds the row)
+CREATE TABLE IF NOT EXISTS confirmation_sequence (
+    name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
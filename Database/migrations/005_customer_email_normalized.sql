@@ -0,0 +1,9 @@
+-- Upgrades a testfleet database created from an older testfleet.sql; fresh
+-- installs get this from testfleet.sql. Run once: MySQL has no
+-- ADD COLUMN IF NOT EXISTS, so a second run fails.
+USE testfleet;
+
+-- CUSTOMER MASTER: trimmed, lower-case email for lookups.
+-- Left empty here; the application fills it on startup and logs any rows
+-- whose emails differ only in case.
+ALTER TABLE customer_master ADD COLUMN email_normalized VARCHAR(255) UNIQUE;
@@ -0,0 +1,5 @@
+-- Drops car_occupancy from databases that ran the old 004_car_occupancy.sql:
+-- the availability bitmaps are kept in memory only. Safe to run more than once.
+USE testfleet;
+
+DROP TABLE IF EXISTS car_occupancy;
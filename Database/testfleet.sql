@@ -70,6 +70,7 @@ CREATE TABLE car_master (
     mileage DOUBLE,
     maintenance_due_date DATE,
     image_path VARCHAR(255),
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (cartype_id) REFERENCES car_type_master(cartype_id),
     FOREIGN KEY (hub_id) REFERENCES hub_master(hub_id)
 );
@@ -81,6 +82,7 @@ CREATE TABLE customer_master (
     first_name VARCHAR(255),
     last_name VARCHAR(255),
     email VARCHAR(255) UNIQUE,
+    email_normalized VARCHAR(255) UNIQUE,
     mobile_number VARCHAR(255),
     address_line1 VARCHAR(255),
     address_line2 VARCHAR(255),
@@ -196,6 +198,27 @@ CREATE TABLE user (
     FOREIGN KEY (hub_id) REFERENCES hub_master(hub_id)
 );
 
+-- INVOICE EMAIL OUTBOX
+CREATE TABLE invoice_email_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    booking_id BIGINT,
+    to_email VARCHAR(255),
+    status VARCHAR(255),
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at DATETIME(6),
+    next_attempt_at DATETIME(6),
+    claimed_at DATETIME(6),
+    sent_at DATETIME(6),
+    INDEX idx_outbox_status_next (status, next_attempt_at)
+);
+
+-- CONFIRMATION NUMBER SEQUENCE
+CREATE TABLE confirmation_sequence (
+    name VARCHAR(50) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
 -- VENDORS
 CREATE TABLE vendors (
     vendor_id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -129,7 +129,17 @@ const ApiService = {
     },
 
     // Admin Dashboard
-    getAllBookings: () => instance.get('/booking/all').then(res => res.data),
+    // /booking/all is paged; follow X-Next-Cursor until the last page
+    getAllBookings: async () => {
+        const bookings = [];
+        let afterId;
+        do {
+            const res = await instance.get('/booking/all', { params: { afterId, limit: 500 } });
+            bookings.push(...res.data);
+            afterId = res.headers['x-next-cursor'];
+        } while (afterId);
+        return bookings;
+    },
     getFleetOverview: () => instance.get('/api/admin/fleet-overview').then(res => res.data),
 
     // Staff Management (Admin)